@@ -1,8 +1,8 @@
 package org.ct.gd.logic;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
 
 import org.ct.gd.logic.exception.IllegalIdentityException;
@@ -10,11 +10,14 @@ import org.ct.gd.logic.exception.InvalidMappingException;
 import org.ct.gd.logic.exception.InvalidNumberOfPlayersException;
 import org.ct.gd.logic.handler.GameHandler;
 import org.ct.gd.logic.handler.GameHandlerImpl;
-import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.mapper.MapCatalog;
+import org.ct.gd.logic.model.Area;
 import org.ct.gd.logic.model.Goal;
 import org.ct.gd.logic.model.Phase;
 import org.ct.gd.logic.model.Player;
 import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.XoshiroRandomSource;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
@@ -56,6 +59,11 @@ public class Game implements Serializable {
 	 */
 	private boolean isGlobalDomination;
 
+	/**
+	 * source of all random values of this game
+	 */
+	private RandomSource randomSource;
+
 	/**
 	 * basic constructor creating a game with all players
 	 * 
@@ -66,6 +74,24 @@ public class Game implements Serializable {
 	 *            (controlling all areas)
 	 */
 	public Game(List<Player> players, boolean isGlobalDomination) throws InvalidNumberOfPlayersException, IllegalIdentityException, InvalidMappingException {
+		this(players, isGlobalDomination, new XoshiroRandomSource());
+	}
+
+	/**
+	 * creates a game with all players drawing all random values (goals,
+	 * initial areas, dice, cards) from the given source. Games created with
+	 * equally seeded sources are reproducible
+	 * 
+	 * @param players
+	 *            all players in this game
+	 * @param isGlobalDomination
+	 *            true, if the goal of the game is global domination
+	 *            (controlling all areas)
+	 * @param randomSource
+	 *            the source of all random values of this game
+	 */
+	public Game(List<Player> players, boolean isGlobalDomination, RandomSource randomSource) throws InvalidNumberOfPlayersException, IllegalIdentityException,
+			InvalidMappingException {
 
 		if (players == null || players.size() < MINIMUM_PLAYERS || players.size() > MAXIMUM_PLAYERS) {
 			throw new InvalidNumberOfPlayersException("The number of players has to be between " + MINIMUM_PLAYERS + " and " + MAXIMUM_PLAYERS);
@@ -78,6 +104,7 @@ public class Game implements Serializable {
 
 		this.players = players;
 		this.isGlobalDomination = isGlobalDomination;
+		this.randomSource = randomSource != null ? randomSource : new XoshiroRandomSource();
 		this.setTurn(1);
 
 		// assign initial armies to each player
@@ -93,6 +120,46 @@ public class Game implements Serializable {
 		}
 	}
 	
+	/**
+	 * creates a copy of a game, see {@link #copy()}
+	 */
+	private Game(Game game, List<Player> players, GameHandler gameHandler, RandomSource randomSource) {
+		this.id = game.id;
+		this.turn = game.turn;
+		this.isGlobalDomination = game.isGlobalDomination;
+		this.players = players;
+		this.gameHandler = gameHandler;
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * creates an independent copy of this game (same id) for what-if analysis
+	 * and look ahead: everything that changes while playing is copied,
+	 * everything immutable (board topology, rules, cards) is shared. Both
+	 * games can be played on independently and produce the same results for
+	 * the same moves, since the random source is copied in its current state
+	 * 
+	 * @return the copied game
+	 */
+	public Game copy() {
+		if (this.gameHandler == null) {
+			List<Player> players = new ArrayList<>(this.players.size());
+			for (Player player : this.players) {
+				players.add(player.copy());
+			}
+
+			return new Game(this, players, null, this.randomSource.copy());
+		}
+
+		if (!(this.gameHandler instanceof GameHandlerImpl)) {
+			throw new UnsupportedOperationException("Games can only be copied with the default game handler");
+		}
+
+		GameHandlerImpl gameHandler = ((GameHandlerImpl) this.gameHandler).copy();
+
+		return new Game(this, gameHandler.getPlayers(), gameHandler, gameHandler.getRandomSource());
+	}
+
 	public String getId() {
 		return this.id;
 	}
@@ -113,6 +180,14 @@ public class Game implements Serializable {
 		return this.isGlobalDomination;
 	}	
 
+	/**
+	 * @return the source of all random values of this game
+	 */
+	@JsonIgnore
+	public RandomSource getRandomSource() {
+		return this.randomSource;
+	}
+
 	/**
 	 * @return the basic gamehandler containing all possible actions for each
 	 *         player
@@ -127,8 +202,7 @@ public class Game implements Serializable {
 	 */
 	public void startGame() throws InvalidMappingException {
 		// pick random player who starts placing units
-		Random rd = new Random();
-		int startingPlayerIndex = rd.nextInt(this.players.size());
+		int startingPlayerIndex = this.randomSource.nextInt(this.players.size());
 		this.players.get(startingPlayerIndex).setTurn(true);
 
 		// assign areas to players
@@ -155,29 +229,28 @@ public class Game implements Serializable {
 	 * player
 	 */
 	private void assignAreas() throws InvalidMappingException {
-		JsonMapper mapper = new JsonMapper();
-		AreaList areas = mapper.mapAreasFromJson();
-		AreaList assignedAreas = new AreaList();
+		MapCatalog catalog = MapCatalog.getDefault();
+		AreaList areas = catalog.createAreas();
+		// areas are picked from a copy, the compiled list itself is handed to the game handler
+		List<Area> unassignedAreas = new ArrayList<>(areas);
 
-		Random rd = new Random();
-		while (!areas.isEmpty()) {
+		while (!unassignedAreas.isEmpty()) {
 			for (Player player : this.players) {
-				if (!areas.isEmpty()) {
-					int areaIndex = rd.nextInt(areas.size());
+				if (!unassignedAreas.isEmpty()) {
+					int areaIndex = this.randomSource.nextInt(unassignedAreas.size());
 
-					areas.get(areaIndex).setControllingPlayer(player);
-					areas.get(areaIndex).setArmies(1);
+					unassignedAreas.get(areaIndex).setControllingPlayer(player);
+					unassignedAreas.get(areaIndex).setArmies(1);
 					player.setNoOfReinforcements(player.getNoOfReinforcements() - 1);
 
-					assignedAreas.add(areas.get(areaIndex));
-					areas.remove(areaIndex);
+					unassignedAreas.remove(areaIndex);
 				} else {
 					break;
 				}
 			}
 		}
 
-		this.gameHandler = new GameHandlerImpl(mapper.mapCardsFromJson(), assignedAreas, this.players);
+		this.gameHandler = new GameHandlerImpl(catalog.createDeck(), areas, this.players, catalog.getRules(), this.randomSource);
 	}
 
 	/**
@@ -190,17 +263,15 @@ public class Game implements Serializable {
 			throw new InvalidNumberOfPlayersException("The number of players has to be between " + MINIMUM_PLAYERS + " and " + MAXIMUM_PLAYERS);
 		}
 
-		Random random = new Random();
-
 		int[] goals = new int[this.players.size()];
 
 		// determine & assign goals
 		for (int i = 0; i < goals.length; i++) {
-			int goal = random.nextInt(Goal.getNumberOfGoals() - 1) + 1;
+			int goal = this.randomSource.nextInt(Goal.getNumberOfGoals() - 1) + 1;
 
 			// check if that number already exists - if so assign new one
 			while (goalAlreadyExists(goal, goals)) {
-				goal = random.nextInt(Goal.getNumberOfGoals() - 1) + 1;
+				goal = this.randomSource.nextInt(Goal.getNumberOfGoals() - 1) + 1;
 			}
 
 			goals[i] = goal;
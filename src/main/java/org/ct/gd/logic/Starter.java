@@ -205,18 +205,12 @@ public class Starter {
 			System.err.println("The command was not correct - please enter only the area label to place a unit to");
 		}
 
-		boolean found = false;
-		for (Area area : this.game.getGameHandler().getAreas()) {
-			if (area.getName().equalsIgnoreCase(splitted[1])) {
-				found = true;
-				System.out.println("Still " + (this.game.getGameHandler().getPlayerInTurn().getNoOfReinforcements() - 1) + " units to place!");
-				this.game.getGameHandler().placeInitialUnit(this.game.getGameHandler().getPlayerInTurn(), area);
-				System.out.println("Unit placed");
-				break;
-			}
-		}
-
-		if (!found) {
+		Area area = this.game.getGameHandler().getAreas().getByNameIgnoreCase(splitted[1]);
+		if (area != null) {
+			System.out.println("Still " + (this.game.getGameHandler().getPlayerInTurn().getNoOfReinforcements() - 1) + " units to place!");
+			this.game.getGameHandler().placeInitialUnit(this.game.getGameHandler().getPlayerInTurn(), area);
+			System.out.println("Unit placed");
+		} else {
 			System.err.println("The given area was not found - try again");
 		}
 	}
@@ -260,17 +254,11 @@ public class Starter {
 			return;
 		}
 
-		boolean found = false;
-		for (Area area : this.game.getGameHandler().getAreas()) {
-			if (area.getName().equalsIgnoreCase(splitted[1])) {
-				found = true;				
-				this.game.getGameHandler().reinforce(this.game.getGameHandler().getPlayerInTurn(), area, armies);
-				System.out.println("Still " + this.game.getGameHandler().getPlayerInTurn().getNoOfReinforcements() + " units to place!");
-				break;
-			}
-		}
-
-		if (!found) {
+		Area area = this.game.getGameHandler().getAreas().getByNameIgnoreCase(splitted[1]);
+		if (area != null) {
+			this.game.getGameHandler().reinforce(this.game.getGameHandler().getPlayerInTurn(), area, armies);
+			System.out.println("Still " + this.game.getGameHandler().getPlayerInTurn().getNoOfReinforcements() + " units to place!");
+		} else {
 			System.err.println("The given country was not found - try again");
 		}
 	}
@@ -291,15 +279,8 @@ public class Starter {
 			return;
 		}
 		
-		Area attack = null;
-		Area defend = null;
-		for (Area area : this.game.getGameHandler().getAreas()) {
-			if (area.getName().equalsIgnoreCase(splitted[1])) {
-				attack = area;
-			} else if (area.getName().equalsIgnoreCase(splitted[2])) {
-				defend = area;
-			}
-		}
+		Area attack = this.game.getGameHandler().getAreas().getByNameIgnoreCase(splitted[1]);
+		Area defend = this.game.getGameHandler().getAreas().getByNameIgnoreCase(splitted[2]);
 		
 		if (attack == null) {
 			System.err.println("The given attack area was not found - try again");
@@ -0,0 +1,186 @@
+package org.ct.gd.logic.ai;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+
+/**
+ * greedy bot attacking as long as the exact odds favour it. All armies are
+ * stacked on the border area with the best chance of conquering a neighbour,
+ * battles are fought to the end whenever the conquest probability reaches
+ * {@link #MINIMUM_CONQUEST_PROBABILITY} and idle armies of the hinterland are
+ * moved to the front.
+ *
+ * @author ct
+ *
+ */
+public class AggressiveBot implements BotPolicy {
+
+	/**
+	 * creates aggressive bots
+	 */
+	public static final BotFactory FACTORY = new BotFactory() {
+
+		@Override
+		public BotPolicy createBot(RandomSource randomSource) {
+			return new AggressiveBot(BattleOdds.getDefault());
+		}
+
+		@Override
+		public String getName() {
+			return "aggressive";
+		}
+	};
+
+	/**
+	 * battles with lower odds are not started
+	 */
+	public static final double MINIMUM_CONQUEST_PROBABILITY = 0.6;
+
+	private final BattleOdds odds;
+
+	/**
+	 * the best attack found by the last search, attacking from and to
+	 */
+	private Area bestSource;
+	private Area bestTarget;
+
+	/**
+	 * @param odds
+	 *            the odds to base all attack decisions on
+	 */
+	public AggressiveBot(BattleOdds odds) {
+		this.odds = odds;
+	}
+
+	@Override
+	public Area chooseInitialPlacement(GameHandler handler, Player player) {
+		double bestProbability = findBestAttack(handler, player, 1);
+
+		if (bestProbability >= 0) {
+			return this.bestSource;
+		}
+
+		return handler.getAreas().getAreasControlledByPlayer(player).get(0);
+	}
+
+	@Override
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player) {
+		if (player.getCards().size() < 3) {
+			return Collections.emptyList();
+		}
+
+		return CardTrades.findAllTrades(player.getCards());
+	}
+
+	@Override
+	public void reinforce(GameHandler handler, Player player) throws GameException {
+		if (player.getNoOfReinforcements() <= 0) {
+			return;
+		}
+
+		Area area = findBestAttack(handler, player, player.getNoOfReinforcements()) >= 0 ? this.bestSource : handler.getAreas()
+				.getAreasControlledByPlayer(player).get(0);
+
+		handler.reinforce(player, area, player.getNoOfReinforcements());
+	}
+
+	@Override
+	public void attack(GameHandler handler, Player player) throws GameException {
+		// every conquest takes an area, so the number of areas bounds the number of battles won
+		int remainingBattles = handler.getAreas().size();
+
+		while (player.getPhase() == Phase.ATTACK && remainingBattles-- > 0) {
+			if (findBestAttack(handler, player, 0) < MINIMUM_CONQUEST_PROBABILITY) {
+				return;
+			}
+
+			Area source = this.bestSource;
+			BattleSummary summary = handler.attackUntil(player, source, this.bestTarget, 0, this.odds.getDefenseDicePolicy());
+
+			if (summary.hasConqueredArea() && player.getPhase() == Phase.ATTACK && summary.getMovableArmies() > 0) {
+				// the front moves on: all armies follow unless the source still borders enemies, then they are split
+				int armies = hasEnemyNeighbour(source, player) ? summary.getMovableArmies() / 2 : summary.getMovableArmies();
+				if (armies > 0) {
+					handler.moveArmiesAfterConquest(player, summary.getLastRound(), armies);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void fortify(GameHandler handler, Player player) throws GameException {
+		Area source = null;
+		for (Area area : handler.getAreas().getAreasControlledByPlayer(player)) {
+			if (area.getArmies() > 1 && !hasEnemyNeighbour(area, player) && (source == null || area.getArmies() > source.getArmies())) {
+				source = area;
+			}
+		}
+		if (source == null) {
+			return;
+		}
+
+		Area destination = null;
+		for (Area area : handler.getAreas().getConnectedAreas(source)) {
+			if (hasEnemyNeighbour(area, player) && (destination == null || area.getArmies() < destination.getArmies())) {
+				destination = area;
+			}
+		}
+
+		if (destination != null) {
+			handler.fortify(player, source, destination, source.getArmies() - 1);
+		}
+	}
+
+	/**
+	 * searches the attack with the highest conquest probability and stores it
+	 * in {@link #bestSource} and {@link #bestTarget}
+	 * 
+	 * @param additionalArmies
+	 *            the armies to add to each possible source before evaluating
+	 *            the odds
+	 * @return the conquest probability of the best attack, -1 if the player
+	 *         has no area bordering an enemy
+	 */
+	private double findBestAttack(GameHandler handler, Player player, int additionalArmies) {
+		double bestProbability = -1;
+		this.bestSource = null;
+		this.bestTarget = null;
+
+		for (Area area : handler.getAreas().getAreasControlledByPlayer(player)) {
+			int armies = area.getArmies() + additionalArmies;
+			for (Area neighbour : area.getNeighbours()) {
+				if (!player.equals(neighbour.getControllingPlayer())) {
+					double probability = armies > 1 ? this.odds.getConquestProbability(armies, neighbour.getArmies()) : 0;
+					if (probability > bestProbability) {
+						bestProbability = probability;
+						this.bestSource = area;
+						this.bestTarget = neighbour;
+					}
+				}
+			}
+		}
+
+		return bestProbability;
+	}
+
+	private static boolean hasEnemyNeighbour(Area area, Player player) {
+		for (Area neighbour : area.getNeighbours()) {
+			if (!player.equals(neighbour.getControllingPlayer())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
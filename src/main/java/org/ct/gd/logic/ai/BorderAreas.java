@@ -0,0 +1,77 @@
+package org.ct.gd.logic.ai;
+
+import org.ct.gd.logic.util.AreaConnectivity;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.FrontierTracker;
+
+/**
+ * finds the areas of a player the bots place and move armies to, based on the
+ * threats of the {@link FrontierTracker}
+ *
+ * @author ct
+ *
+ */
+final class BorderAreas {
+
+	static final int NO_AREA = -1;
+
+	private BorderAreas() {
+
+	}
+
+	/**
+	 * searches the area of a player with the highest border security ratio
+	 *
+	 * @param placedArmies
+	 *            armies to add per area before computing the ratio, may be
+	 *            null
+	 * @param connectivity
+	 *            the connectivity of the board, if given the area has to be
+	 *            connected to the given area
+	 * @param connectedArea
+	 *            the area the result has to be connected to, ignored without
+	 *            connectivity
+	 * @return the area with the highest ratio, {@link #NO_AREA} if the player
+	 *         has no border area
+	 */
+	static int findMostEndangeredArea(BoardState state, int owner, int[] placedArmies, AreaConnectivity connectivity, int connectedArea) {
+		if (owner == BoardState.NO_OWNER) {
+			return NO_AREA;
+		}
+		FrontierTracker frontier = state.getFrontierTracker();
+
+		int bestArea = NO_AREA;
+		double bestRatio = 0;
+		for (int area = 0; area < state.getBoardGraph().getNumberOfAreas(); area++) {
+			if (state.getOwner(area) != owner || frontier.getThreat(area) == 0 || (connectivity != null && !connectivity.isConnected(area, connectedArea))) {
+				continue;
+			}
+
+			double ratio = (double) frontier.getThreat(area) / Math.max(1, state.getArmies(area) + (placedArmies == null ? 0 : placedArmies[area]));
+			if (ratio > bestRatio) {
+				bestRatio = ratio;
+				bestArea = area;
+			}
+		}
+
+		return bestArea;
+	}
+
+	/**
+	 * @return the area of the player with the lowest index, {@link #NO_AREA}
+	 *         if the player controls no area
+	 */
+	static int findFirstArea(BoardState state, int owner) {
+		if (owner == BoardState.NO_OWNER) {
+			return NO_AREA;
+		}
+
+		for (int area = 0; area < state.getBoardGraph().getNumberOfAreas(); area++) {
+			if (state.getOwner(area) == owner) {
+				return area;
+			}
+		}
+
+		return NO_AREA;
+	}
+}
@@ -0,0 +1,238 @@
+package org.ct.gd.logic.ai;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.FrontierTracker;
+import org.ct.gd.logic.util.RandomSource;
+
+/**
+ * cheap bot guided by the border security ratio of its areas (the armies of
+ * all adjacent enemies divided by the own armies). Most reinforcements go to
+ * the source of the best attack, the rest one by one to the border area with
+ * the highest ratio. Attacks are fought whenever the exact conquest
+ * probability reaches {@link #MINIMUM_CONQUEST_PROBABILITY} and the largest
+ * stack of the hinterland is moved to the most endangered connected border
+ * area. <br>
+ * All terms are read from the {@link FrontierTracker} of the board, which is
+ * updated with every change the handler makes, and from the primitive arrays
+ * of the board state. A whole turn neither rescans the area list nor
+ * creates lists of areas.
+ *
+ * @author ct
+ *
+ */
+public class BorderSecurityBot implements BotPolicy {
+
+	/**
+	 * creates border security bots
+	 */
+	public static final BotFactory FACTORY = new BotFactory() {
+
+		@Override
+		public BotPolicy createBot(RandomSource randomSource) {
+			return new BorderSecurityBot(BattleOdds.getDefault());
+		}
+
+		@Override
+		public String getName() {
+			return "border-security";
+		}
+	};
+
+	/**
+	 * battles with lower odds are not started
+	 */
+	public static final double MINIMUM_CONQUEST_PROBABILITY = 0.6;
+
+	/**
+	 * the share of the reinforcements placed on the source of the best
+	 * attack, the rest is distributed by the border security ratio
+	 */
+	public static final int ATTACKING_SHARE_PERCENT = 75;
+
+	private static final int NO_AREA = -1;
+
+	private final BattleOdds odds;
+
+	/**
+	 * the armies placed per area during the reinforcement
+	 */
+	private int[] placedArmies = new int[0];
+
+	/**
+	 * the best attack found by the last search, attacking from and to
+	 */
+	private int bestSource;
+	private int bestTarget;
+
+	/**
+	 * @param odds
+	 *            the odds to base all attack decisions on
+	 */
+	public BorderSecurityBot(BattleOdds odds) {
+		this.odds = odds;
+	}
+
+	@Override
+	public Area chooseInitialPlacement(GameHandler handler, Player player) {
+		BoardState state = handler.getAreas().getBoardState();
+		int owner = state.getOwnerSlot(player);
+
+		int area = BorderAreas.findMostEndangeredArea(state, owner, null, null, NO_AREA);
+		if (area == NO_AREA) {
+			area = BorderAreas.findFirstArea(state, owner);
+		}
+
+		return area == NO_AREA ? null : handler.getAreas().getByIndex(area);
+	}
+
+	@Override
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player) {
+		if (player.getCards().size() < 3) {
+			return Collections.emptyList();
+		}
+
+		return CardTrades.findAllTrades(player.getCards());
+	}
+
+	@Override
+	public void reinforce(GameHandler handler, Player player) throws GameException {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		int owner = state.getOwnerSlot(player);
+		int numberOfAreas = state.getBoardGraph().getNumberOfAreas();
+
+		if (this.placedArmies.length != numberOfAreas) {
+			this.placedArmies = new int[numberOfAreas];
+		}
+		Arrays.fill(this.placedArmies, 0);
+
+		// most armies strengthen the best attack, the rest secures the borders
+		int armies = player.getNoOfReinforcements();
+		int attackingArmies = armies * ATTACKING_SHARE_PERCENT / 100;
+		if (findBestAttack(state, state.getFrontierTracker(), owner, attackingArmies) >= 0) {
+			this.placedArmies[this.bestSource] += attackingArmies;
+			armies -= attackingArmies;
+		}
+
+		for (; armies > 0; armies--) {
+			int area = BorderAreas.findMostEndangeredArea(state, owner, this.placedArmies, null, NO_AREA);
+			if (area == NO_AREA) {
+				area = BorderAreas.findFirstArea(state, owner);
+				if (area == NO_AREA) {
+					return;
+				}
+			}
+			this.placedArmies[area]++;
+		}
+
+		for (int area = 0; area < numberOfAreas; area++) {
+			if (this.placedArmies[area] > 0) {
+				handler.reinforce(player, areas.getByIndex(area), this.placedArmies[area]);
+			}
+		}
+	}
+
+	@Override
+	public void attack(GameHandler handler, Player player) throws GameException {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		FrontierTracker frontier = state.getFrontierTracker();
+		int owner = state.getOwnerSlot(player);
+
+		// every conquest takes an area, so the number of areas bounds the number of battles won
+		int remainingBattles = areas.size();
+
+		while (player.getPhase() == Phase.ATTACK && remainingBattles-- > 0) {
+			if (findBestAttack(state, frontier, owner, 0) < MINIMUM_CONQUEST_PROBABILITY) {
+				return;
+			}
+
+			int source = this.bestSource;
+			int target = this.bestTarget;
+			BattleSummary summary = handler.attackUntil(player, areas.getByIndex(source), areas.getByIndex(target), 0, this.odds.getDefenseDicePolicy());
+
+			if (summary.hasConqueredArea() && player.getPhase() == Phase.ATTACK && summary.getMovableArmies() > 0) {
+				// all armies follow unless the source still faces enemies, then they are split
+				int armies = frontier.getThreat(source) == 0 ? summary.getMovableArmies() : summary.getMovableArmies() / 2;
+				if (armies > 0) {
+					handler.moveArmiesAfterConquest(player, summary.getLastRound(), armies);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void fortify(GameHandler handler, Player player) throws GameException {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		FrontierTracker frontier = state.getFrontierTracker();
+		int owner = state.getOwnerSlot(player);
+
+		int source = NO_AREA;
+		for (int area = 0; area < state.getBoardGraph().getNumberOfAreas(); area++) {
+			if (state.getOwner(area) == owner && !frontier.isBorder(area) && state.getArmies(area) > 1
+					&& (source == NO_AREA || state.getArmies(area) > state.getArmies(source))) {
+				source = area;
+			}
+		}
+		if (owner == BoardState.NO_OWNER || source == NO_AREA) {
+			return;
+		}
+
+		int destination = BorderAreas.findMostEndangeredArea(state, owner, null, areas.getAreaConnectivity(), source);
+		if (destination != NO_AREA) {
+			handler.fortify(player, areas.getByIndex(source), areas.getByIndex(destination), state.getArmies(source) - 1);
+		}
+	}
+
+	/**
+	 * searches the attack with the highest conquest probability and stores it
+	 * in {@link #bestSource} and {@link #bestTarget}
+	 *
+	 * @param additionalArmies
+	 *            the armies to add to each possible source before evaluating
+	 *            the odds
+	 * @return the conquest probability of the best attack, -1 if the player
+	 *         can't attack
+	 */
+	private double findBestAttack(BoardState state, FrontierTracker frontier, int owner, int additionalArmies) {
+		BoardGraph graph = state.getBoardGraph();
+		double bestProbability = -1;
+
+		for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+			int armies = state.getArmies(area) + additionalArmies;
+			if (owner == BoardState.NO_OWNER || state.getOwner(area) != owner || armies <= 1 || !frontier.isBorder(area)) {
+				continue;
+			}
+
+			for (int n = 0; n < graph.getNumberOfNeighbours(area); n++) {
+				int neighbour = graph.getNeighbour(area, n);
+				int neighbourOwner = state.getOwner(neighbour);
+				if (neighbourOwner != owner && neighbourOwner != BoardState.NO_OWNER) {
+					double probability = this.odds.getConquestProbability(armies, state.getArmies(neighbour));
+					if (probability > bestProbability) {
+						bestProbability = probability;
+						this.bestSource = area;
+						this.bestTarget = neighbour;
+					}
+				}
+			}
+		}
+
+		return bestProbability;
+	}
+}
@@ -0,0 +1,27 @@
+package org.ct.gd.logic.ai;
+
+import org.ct.gd.logic.util.RandomSource;
+
+/**
+ * creates the policy of a computer controlled player for a single game.
+ * Factories are shared between games played in parallel and therefore must
+ * not keep mutable state themselves.
+ *
+ * @author ct
+ *
+ */
+public interface BotFactory {
+
+	/**
+	 * @param randomSource
+	 *            the source of all random decisions of the bot, owned by
+	 *            the game it plays
+	 * @return a new policy
+	 */
+	public BotPolicy createBot(RandomSource randomSource);
+
+	/**
+	 * @return the name of the created bots, used in statistics
+	 */
+	public String getName();
+}
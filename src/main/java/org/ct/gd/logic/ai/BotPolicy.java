@@ -0,0 +1,79 @@
+package org.ct.gd.logic.ai;
+
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Player;
+
+/**
+ * the decisions of a computer controlled player. A policy is asked once per
+ * phase of its players turn and acts through the given game handler, ending
+ * the phase is left to the caller. <br>
+ * Policies are created per game (see {@link BotFactory}) and may keep state
+ * for that game, they are never shared between games.
+ *
+ * @author ct
+ *
+ */
+public interface BotPolicy {
+
+	/**
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player placing an initial army
+	 * @return the controlled area to place the next initial army on
+	 */
+	public Area chooseInitialPlacement(GameHandler handler, Player player);
+
+	/**
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player in one of the trading phases
+	 * @return the card combinations to trade (each made of three cards from
+	 *         the players hand), an empty list to trade nothing
+	 */
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player);
+
+	/**
+	 * places all reinforcements of the player
+	 * 
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player in the reinforcement phase
+	 * @throws GameException
+	 *             if the policy tried an illegal move
+	 */
+	public void reinforce(GameHandler handler, Player player) throws GameException;
+
+	/**
+	 * executes all attacks of the player. The attack phase may end early if
+	 * the game is over or the player has to trade cards after defeating
+	 * another player
+	 * 
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player in the attack phase
+	 * @throws GameException
+	 *             if the policy tried an illegal move
+	 */
+	public void attack(GameHandler handler, Player player) throws GameException;
+
+	/**
+	 * executes the fortification of the player, if any
+	 * 
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player in the fortification phase
+	 * @throws GameException
+	 *             if the policy tried an illegal move
+	 */
+	public void fortify(GameHandler handler, Player player) throws GameException;
+}
@@ -0,0 +1,66 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.model.Card;
+
+/**
+ * finds tradeable card combinations in a hand of cards
+ *
+ * @author ct
+ *
+ */
+public final class CardTrades {
+
+	private static final int NO_OF_CARDS_TO_TRADE = 3;
+
+	private CardTrades() {
+
+	}
+
+	/**
+	 * @param cards
+	 *            the hand of a player
+	 * @return the first valid combination of three cards of the hand, null if
+	 *         there is none
+	 */
+	public static List<Card> findTrade(List<Card> cards) {
+		for (int i = 0; i < cards.size(); i++) {
+			for (int j = i + 1; j < cards.size(); j++) {
+				for (int k = j + 1; k < cards.size(); k++) {
+					List<Card> trade = Arrays.asList(cards.get(i), cards.get(j), cards.get(k));
+					if (GameHandlerImpl.isValidCardCombination(trade)) {
+						return new ArrayList<>(trade);
+					}
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @param cards
+	 *            the hand of a player
+	 * @return as many disjoint valid combinations of the hand as can be found
+	 *         greedily, an empty list if there is none
+	 */
+	public static List<List<Card>> findAllTrades(List<Card> cards) {
+		List<List<Card>> trades = new ArrayList<>();
+		List<Card> remainingCards = new ArrayList<>(cards);
+
+		List<Card> trade = remainingCards.size() >= NO_OF_CARDS_TO_TRADE ? findTrade(remainingCards) : null;
+		while (trade != null) {
+			trades.add(trade);
+			for (Card card : trade) {
+				remainingCards.remove(card);
+			}
+			trade = remainingCards.size() >= NO_OF_CARDS_TO_TRADE ? findTrade(remainingCards) : null;
+		}
+
+		return trades;
+	}
+}
@@ -0,0 +1,138 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.FrontierTracker;
+import org.ct.gd.logic.util.RulesTable;
+
+/**
+ * heuristic placement of all initial armies of a player in one batch (see
+ * {@link GameHandler#submitInitialPlacement}), for bots as well as for human
+ * players whose time ran out. <br>
+ * The player focuses on the continent that is cheapest to complete: the most
+ * bonus for the fewest missing areas. The armies then go one by one to the
+ * border area with the highest threat per own army, border areas of the focus
+ * continent count {@link #FOCUS_WEIGHT} times. Areas without enemy
+ * neighbours get no armies, unless no area of the player borders an enemy:
+ * then the armies are spread evenly over all areas of the player.
+ *
+ * @author ct
+ *
+ */
+public class InitialPlacementPolicy {
+
+	/**
+	 * the weight of the threats of areas on the focus continent
+	 */
+	public static final int FOCUS_WEIGHT = 3;
+
+	private static final int NO_AREA = -1;
+
+	/**
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player in the initial placement phase
+	 * @return the areas to place the remaining initial armies to, one entry
+	 *         per army
+	 */
+	public List<Area> choosePlacement(GameHandler handler, Player player) {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		BoardGraph graph = state.getBoardGraph();
+		FrontierTracker frontier = state.getFrontierTracker();
+		int owner = state.getOwnerSlot(player);
+		List<Area> placement = new ArrayList<>(player.getNoOfReinforcements());
+		if (owner == BoardState.NO_OWNER || player.getNoOfReinforcements() == 0) {
+			return placement;
+		}
+
+		Continent focus = findFocus(state, owner, handler.getRules());
+
+		int[] placed = new int[graph.getNumberOfAreas()];
+		for (int army = 0; army < player.getNoOfReinforcements(); army++) {
+			int bestArea = NO_AREA;
+			double bestWeight = 0;
+			int weakestArea = NO_AREA;
+			for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+				if (state.getOwner(area) != owner) {
+					continue;
+				}
+
+				double weight = (double) frontier.getThreat(area) * (graph.getContinent(area) == focus ? FOCUS_WEIGHT : 1)
+						/ Math.max(1, state.getArmies(area) + placed[area]);
+				if (weight > bestWeight) {
+					bestWeight = weight;
+					bestArea = area;
+				}
+				if (weakestArea == NO_AREA || state.getArmies(area) + placed[area] < state.getArmies(weakestArea) + placed[weakestArea]) {
+					weakestArea = area;
+				}
+			}
+			if (bestArea == NO_AREA) {
+				// no area borders an enemy
+				bestArea = weakestArea;
+			}
+
+			placed[bestArea]++;
+			placement.add(areas.getByIndex(bestArea));
+		}
+
+		return placement;
+	}
+
+	/**
+	 * chooses the placement of a player and submits it
+	 *
+	 * @throws GameException
+	 *             if the game refuses the placement, e.g. if the player isn't
+	 *             placing initial armies any more
+	 */
+	public void submit(GameHandler handler, Player player) throws GameException {
+		handler.submitInitialPlacement(player, choosePlacement(handler, player));
+	}
+
+	/**
+	 * @return the continent with the highest bonus per missing area, weighted
+	 *         by the share of the continent the player controls. null if the
+	 *         player controls no area of a continent with bonus
+	 */
+	private static Continent findFocus(BoardState state, int owner, RulesTable rules) {
+		BoardGraph graph = state.getBoardGraph();
+		int[] areas = new int[Continent.values().length];
+		int[] controlledAreas = new int[Continent.values().length];
+		for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+			int continent = graph.getContinent(area).ordinal();
+			areas[continent]++;
+			if (state.getOwner(area) == owner) {
+				controlledAreas[continent]++;
+			}
+		}
+
+		Continent focus = null;
+		double bestScore = 0;
+		for (Continent continent : Continent.values()) {
+			int i = continent.ordinal();
+			if (controlledAreas[i] == 0 || rules.getContinentBonus(continent) == 0) {
+				continue;
+			}
+
+			double score = rules.getContinentBonus(continent) * ((double) controlledAreas[i] / areas[i]) / (areas[i] - controlledAreas[i] + 1);
+			if (score > bestScore) {
+				bestScore = score;
+				focus = continent;
+			}
+		}
+
+		return focus;
+	}
+}
@@ -0,0 +1,295 @@
+package org.ct.gd.logic.ai;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.handler.MoveList;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+/**
+ * bot choosing every action from card trades to fortification by Monte Carlo
+ * tree search. Each decision is searched with root parallelization: every
+ * worker searches its own copy of the game (with its own dice, so the search
+ * can't foresee the dice of the game) and the visits of the actions at the
+ * roots are summed up, the most visited action is played. <br>
+ * Every decision has a hard wall clock budget: workers stop at the deadline,
+ * workers that haven't finished shortly after it are abandoned. The caller
+ * searches as one of the workers, the others run on the given executor. <br>
+ * The initial placement and games not played by a {@link GameHandlerImpl}
+ * are left to an {@link AggressiveBot}.
+ *
+ * @author ct
+ *
+ */
+public class MctsBot implements BotPolicy {
+
+	public static final long DEFAULT_BUDGET_MILLIS = 200;
+
+	/**
+	 * creates bots searching with a single worker for
+	 * {@link #DEFAULT_BUDGET_MILLIS} per decision, so games played in parallel
+	 * (e.g. by the SelfPlaySimulator) use one thread each
+	 */
+	public static final BotFactory FACTORY = factory(null, 1, DEFAULT_BUDGET_MILLIS, Integer.MAX_VALUE);
+
+	/**
+	 * time granted to the workers after the deadline before they are
+	 * abandoned
+	 */
+	private static final long GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	private final RandomSource randomSource;
+	private final ExecutorService executor;
+	private final long budgetNanos;
+	private final int maximumIterations;
+	private final MctsSearch[] searches;
+	private final Future<?>[] futures;
+	private final BotPolicy fallback = new AggressiveBot(BattleOdds.getDefault());
+
+	/**
+	 * the actions at the roots of all workers with their summed visits and
+	 * values
+	 */
+	private final MoveList rootActions = new MoveList();
+	private int[] rootVisits = new int[16];
+	private double[] rootValues = new double[16];
+
+	/**
+	 * @param randomSource
+	 *            the source seeding the searches
+	 * @param executor
+	 *            the executor running all workers but the first, may be null
+	 *            for a single worker
+	 * @param workers
+	 *            the number of workers searching each decision
+	 * @param budgetMillis
+	 *            the wall clock time of each decision
+	 * @param maximumIterations
+	 *            the number of iterations after which a worker stops before
+	 *            the budget is used up
+	 */
+	public MctsBot(RandomSource randomSource, ExecutorService executor, int workers, long budgetMillis, int maximumIterations) {
+		verify(executor, workers, budgetMillis, maximumIterations);
+
+		this.randomSource = randomSource;
+		this.executor = executor;
+		this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+		this.maximumIterations = maximumIterations;
+		this.searches = new MctsSearch[workers];
+		for (int i = 0; i < workers; i++) {
+			this.searches[i] = new MctsSearch(randomSource.nextLong());
+		}
+		this.futures = new Future<?>[workers];
+	}
+
+	/**
+	 * @param executor
+	 *            the executor running all workers but the first, shared by
+	 *            all bots created, may be null for a single worker. Workers
+	 *            abandoned at the deadline keep their thread until they
+	 *            notice it, so the executor should be reserved for the bots
+	 *            and sized for the workers of all games played at the same
+	 *            time
+	 * @param workers
+	 *            the number of workers searching each decision
+	 * @param budgetMillis
+	 *            the wall clock time of each decision
+	 * @param maximumIterations
+	 *            the number of iterations after which a worker stops before
+	 *            the budget is used up
+	 * @return a factory creating bots with the given configuration
+	 */
+	public static BotFactory factory(final ExecutorService executor, final int workers, final long budgetMillis, final int maximumIterations) {
+		verify(executor, workers, budgetMillis, maximumIterations);
+
+		return new BotFactory() {
+
+			@Override
+			public BotPolicy createBot(RandomSource randomSource) {
+				return new MctsBot(randomSource, executor, workers, budgetMillis, maximumIterations);
+			}
+
+			@Override
+			public String getName() {
+				return "mcts";
+			}
+		};
+	}
+
+	@Override
+	public Area chooseInitialPlacement(GameHandler handler, Player player) {
+		return this.fallback.chooseInitialPlacement(handler, player);
+	}
+
+	@Override
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player) {
+		if (!(handler instanceof GameHandlerImpl)) {
+			return this.fallback.chooseCardTrades(handler, player);
+		}
+		if (player.getCards().size() < 3) {
+			return Collections.emptyList();
+		}
+
+		long action = search((GameHandlerImpl) handler, player);
+		if (Move.getType(action) != Move.TRADE_CARDS) {
+			return Collections.emptyList();
+		}
+
+		return Collections.singletonList(MctsSearch.getTradedCards(player.getCards(), action));
+	}
+
+	@Override
+	public void reinforce(GameHandler handler, Player player) throws GameException {
+		if (!(handler instanceof GameHandlerImpl)) {
+			this.fallback.reinforce(handler, player);
+			return;
+		}
+
+		while (player.getNoOfReinforcements() > 0) {
+			long action = search((GameHandlerImpl) handler, player);
+			if (Move.getType(action) != Move.REINFORCE) {
+				this.fallback.reinforce(handler, player);
+				return;
+			}
+			MctsSearch.execute(handler, player, action);
+		}
+	}
+
+	@Override
+	public void attack(GameHandler handler, Player player) throws GameException {
+		if (!(handler instanceof GameHandlerImpl)) {
+			this.fallback.attack(handler, player);
+			return;
+		}
+
+		while (player.getPhase() == Phase.ATTACK && handler.getGameStatus() != GameStatus.GAME_OVER) {
+			long action = search((GameHandlerImpl) handler, player);
+			if (Move.getType(action) != Move.ATTACK) {
+				return;
+			}
+			MctsSearch.execute(handler, player, action);
+		}
+	}
+
+	@Override
+	public void fortify(GameHandler handler, Player player) throws GameException {
+		if (!(handler instanceof GameHandlerImpl)) {
+			this.fallback.fortify(handler, player);
+			return;
+		}
+
+		long action = search((GameHandlerImpl) handler, player);
+		if (Move.getType(action) == Move.FORTIFY) {
+			MctsSearch.execute(handler, player, action);
+		}
+	}
+
+	/**
+	 * searches the next action of a player within the budget
+	 *
+	 * @return the most visited action, 0 if the player has no action
+	 */
+	private long search(GameHandlerImpl handler, Player player) {
+		long deadline = System.nanoTime() + this.budgetNanos;
+		int seat = handler.getPlayers().indexOf(player);
+
+		this.searches[0].reset(handler.copy(new XoshiroRandomSource(this.randomSource.nextLong())), seat, deadline, this.maximumIterations);
+
+		// forced decisions are not searched
+		if (this.searches[0].generateRootActions(this.rootActions) <= 1) {
+			return this.rootActions.isEmpty() ? 0 : this.rootActions.get(0);
+		}
+		for (int i = 1; i < this.searches.length; i++) {
+			this.searches[i].reset(handler.copy(new XoshiroRandomSource(this.randomSource.nextLong())), seat, deadline, this.maximumIterations);
+		}
+		long defaultAction = this.rootActions.contains(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0)) ? Move.of(Move.END_PHASE, Move.NO_AREA,
+				Move.NO_AREA, 0) : this.rootActions.get(0);
+
+		for (int i = 1; i < this.searches.length; i++) {
+			this.futures[i] = this.executor.submit(this.searches[i]);
+		}
+		this.searches[0].run();
+
+		this.rootActions.clear();
+		collect(this.searches[0]);
+		for (int i = 1; i < this.searches.length; i++) {
+			try {
+				this.futures[i].get(Math.max(0, deadline - System.nanoTime()) + GRACE_NANOS, TimeUnit.NANOSECONDS);
+				collect(this.searches[i]);
+			} catch (TimeoutException e) {
+				// the worker may still be running, it is replaced rather than waited for
+				this.futures[i].cancel(true);
+				this.searches[i] = new MctsSearch(this.randomSource.nextLong());
+			} catch (InterruptedException e) {
+				this.futures[i].cancel(true);
+				this.searches[i] = new MctsSearch(this.randomSource.nextLong());
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("The search failed", e.getCause());
+			}
+			this.futures[i] = null;
+		}
+
+		int best = -1;
+		for (int i = 0; i < this.rootActions.size(); i++) {
+			if (best < 0 || this.rootVisits[i] > this.rootVisits[best]
+					|| (this.rootVisits[i] == this.rootVisits[best] && this.rootValues[i] > this.rootValues[best])) {
+				best = i;
+			}
+		}
+
+		return best < 0 ? defaultAction : this.rootActions.get(best);
+	}
+
+	/**
+	 * adds the visits and values of the root actions of a worker
+	 */
+	private void collect(MctsSearch search) {
+		for (int child = search.getFirstChild(MctsSearch.ROOT); child != MctsSearch.NO_NODE; child = search.getNextSibling(child)) {
+			long action = search.getAction(child);
+
+			int index = 0;
+			while (index < this.rootActions.size() && this.rootActions.get(index) != action) {
+				index++;
+			}
+			if (index == this.rootActions.size()) {
+				if (index == this.rootVisits.length) {
+					this.rootVisits = Arrays.copyOf(this.rootVisits, index * 2);
+					this.rootValues = Arrays.copyOf(this.rootValues, index * 2);
+				}
+				this.rootActions.add(action);
+				this.rootVisits[index] = 0;
+				this.rootValues[index] = 0;
+			}
+
+			this.rootVisits[index] += search.getVisits(child);
+			this.rootValues[index] += search.getValue(child);
+		}
+	}
+
+	private static void verify(ExecutorService executor, int workers, long budgetMillis, int maximumIterations) {
+		if (workers < 1 || (workers > 1 && executor == null)) {
+			throw new IllegalArgumentException("At least one worker is needed, more than one need an executor");
+		}
+		if (budgetMillis <= 0 || maximumIterations <= 0) {
+			throw new IllegalArgumentException("The budget and the maximum number of iterations have to be positive");
+		}
+	}
+}
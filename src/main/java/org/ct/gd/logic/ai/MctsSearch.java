@@ -0,0 +1,647 @@
+package org.ct.gd.logic.ai;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.handler.GameJournal;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.handler.MoveGenerator;
+import org.ct.gd.logic.handler.MoveList;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+/**
+ * a single worker of the {@link MctsBot}: searches the rest of the turn of a
+ * player on its own copy of the game. <br>
+ * The tree holds the decisions of the searching player only, dice and drawn
+ * cards are chance events that are rolled anew in every iteration (open loop):
+ * a node stands for a sequence of actions, the actions legal in the reached
+ * state are selected by their availability counts. Once the turn is over the
+ * game is played on by a cheap default policy for a few rounds and the
+ * reached state is evaluated. <br>
+ * All moves are taken back with the journal of the copy, so an iteration
+ * neither copies the game nor creates tree nodes as objects. The hands are
+ * managed by the client of a game, so the search logs its own changes of the
+ * hands and takes them back between the commands of the journal. A search is
+ * owned by one thread at a time.
+ *
+ * @author ct
+ *
+ */
+class MctsSearch implements Runnable {
+
+	static final int ROOT = 0;
+	static final int NO_NODE = -1;
+
+	private static final double EXPLORATION = 0.7;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the number of rounds the default policy plays after the turn of the
+	 * searching player
+	 */
+	private static final int ROLLOUT_ROUNDS = 2;
+
+	private final RandomSource randomSource;
+
+	/**
+	 * the tree, one entry per node: the action leading to it, its first child
+	 * and next sibling, the number of visits, the number of iterations it was
+	 * legal in and the summed values
+	 */
+	private long[] actions = new long[INITIAL_CAPACITY];
+	private int[] firstChild = new int[INITIAL_CAPACITY];
+	private int[] nextSibling = new int[INITIAL_CAPACITY];
+	private int[] visits = new int[INITIAL_CAPACITY];
+	private int[] availability = new int[INITIAL_CAPACITY];
+	private double[] values = new double[INITIAL_CAPACITY];
+	private int numberOfNodes;
+	private int[] path = new int[64];
+
+	private GameHandlerImpl game;
+	private GameJournal journal;
+	private Player player;
+	private MoveGenerator moveGenerator;
+	private final MoveList moves = new MoveList();
+	private final MoveList legalActions = new MoveList();
+
+	/**
+	 * the cards added to and removed from hands during an iteration: the
+	 * journal position after the command causing the change, the hand, the
+	 * position of the card in the hand and the card
+	 */
+	private int[] handChangePositions = new int[16];
+	private int[] handChangeIndices = new int[16];
+	private boolean[] handChangeAdditions = new boolean[16];
+	private Card[] handChangeCards = new Card[16];
+	private List<?>[] handChangeHands = new List<?>[16];
+	private int numberOfHandChanges;
+
+	private long deadline;
+	private int maximumIterations;
+	private int iterations;
+
+	/**
+	 * @param seed
+	 *            the seed of the default policy and the random choices of
+	 *            the search
+	 */
+	MctsSearch(long seed) {
+		this.randomSource = new XoshiroRandomSource(seed);
+	}
+
+	/**
+	 * prepares a new search, the tree of the last search is dropped
+	 *
+	 * @param game
+	 *            a copy of the game owned by this search
+	 * @param seat
+	 *            the position of the searching player in the players of the
+	 *            game
+	 * @param deadline
+	 *            the value of {@link System#nanoTime()} at which the search
+	 *            stops
+	 * @param maximumIterations
+	 *            the number of iterations after which the search stops
+	 */
+	void reset(GameHandlerImpl game, int seat, long deadline, int maximumIterations) {
+		this.game = game;
+		this.journal = game.enableJournal();
+		this.player = game.getPlayers().get(seat);
+		this.moveGenerator = new MoveGenerator(game);
+		this.deadline = deadline;
+		this.maximumIterations = maximumIterations;
+		this.iterations = 0;
+		this.numberOfHandChanges = 0;
+
+		this.numberOfNodes = 0;
+		createNode(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+	}
+
+	/**
+	 * generates the actions the searching player can choose from in the
+	 * current state of the game
+	 *
+	 * @param actions
+	 *            the list to write the actions to, it is cleared first
+	 * @return the number of actions
+	 */
+	int generateRootActions(MoveList actions) {
+		return generateActions(actions);
+	}
+
+	/**
+	 * iterates until the deadline or the maximum number of iterations is
+	 * reached
+	 */
+	@Override
+	public void run() {
+		while (this.iterations < this.maximumIterations && System.nanoTime() < this.deadline && !Thread.currentThread().isInterrupted()) {
+			iterate();
+			this.iterations++;
+		}
+	}
+
+	int getIterations() {
+		return this.iterations;
+	}
+
+	int getFirstChild(int node) {
+		return this.firstChild[node];
+	}
+
+	int getNextSibling(int node) {
+		return this.nextSibling[node];
+	}
+
+	long getAction(int node) {
+		return this.actions[node];
+	}
+
+	int getVisits(int node) {
+		return this.visits[node];
+	}
+
+	double getValue(int node) {
+		return this.values[node];
+	}
+
+	/**
+	 * executes the attacks, reinforcements and fortifications chosen by the
+	 * search. After a conquest all armies follow into the conquered area,
+	 * unless the attacking area still borders enemies, then they are split
+	 *
+	 * @param handler
+	 *            the handler of the game
+	 * @param player
+	 *            the player executing the action
+	 * @param action
+	 *            an action of type {@link Move#REINFORCE}, {@link Move#ATTACK}
+	 *            or {@link Move#FORTIFY}
+	 * @throws GameException
+	 *             if the action is illegal
+	 */
+	static void execute(GameHandler handler, Player player, long action) throws GameException {
+		AreaList areas = handler.getAreas();
+
+		switch (Move.getType(action)) {
+		case Move.REINFORCE:
+			handler.reinforce(player, areas.getByIndex(Move.getSource(action)), Move.getAmount(action));
+			break;
+		case Move.ATTACK:
+			Area source = areas.getByIndex(Move.getSource(action));
+			BattleSummary summary = handler.attackUntil(player, source, areas.getByIndex(Move.getTarget(action)), 0, DefenseDicePolicy.MAXIMUM);
+
+			// defeating another player may require trading cards before moving further armies
+			if (summary.hasConqueredArea() && player.getPhase() == Phase.ATTACK && summary.getMovableArmies() > 0) {
+				int armies = hasEnemyNeighbour(areas.getBoardState(), source.getIndex()) ? summary.getMovableArmies() / 2 : summary.getMovableArmies();
+				if (armies > 0) {
+					handler.moveArmiesAfterConquest(player, summary.getLastRound(), armies);
+				}
+			}
+			break;
+		case Move.FORTIFY:
+			handler.fortify(player, areas.getByIndex(Move.getSource(action)), areas.getByIndex(Move.getTarget(action)), Move.getAmount(action));
+			break;
+		default:
+			throw new IllegalArgumentException("Action " + Move.toString(action) + " can't be executed directly");
+		}
+	}
+
+	/**
+	 * @return the three cards of the hand traded by the given action
+	 */
+	static List<Card> getTradedCards(List<Card> hand, long action) {
+		return Arrays.asList(hand.get(Move.getCard(action, 0)), hand.get(Move.getCard(action, 1)), hand.get(Move.getCard(action, 2)));
+	}
+
+	private void iterate() {
+		int start = this.journal.getPosition();
+		int depth = 0;
+		int node = ROOT;
+		this.path[depth++] = node;
+
+		try {
+			boolean expanded = false;
+			while (!expanded && isSearchingPlayersDecision()) {
+				if (generateActions(this.legalActions) == 0) {
+					break;
+				}
+
+				int child = select(node);
+				if (child == NO_NODE) {
+					child = expand(node);
+					expanded = true;
+				}
+
+				play(this.player, this.actions[child]);
+				node = child;
+				if (depth == this.path.length) {
+					this.path = Arrays.copyOf(this.path, depth * 2);
+				}
+				this.path[depth++] = node;
+			}
+
+			rollout();
+		} catch (GameException e) {
+			// a game that can't go on (e.g. an empty deck) is evaluated as it is
+		}
+
+		double value = evaluate();
+		for (int i = 0; i < depth; i++) {
+			this.visits[this.path[i]]++;
+			this.values[this.path[i]] += value;
+		}
+
+		undoTo(start);
+	}
+
+	/**
+	 * selects the child with the highest upper confidence bound among the
+	 * children whose action is legal in the current state
+	 *
+	 * @return the selected child, {@link #NO_NODE} if a legal action has no
+	 *         child yet
+	 */
+	private int select(int node) {
+		int expandedActions = 0;
+		int bestChild = NO_NODE;
+		double bestScore = Double.NEGATIVE_INFINITY;
+
+		for (int child = this.firstChild[node]; child != NO_NODE; child = this.nextSibling[child]) {
+			if (!this.legalActions.contains(this.actions[child])) {
+				continue;
+			}
+
+			expandedActions++;
+			this.availability[child]++;
+			double score = this.values[child] / this.visits[child] + EXPLORATION * Math.sqrt(Math.log(this.availability[child]) / this.visits[child]);
+			if (score > bestScore) {
+				bestScore = score;
+				bestChild = child;
+			}
+		}
+
+		return expandedActions < this.legalActions.size() ? NO_NODE : bestChild;
+	}
+
+	/**
+	 * adds a child for a random legal action that has no child yet
+	 */
+	private int expand(int node) {
+		int candidates = 0;
+		for (int i = 0; i < this.legalActions.size(); i++) {
+			if (findChild(node, this.legalActions.get(i)) == NO_NODE) {
+				candidates++;
+			}
+		}
+
+		int candidate = this.randomSource.nextInt(candidates);
+		long action = 0;
+		for (int i = 0; i < this.legalActions.size(); i++) {
+			if (findChild(node, this.legalActions.get(i)) == NO_NODE && candidate-- == 0) {
+				action = this.legalActions.get(i);
+				break;
+			}
+		}
+
+		int child = createNode(action);
+		this.nextSibling[child] = this.firstChild[node];
+		this.firstChild[node] = child;
+		this.availability[child] = 1;
+
+		return child;
+	}
+
+	private int findChild(int node, long action) {
+		for (int child = this.firstChild[node]; child != NO_NODE; child = this.nextSibling[child]) {
+			if (this.actions[child] == action) {
+				return child;
+			}
+		}
+
+		return NO_NODE;
+	}
+
+	private int createNode(long action) {
+		if (this.numberOfNodes == this.actions.length) {
+			int capacity = this.numberOfNodes * 2;
+			this.actions = Arrays.copyOf(this.actions, capacity);
+			this.firstChild = Arrays.copyOf(this.firstChild, capacity);
+			this.nextSibling = Arrays.copyOf(this.nextSibling, capacity);
+			this.visits = Arrays.copyOf(this.visits, capacity);
+			this.availability = Arrays.copyOf(this.availability, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		int node = this.numberOfNodes++;
+		this.actions[node] = action;
+		this.firstChild[node] = NO_NODE;
+		this.nextSibling[node] = NO_NODE;
+		this.visits[node] = 0;
+		this.availability[node] = 0;
+		this.values[node] = 0;
+
+		return node;
+	}
+
+	private boolean isSearchingPlayersDecision() {
+		return this.game.getGameStatus() != GameStatus.GAME_OVER && this.player.isTurn();
+	}
+
+	/**
+	 * abstracts the legal moves of the searching player into actions:
+	 * reinforcements place half of the remaining armies on a border area,
+	 * attacks are fought to the end with all dice and fortifications move all
+	 * armies of the hinterland to a border area
+	 */
+	private int generateActions(MoveList actions) {
+		this.moveGenerator.generate(this.player, this.moves);
+		actions.clear();
+
+		BoardState state = this.game.getAreas().getBoardState();
+		switch (this.player.getPhase()) {
+		case REINFORCEMENT:
+			for (int i = 0; i < this.moves.size(); i++) {
+				long move = this.moves.get(i);
+				if (Move.getType(move) == Move.REINFORCE && hasEnemyNeighbour(state, Move.getSource(move))) {
+					actions.add(Move.withAmount(move, (Move.getAmount(move) + 1) / 2));
+				}
+			}
+			if (actions.isEmpty()) {
+				for (int i = 0; i < this.moves.size(); i++) {
+					long move = this.moves.get(i);
+					actions.add(Move.getType(move) == Move.REINFORCE ? Move.withAmount(move, (Move.getAmount(move) + 1) / 2) : move);
+				}
+			}
+			break;
+		case ATTACK:
+			for (int i = 0; i < this.moves.size(); i++) {
+				long move = this.moves.get(i);
+				if (Move.getType(move) != Move.ATTACK
+						|| Move.getAmount(move) == Math.min(DiceOutcomeTable.MAXIMUM_ATTACK_DICE, state.getArmies(Move.getSource(move)) - 1)) {
+					actions.add(move);
+				}
+			}
+			break;
+		case FORTIFICATION:
+			for (int i = 0; i < this.moves.size(); i++) {
+				long move = this.moves.get(i);
+				if (Move.getType(move) != Move.FORTIFY || (!hasEnemyNeighbour(state, Move.getSource(move)) && hasEnemyNeighbour(state, Move.getTarget(move)))) {
+					actions.add(move);
+				}
+			}
+			break;
+		default:
+			for (int i = 0; i < this.moves.size(); i++) {
+				actions.add(this.moves.get(i));
+			}
+			break;
+		}
+
+		return actions.size();
+	}
+
+	/**
+	 * plays the game on with the default policy until the rollout rounds are
+	 * over, the game has ended or the deadline has passed. The default policy
+	 * trades whenever it can, reinforces a random border area, attacks as long
+	 * as it outnumbers a neighbour by two and never fortifies
+	 */
+	private void rollout() throws GameException {
+		int remainingTurns = ROLLOUT_ROUNDS * this.game.getPlayers().size();
+		int attacks = 0;
+
+		while (this.game.getGameStatus() != GameStatus.GAME_OVER && System.nanoTime() < this.deadline) {
+			Player current = this.game.getPlayerInTurn();
+			if (current == null || current.getPhase() == null) {
+				return;
+			}
+
+			this.moveGenerator.generate(current, this.moves);
+			switch (current.getPhase()) {
+			case TRADE_CARDS:
+				if (remainingTurns-- == 0) {
+					return;
+				}
+				attacks = 0;
+				// fall through
+			case TRADE_CARDS_AFTER_DEFEAT:
+				if (!playFirst(current, Move.TRADE_CARDS) && !playFirst(current, Move.END_PHASE)) {
+					return;
+				}
+				break;
+			case REINFORCEMENT:
+				if (!playRandomReinforcement(current) && !playFirst(current, Move.END_PHASE)) {
+					return;
+				}
+				break;
+			case ATTACK:
+				// every conquest takes an area, so the number of areas bounds the number of battles won
+				if (attacks++ == this.game.getAreas().size() || !playBestAttack(current)) {
+					playFirst(current, Move.END_PHASE);
+				}
+				break;
+			case DRAW_CARD:
+			case FORTIFICATION:
+				if (!playFirst(current, Move.DRAW_CARD) && !playFirst(current, Move.END_PHASE)) {
+					return;
+				}
+				break;
+			default:
+				return;
+			}
+		}
+	}
+
+	private boolean playFirst(Player current, int type) throws GameException {
+		for (int i = 0; i < this.moves.size(); i++) {
+			if (Move.getType(this.moves.get(i)) == type) {
+				play(current, this.moves.get(i));
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean playRandomReinforcement(Player current) throws GameException {
+		BoardState state = this.game.getAreas().getBoardState();
+
+		int candidates = 0;
+		for (int i = 0; i < this.moves.size(); i++) {
+			long move = this.moves.get(i);
+			if (Move.getType(move) == Move.REINFORCE && hasEnemyNeighbour(state, Move.getSource(move))) {
+				candidates++;
+			}
+		}
+		if (candidates == 0) {
+			return playFirst(current, Move.REINFORCE);
+		}
+
+		int candidate = this.randomSource.nextInt(candidates);
+		for (int i = 0; i < this.moves.size(); i++) {
+			long move = this.moves.get(i);
+			if (Move.getType(move) == Move.REINFORCE && hasEnemyNeighbour(state, Move.getSource(move)) && candidate-- == 0) {
+				play(current, move);
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean playBestAttack(Player current) throws GameException {
+		BoardState state = this.game.getAreas().getBoardState();
+
+		long bestAttack = 0;
+		int bestAdvantage = 1;
+		for (int i = 0; i < this.moves.size(); i++) {
+			long move = this.moves.get(i);
+			if (Move.getType(move) == Move.ATTACK) {
+				int advantage = state.getArmies(Move.getSource(move)) - state.getArmies(Move.getTarget(move));
+				if (advantage > bestAdvantage) {
+					bestAdvantage = advantage;
+					bestAttack = move;
+				}
+			}
+		}
+
+		if (bestAttack == 0) {
+			return false;
+		}
+		play(current, bestAttack);
+
+		return true;
+	}
+
+	/**
+	 * plays an action on the copy, doing the book keeping of the hands like
+	 * a client of the game
+	 */
+	private void play(Player current, long action) throws GameException {
+		switch (Move.getType(action)) {
+		case Move.TRADE_CARDS:
+			List<Card> cards = getTradedCards(current.getCards(), action);
+			this.game.tradeCards(current, Collections.singletonList(cards));
+			for (Card card : cards) {
+				int index = current.getCards().indexOf(card);
+				current.getCards().remove(index);
+				logHandChange(current.getCards(), index, card, false);
+			}
+			break;
+		case Move.DRAW_CARD:
+			Card card = this.game.drawCard(current);
+			current.getCards().add(card);
+			logHandChange(current.getCards(), current.getCards().size() - 1, card, true);
+			break;
+		case Move.END_PHASE:
+			this.game.confirmEndOfPhase(current);
+			break;
+		case Move.FORTIFY:
+			// like in the board game a turn has a single fortification
+			execute(this.game, current, action);
+			this.game.confirmEndOfPhase(current);
+			break;
+		default:
+			execute(this.game, current, action);
+			break;
+		}
+	}
+
+	/**
+	 * @return 1 for a won game, 0 for a lost one and the mean of the share of
+	 *         areas and the share of armies of the searching player otherwise
+	 */
+	private double evaluate() {
+		if (this.game.getGameStatus() == GameStatus.GAME_OVER) {
+			return this.player.equals(this.game.getWinner()) ? 1 : 0;
+		}
+
+		BoardState state = this.game.getAreas().getBoardState();
+		int owner = state.getOwnerSlot(this.player);
+		int numberOfAreas = state.getBoardGraph().getNumberOfAreas();
+
+		int areas = 0;
+		int armies = 0;
+		int totalArmies = 0;
+		for (int area = 0; area < numberOfAreas; area++) {
+			totalArmies += state.getArmies(area);
+			if (owner != BoardState.NO_OWNER && state.getOwner(area) == owner) {
+				areas++;
+				armies += state.getArmies(area);
+			}
+		}
+
+		return 0.5 * areas / numberOfAreas + (totalArmies == 0 ? 0 : 0.5 * armies / totalArmies);
+	}
+
+	private void logHandChange(List<Card> hand, int index, Card card, boolean isAddition) {
+		if (this.numberOfHandChanges == this.handChangePositions.length) {
+			int capacity = this.numberOfHandChanges * 2;
+			this.handChangePositions = Arrays.copyOf(this.handChangePositions, capacity);
+			this.handChangeIndices = Arrays.copyOf(this.handChangeIndices, capacity);
+			this.handChangeAdditions = Arrays.copyOf(this.handChangeAdditions, capacity);
+			this.handChangeCards = Arrays.copyOf(this.handChangeCards, capacity);
+			this.handChangeHands = Arrays.copyOf(this.handChangeHands, capacity);
+		}
+
+		int change = this.numberOfHandChanges++;
+		this.handChangePositions[change] = this.journal.getPosition();
+		this.handChangeIndices[change] = index;
+		this.handChangeAdditions[change] = isAddition;
+		this.handChangeCards[change] = card;
+		this.handChangeHands[change] = hand;
+	}
+
+	/**
+	 * takes back all commands of the journal and all changes of the hands
+	 * after the given position, in reverse order
+	 */
+	@SuppressWarnings("unchecked")
+	private void undoTo(int position) {
+		while (this.numberOfHandChanges > 0) {
+			int change = --this.numberOfHandChanges;
+			this.journal.undoTo(this.handChangePositions[change]);
+
+			List<Card> hand = (List<Card>) this.handChangeHands[change];
+			if (this.handChangeAdditions[change]) {
+				hand.remove(this.handChangeIndices[change]);
+			} else {
+				hand.add(this.handChangeIndices[change], this.handChangeCards[change]);
+			}
+			this.handChangeCards[change] = null;
+			this.handChangeHands[change] = null;
+		}
+
+		this.journal.undoTo(position);
+	}
+
+	static boolean hasEnemyNeighbour(BoardState state, int area) {
+		BoardGraph graph = state.getBoardGraph();
+		int owner = state.getOwner(area);
+
+		for (int n = 0; n < graph.getNumberOfNeighbours(area); n++) {
+			if (state.getOwner(graph.getNeighbour(area, n)) != owner) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
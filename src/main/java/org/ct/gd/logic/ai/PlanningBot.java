@@ -0,0 +1,129 @@
+package org.ct.gd.logic.ai;
+
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+
+/**
+ * bot planning its whole turn with a {@link TurnPlanner} when it starts to
+ * trade cards, the phases then play the parts of the plan. Clients without a
+ * runner may as well plan a turn and {@link TurnPlan#execute execute} it in
+ * one go. <br>
+ * The initial placement, games not played by a {@link GameHandlerImpl} and
+ * human players are left to a {@link BorderSecurityBot}.
+ *
+ * @author ct
+ *
+ */
+public class PlanningBot implements BotPolicy {
+
+	public static final long DEFAULT_BUDGET_MILLIS = 20;
+
+	/**
+	 * creates bots planning for {@link #DEFAULT_BUDGET_MILLIS} per turn
+	 */
+	public static final BotFactory FACTORY = factory(DEFAULT_BUDGET_MILLIS);
+
+	private final TurnPlanner planner;
+	private final long budgetMillis;
+	private final BotPolicy fallback = new BorderSecurityBot(BattleOdds.getDefault());
+
+	/**
+	 * the plan of the running turn, null between turns
+	 */
+	private TurnPlan plan;
+
+	/**
+	 * @param planner
+	 *            the planner of all turns
+	 * @param budgetMillis
+	 *            the wall clock time of planning a turn
+	 */
+	public PlanningBot(TurnPlanner planner, long budgetMillis) {
+		if (budgetMillis <= 0) {
+			throw new IllegalArgumentException("The budget has to be positive");
+		}
+
+		this.planner = planner;
+		this.budgetMillis = budgetMillis;
+	}
+
+	/**
+	 * @param budgetMillis
+	 *            the wall clock time of planning a turn
+	 * @return a factory creating bots with the given budget
+	 */
+	public static BotFactory factory(final long budgetMillis) {
+		if (budgetMillis <= 0) {
+			throw new IllegalArgumentException("The budget has to be positive");
+		}
+
+		return new BotFactory() {
+
+			@Override
+			public BotPolicy createBot(RandomSource randomSource) {
+				return new PlanningBot(new TurnPlanner(BattleOdds.getDefault(), randomSource), budgetMillis);
+			}
+
+			@Override
+			public String getName() {
+				return "planner";
+			}
+		};
+	}
+
+	@Override
+	public Area chooseInitialPlacement(GameHandler handler, Player player) {
+		return this.fallback.chooseInitialPlacement(handler, player);
+	}
+
+	@Override
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player) {
+		if (player.getPhase() != Phase.TRADE_CARDS || !(handler instanceof GameHandlerImpl) || !player.isAiPlayer()) {
+			return this.fallback.chooseCardTrades(handler, player);
+		}
+
+		this.plan = this.planner.plan((GameHandlerImpl) handler, player, this.budgetMillis);
+
+		return this.plan.getTrades();
+	}
+
+	@Override
+	public void reinforce(GameHandler handler, Player player) throws GameException {
+		if (this.plan == null) {
+			this.fallback.reinforce(handler, player);
+			return;
+		}
+
+		this.plan.executeReinforcements(handler, player);
+	}
+
+	@Override
+	public void attack(GameHandler handler, Player player) throws GameException {
+		if (this.plan == null) {
+			this.fallback.attack(handler, player);
+			return;
+		}
+
+		this.plan.executeAttacks(handler, player);
+	}
+
+	@Override
+	public void fortify(GameHandler handler, Player player) throws GameException {
+		if (this.plan == null) {
+			this.fallback.fortify(handler, player);
+			return;
+		}
+
+		this.plan.executeFortification(handler, player);
+		this.plan = null;
+	}
+}
@@ -0,0 +1,161 @@
+package org.ct.gd.logic.ai;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.handler.MoveGenerator;
+import org.ct.gd.logic.handler.MoveList;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+
+/**
+ * bot choosing uniformly among its legal moves. Serves as baseline for other
+ * policies and as fast opponent in self play
+ *
+ * @author ct
+ *
+ */
+public class RandomBot implements BotPolicy {
+
+	/**
+	 * creates random bots
+	 */
+	public static final BotFactory FACTORY = new BotFactory() {
+
+		@Override
+		public BotPolicy createBot(RandomSource randomSource) {
+			return new RandomBot(randomSource);
+		}
+
+		@Override
+		public String getName() {
+			return "random";
+		}
+	};
+
+	/**
+	 * after each attack the bot stops attacking with a probability of one in
+	 * this constant
+	 */
+	private static final int STOP_ATTACKING_ODDS = 4;
+
+	/**
+	 * the bot fortifies with a probability of one in this constant
+	 */
+	private static final int FORTIFICATION_ODDS = 2;
+
+	private static final long NO_MOVE = -1;
+
+	private final RandomSource randomSource;
+
+	/**
+	 * created with the first move, a bot only plays a single game
+	 */
+	private MoveGenerator moveGenerator;
+	private final MoveList moves = new MoveList();
+
+	/**
+	 * @param randomSource
+	 *            the source of all decisions of this bot
+	 */
+	public RandomBot(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	@Override
+	public Area chooseInitialPlacement(GameHandler handler, Player player) {
+		return pick(handler.getAreas().getAreasControlledByPlayer(player));
+	}
+
+	@Override
+	public List<List<Card>> chooseCardTrades(GameHandler handler, Player player) {
+		List<Card> trade = CardTrades.findTrade(player.getCards());
+
+		if (trade == null || this.randomSource.nextInt(2) == 0) {
+			return Collections.emptyList();
+		}
+
+		return Collections.singletonList(trade);
+	}
+
+	@Override
+	public void reinforce(GameHandler handler, Player player) throws GameException {
+		List<Area> areas = handler.getAreas().getAreasControlledByPlayer(player);
+
+		while (player.getNoOfReinforcements() > 0) {
+			handler.reinforce(player, pick(areas), this.randomSource.nextInt(player.getNoOfReinforcements()) + 1);
+		}
+	}
+
+	@Override
+	public void attack(GameHandler handler, Player player) throws GameException {
+		while (player.getPhase() == Phase.ATTACK && this.randomSource.nextInt(STOP_ATTACKING_ODDS) != 0) {
+			long move = pickMove(handler, player, Move.ATTACK);
+			if (move == NO_MOVE) {
+				return;
+			}
+
+			Area source = handler.getAreas().getByIndex(Move.getSource(move));
+			int stopWhenAttackerBelow = this.randomSource.nextInt(source.getArmies()) + 1;
+			BattleSummary summary = handler.attackUntil(player, source, handler.getAreas().getByIndex(Move.getTarget(move)), stopWhenAttackerBelow,
+					DefenseDicePolicy.MAXIMUM);
+
+			// defeating another player may require trading cards before moving further armies
+			if (summary.hasConqueredArea() && player.getPhase() == Phase.ATTACK && summary.getMovableArmies() > 0) {
+				handler.moveArmiesAfterConquest(player, summary.getLastRound(), this.randomSource.nextInt(summary.getMovableArmies() + 1));
+			}
+		}
+	}
+
+	@Override
+	public void fortify(GameHandler handler, Player player) throws GameException {
+		if (this.randomSource.nextInt(FORTIFICATION_ODDS) != 0) {
+			return;
+		}
+
+		long move = pickMove(handler, player, Move.FORTIFY);
+		if (move != NO_MOVE) {
+			handler.fortify(player, handler.getAreas().getByIndex(Move.getSource(move)), handler.getAreas().getByIndex(Move.getTarget(move)),
+					this.randomSource.nextInt(Move.getAmount(move)) + 1);
+		}
+	}
+
+	/**
+	 * picks one of the legal moves of a type uniformly
+	 * 
+	 * @return the picked move, {@link #NO_MOVE} if there is no legal move of
+	 *         that type
+	 */
+	private long pickMove(GameHandler handler, Player player, int type) {
+		if (this.moveGenerator == null) {
+			this.moveGenerator = new MoveGenerator(handler);
+		}
+		this.moveGenerator.generate(player, this.moves);
+
+		int candidates = this.moves.count(type);
+		if (candidates == 0) {
+			return NO_MOVE;
+		}
+
+		int candidate = this.randomSource.nextInt(candidates);
+		for (int i = 0; i < this.moves.size(); i++) {
+			if (Move.getType(this.moves.get(i)) == type && candidate-- == 0) {
+				return this.moves.get(i);
+			}
+		}
+
+		return NO_MOVE;
+	}
+
+	private <T> T pick(List<T> values) {
+		return values.get(this.randomSource.nextInt(values.size()));
+	}
+}
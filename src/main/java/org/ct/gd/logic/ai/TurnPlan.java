@@ -0,0 +1,316 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.handler.MoveList;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardState;
+
+/**
+ * a complete turn of a player as computed by the {@link TurnPlanner}: the card
+ * trades, the placement of the reinforcements, an ordered list of attacks
+ * with their stop conditions and the armies left behind after a conquest, and
+ * one fortification. <br>
+ * The attacks are conditional: an attack whose source is lost, whose target
+ * is already controlled by the player or whose source has fallen below the
+ * stop condition is skipped, so a plan stays executable whatever the dice
+ * roll. The plan keeps track of how far it has been executed, the attacks
+ * resume after the cards of a defeated player were traded.
+ *
+ * @author ct
+ *
+ */
+public class TurnPlan {
+
+	private static final int MAXIMUM_CARDS_IN_HAND = 5;
+
+	private final List<List<Card>> trades;
+	private final MoveList reinforcements;
+	private final MoveList attacks;
+	private final int[] stopWhenAttackerBelow;
+	private final int[] armiesLeftBehind;
+	private final long fortification;
+	private final DefenseDicePolicy defenseDicePolicy;
+
+	private double value;
+
+	/**
+	 * the execution of the plan: the next attack to fight and whether the
+	 * planned reinforcements are placed
+	 */
+	private int nextAttack;
+	private boolean reinforced;
+
+	/**
+	 * @param trades
+	 *            the card trades at the beginning of the turn
+	 * @param reinforcements
+	 *            {@link Move#REINFORCE} moves
+	 * @param attacks
+	 *            {@link Move#ATTACK} moves, in order
+	 * @param stopWhenAttackerBelow
+	 *            per attack: the battle ends as soon as the source has fewer
+	 *            armies
+	 * @param armiesLeftBehind
+	 *            per attack: the armies that stay on the source after a
+	 *            conquest
+	 * @param fortification
+	 *            a {@link Move#FORTIFY} move, 0 for none
+	 */
+	TurnPlan(List<List<Card>> trades, MoveList reinforcements, MoveList attacks, int[] stopWhenAttackerBelow, int[] armiesLeftBehind,
+			long fortification, DefenseDicePolicy defenseDicePolicy) {
+		this.trades = trades;
+		this.reinforcements = reinforcements;
+		this.attacks = attacks;
+		this.stopWhenAttackerBelow = stopWhenAttackerBelow;
+		this.armiesLeftBehind = armiesLeftBehind;
+		this.fortification = fortification;
+		this.defenseDicePolicy = defenseDicePolicy;
+	}
+
+	public List<List<Card>> getTrades() {
+		return Collections.unmodifiableList(trades);
+	}
+
+	public int getNumberOfReinforcements() {
+		return reinforcements.size();
+	}
+
+	/**
+	 * @return the {@link Move#REINFORCE} move at the given position
+	 */
+	public long getReinforcement(int index) {
+		return reinforcements.get(index);
+	}
+
+	public int getNumberOfAttacks() {
+		return attacks.size();
+	}
+
+	/**
+	 * @return the {@link Move#ATTACK} move at the given position
+	 */
+	public long getAttack(int index) {
+		return attacks.get(index);
+	}
+
+	public int getStopWhenAttackerBelow(int index) {
+		return stopWhenAttackerBelow[index];
+	}
+
+	public int getArmiesLeftBehind(int index) {
+		return armiesLeftBehind[index];
+	}
+
+	/**
+	 * @return the {@link Move#FORTIFY} move, 0 if the plan doesn't fortify
+	 */
+	public long getFortification() {
+		return fortification;
+	}
+
+	/**
+	 * @return the mean evaluation of the plan by the planner
+	 */
+	public double getValue() {
+		return value;
+	}
+
+	void setValue(double value) {
+		this.value = value;
+	}
+
+	/**
+	 * forgets how far the plan has been executed
+	 */
+	void reset() {
+		this.nextAttack = 0;
+		this.reinforced = false;
+	}
+
+	/**
+	 * plays the whole rest of the turn, from the trading phase up to passing
+	 * the turn to the next player. Like every client the plan adds drawn cards
+	 * to and removes traded cards from the hand of the player
+	 *
+	 * @throws GameException
+	 *             if the game refuses a move, e.g. if the player isn't in turn
+	 */
+	public void execute(GameHandler handler, Player player) throws GameException {
+		if (player.getPhase() == Phase.TRADE_CARDS) {
+			trade(handler, player, this.trades);
+			handler.confirmEndOfPhase(player);
+		}
+		if (player.getPhase() == Phase.REINFORCEMENT) {
+			executeReinforcements(handler, player);
+			handler.confirmEndOfPhase(player);
+		}
+
+		while (player.getPhase() == Phase.ATTACK && handler.getGameStatus() != GameStatus.GAME_OVER) {
+			executeAttacks(handler, player);
+
+			if (player.getPhase() == Phase.TRADE_CARDS_AFTER_DEFEAT) {
+				trade(handler, player, CardTrades.findAllTrades(player.getCards()));
+				handler.confirmEndOfPhase(player);
+				executeReinforcements(handler, player);
+				handler.confirmEndOfPhase(player);
+			} else if (player.getPhase() == Phase.ATTACK && handler.getGameStatus() != GameStatus.GAME_OVER) {
+				handler.confirmEndOfPhase(player);
+			}
+		}
+		if (handler.getGameStatus() == GameStatus.GAME_OVER) {
+			return;
+		}
+
+		if (player.getPhase() == Phase.DRAW_CARD) {
+			if (handler.getNumberOfAvailableCards() > 0) {
+				player.getCards().add(handler.drawCard(player));
+			} else {
+				handler.confirmEndOfPhase(player);
+			}
+		}
+		if (player.getPhase() == Phase.FORTIFICATION) {
+			executeFortification(handler, player);
+			handler.confirmEndOfPhase(player);
+		}
+	}
+
+	/**
+	 * places the planned reinforcements. Armies exceeding the plan (or all
+	 * armies, once the plan has been placed) go to the source of the next
+	 * attack, or to any area of the player if no attack is left
+	 */
+	public void executeReinforcements(GameHandler handler, Player player) throws GameException {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		int owner = state.getOwnerSlot(player);
+
+		if (!this.reinforced) {
+			this.reinforced = true;
+			for (int i = 0; i < this.reinforcements.size() && player.getNoOfReinforcements() > 0; i++) {
+				long move = this.reinforcements.get(i);
+				if (state.getOwner(Move.getSource(move)) == owner) {
+					handler.reinforce(player, areas.getByIndex(Move.getSource(move)), Math.min(Move.getAmount(move), player.getNoOfReinforcements()));
+				}
+			}
+		}
+		if (player.getNoOfReinforcements() == 0 || owner == BoardState.NO_OWNER) {
+			return;
+		}
+
+		int area = -1;
+		for (int i = this.nextAttack; i < this.attacks.size() && area < 0; i++) {
+			int source = Move.getSource(this.attacks.get(i));
+			if (state.getOwner(source) == owner && state.getOwner(Move.getTarget(this.attacks.get(i))) != owner) {
+				area = source;
+			}
+		}
+		for (int i = 0; i < state.getBoardGraph().getNumberOfAreas() && area < 0; i++) {
+			if (state.getOwner(i) == owner) {
+				area = i;
+			}
+		}
+		if (area >= 0) {
+			handler.reinforce(player, areas.getByIndex(area), player.getNoOfReinforcements());
+		}
+	}
+
+	/**
+	 * fights the remaining planned attacks in order. Returns early if the
+	 * player has to trade the cards of a defeated player first or the game is
+	 * over, the next call resumes with the following attack
+	 */
+	public void executeAttacks(GameHandler handler, Player player) throws GameException {
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		int owner = state.getOwnerSlot(player);
+
+		while (this.nextAttack < this.attacks.size() && player.getPhase() == Phase.ATTACK && handler.getGameStatus() != GameStatus.GAME_OVER) {
+			int index = this.nextAttack++;
+			int source = Move.getSource(this.attacks.get(index));
+			int target = Move.getTarget(this.attacks.get(index));
+			int stop = this.stopWhenAttackerBelow[index];
+
+			if (owner == BoardState.NO_OWNER || state.getOwner(source) != owner || state.getOwner(target) == owner
+					|| state.getArmies(source) < Math.max(2, stop)) {
+				continue;
+			}
+
+			BattleSummary summary = handler.attackUntil(player, areas.getByIndex(source), areas.getByIndex(target), stop, this.defenseDicePolicy);
+			if (summary.hasConqueredArea() && player.getPhase() == Phase.ATTACK && summary.getMovableArmies() > 0) {
+				int armies = Math.min(summary.getMovableArmies(), state.getArmies(source) - this.armiesLeftBehind[index]);
+				if (armies > 0) {
+					handler.moveArmiesAfterConquest(player, summary.getLastRound(), armies);
+				}
+			}
+		}
+	}
+
+	/**
+	 * moves the planned armies if the fortification is still legal, at most
+	 * all armies but one of the source
+	 */
+	public void executeFortification(GameHandler handler, Player player) throws GameException {
+		if (this.fortification == 0) {
+			return;
+		}
+
+		AreaList areas = handler.getAreas();
+		BoardState state = areas.getBoardState();
+		int owner = state.getOwnerSlot(player);
+		int source = Move.getSource(this.fortification);
+		int destination = Move.getTarget(this.fortification);
+		int armies = Math.min(Move.getAmount(this.fortification), state.getArmies(source) - 1);
+
+		if (owner != BoardState.NO_OWNER && armies > 0 && state.getOwner(source) == owner && state.getOwner(destination) == owner
+				&& areas.getAreaConnectivity().isConnected(source, destination)) {
+			handler.fortify(player, areas.getByIndex(source), areas.getByIndex(destination), armies);
+		}
+	}
+
+	/**
+	 * trades the given cards and any combination if the hand is still too
+	 * large afterwards
+	 */
+	private static void trade(GameHandler handler, Player player, List<List<Card>> trades) throws GameException {
+		if (!trades.isEmpty() && player.getCards().containsAll(flatten(trades))) {
+			handler.tradeCards(player, trades);
+			removeFromHand(player, trades);
+		}
+		if (player.getCards().size() > MAXIMUM_CARDS_IN_HAND) {
+			List<List<Card>> forcedTrades = CardTrades.findAllTrades(player.getCards());
+			if (!forcedTrades.isEmpty()) {
+				handler.tradeCards(player, forcedTrades);
+				removeFromHand(player, forcedTrades);
+			}
+		}
+	}
+
+	private static List<Card> flatten(List<List<Card>> trades) {
+		List<Card> cards = new ArrayList<>();
+		for (List<Card> trade : trades) {
+			cards.addAll(trade);
+		}
+
+		return cards;
+	}
+
+	private static void removeFromHand(Player player, List<List<Card>> trades) {
+		for (List<Card> trade : trades) {
+			for (Card card : trade) {
+				player.getCards().remove(card);
+			}
+		}
+	}
+}
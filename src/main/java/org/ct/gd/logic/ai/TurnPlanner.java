@@ -0,0 +1,437 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.handler.GameJournal;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.handler.MoveList;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+import org.ct.gd.logic.util.FrontierTracker;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+/**
+ * plans the whole turn of an AI player at its beginning: card trades,
+ * reinforcements, an ordered list of attacks and a fortification. <br>
+ * A set of candidate plans is built greedily from a grid of strategies (the
+ * conquest probability required for an attack, the share of the
+ * reinforcements given to the attack and the area the attacks start from).
+ * The candidates are then evaluated by playing them on a copy of the game
+ * with its own dice, each round adds samples to every candidate and the
+ * journal of the copy takes back each sample. The planner is anytime: it
+ * stops at the deadline (or after {@link #MAXIMUM_ROUNDS}) and returns the
+ * candidate with the best mean evaluation so far, the greedy default plan is
+ * returned if not even one sample fits into the budget.
+ *
+ * @author ct
+ *
+ */
+public class TurnPlanner {
+
+	/**
+	 * the grid of strategies the candidate plans are built from
+	 */
+	private static final double[] CONQUEST_THRESHOLDS = { 0.6, 0.5, 0.7, 0.8 };
+	private static final int[] ATTACKING_SHARES_PERCENT = { 50, 0, 100 };
+	private static final int FOCUS_CANDIDATES = 3;
+
+	private static final int SAMPLES_PER_ROUND = 2;
+	private static final int MAXIMUM_ROUNDS = 16;
+
+	private static final double WIN_VALUE = 10000;
+	private static final double INCOME_WEIGHT = 3;
+	private static final double ARMY_WEIGHT = 0.2;
+	private static final double EXPOSURE_WEIGHT = 0.1;
+
+	private static final int MINIMUM_REINFORCEMENTS_PER_TURN = 3;
+	private static final int REINFORCEMENT_DETERMINATION_FACTOR = 3;
+
+	private static final int NO_AREA = -1;
+
+	private final BattleOdds odds;
+	private final RandomSource randomSource;
+
+	/**
+	 * the conquest probability of the last target found by
+	 * {@link #findBestTarget}
+	 */
+	private double bestProbability;
+
+	/**
+	 * @param odds
+	 *            the odds to build the attacks on
+	 * @param randomSource
+	 *            the source seeding the dice of the evaluations
+	 */
+	public TurnPlanner(BattleOdds odds, RandomSource randomSource) {
+		this.odds = odds;
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * plans the turn of a player, the game itself is left untouched
+	 *
+	 * @param handler
+	 *            the game
+	 * @param player
+	 *            an AI player in turn, trading cards or reinforcing
+	 * @param budgetMillis
+	 *            the wall clock time of the planning
+	 * @return the best plan found within the budget
+	 */
+	public TurnPlan plan(GameHandlerImpl handler, Player player, long budgetMillis) {
+		if (player == null || !player.isAiPlayer()) {
+			throw new IllegalArgumentException("Only the turns of AI players are planned");
+		}
+		if (budgetMillis <= 0) {
+			throw new IllegalArgumentException("The budget has to be positive");
+		}
+		if (!player.isTurn() || (player.getPhase() != Phase.TRADE_CARDS && player.getPhase() != Phase.REINFORCEMENT)) {
+			throw new IllegalStateException("A turn can only be planned before the reinforcements are placed");
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+
+		GameHandlerImpl game = handler.copy(new XoshiroRandomSource(this.randomSource.nextLong()));
+		Player plannedPlayer = game.getPlayers().get(handler.getPlayers().indexOf(player));
+
+		// the trades are played on the copy to learn the number of reinforcements, the cards are shared by both games
+		List<List<Card>> trades = Collections.emptyList();
+		try {
+			if (plannedPlayer.getPhase() == Phase.TRADE_CARDS) {
+				if (plannedPlayer.getCards().size() >= 3) {
+					trades = CardTrades.findAllTrades(plannedPlayer.getCards());
+				}
+				if (!trades.isEmpty()) {
+					game.tradeCards(plannedPlayer, trades);
+					for (List<Card> trade : trades) {
+						for (Card card : trade) {
+							plannedPlayer.getCards().remove(card);
+						}
+					}
+				}
+				game.confirmEndOfPhase(plannedPlayer);
+			}
+		} catch (GameException e) {
+			throw new IllegalStateException("The turn can't be planned", e);
+		}
+
+		List<TurnPlan> candidates = buildCandidates(game, plannedPlayer, trades);
+		double[] values = new double[candidates.size()];
+		int[] samples = new int[candidates.size()];
+
+		GameJournal journal = game.enableJournal();
+		int start = journal.getPosition();
+		rounds: for (int round = 0; round < MAXIMUM_ROUNDS; round++) {
+			for (int i = 0; i < candidates.size(); i++) {
+				if (System.nanoTime() >= deadline) {
+					break rounds;
+				}
+				for (int sample = 0; sample < SAMPLES_PER_ROUND; sample++) {
+					values[i] += simulate(game, plannedPlayer, candidates.get(i), journal, start);
+					samples[i]++;
+				}
+			}
+		}
+
+		int best = 0;
+		for (int i = 1; i < candidates.size(); i++) {
+			if (samples[i] > 0 && (samples[best] == 0 || values[i] / samples[i] > values[best] / samples[best])) {
+				best = i;
+			}
+		}
+
+		TurnPlan plan = candidates.get(best);
+		plan.reset();
+		plan.setValue(samples[best] == 0 ? 0 : values[best] / samples[best]);
+
+		return plan;
+	}
+
+	/**
+	 * builds one plan per strategy of the grid, the greedy default strategy
+	 * first. Strategies focussing on an area the player doesn't have are left
+	 * out
+	 */
+	private List<TurnPlan> buildCandidates(GameHandlerImpl game, Player player, List<List<Card>> trades) {
+		BoardState state = game.getAreas().getBoardState();
+		int owner = state.getOwnerSlot(player);
+		List<TurnPlan> candidates = new ArrayList<>();
+
+		for (int focus = 0; focus < FOCUS_CANDIDATES; focus++) {
+			for (int share : ATTACKING_SHARES_PERCENT) {
+				int attackingArmies = player.getNoOfReinforcements() * share / 100;
+				int source = findFocus(state, owner, attackingArmies, focus);
+				if (source == NO_AREA) {
+					continue;
+				}
+				for (double threshold : CONQUEST_THRESHOLDS) {
+					candidates.add(buildPlan(game, player, trades, source, attackingArmies, threshold));
+				}
+			}
+		}
+		if (candidates.isEmpty()) {
+			candidates.add(buildPlan(game, player, trades, NO_AREA, 0, CONQUEST_THRESHOLDS[0]));
+		}
+
+		return candidates;
+	}
+
+	/**
+	 * @param rank
+	 *            0 for the best source, 1 for the second best and so on
+	 * @return the border area of the player with the given rank by the
+	 *         conquest probability of its best attack, {@link #NO_AREA} if the
+	 *         player has fewer border areas
+	 */
+	private int findFocus(BoardState state, int owner, int additionalArmies, int rank) {
+		BoardGraph graph = state.getBoardGraph();
+		FrontierTracker frontier = state.getFrontierTracker();
+		if (owner == BoardState.NO_OWNER) {
+			return NO_AREA;
+		}
+
+		double[] probabilities = new double[graph.getNumberOfAreas()];
+		for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+			probabilities[area] = -1;
+			if (state.getOwner(area) == owner && frontier.isBorder(area)) {
+				findBestTarget(state, owner, area, state.getArmies(area) + additionalArmies, null);
+				probabilities[area] = Math.max(0, this.bestProbability);
+			}
+		}
+
+		// the better sources are taken out one after the other
+		int focus = NO_AREA;
+		for (int i = 0; i <= rank; i++) {
+			focus = NO_AREA;
+			for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+				if (probabilities[area] >= 0 && (focus == NO_AREA || probabilities[area] > probabilities[focus])) {
+					focus = area;
+				}
+			}
+			if (focus == NO_AREA) {
+				return NO_AREA;
+			}
+			probabilities[focus] = -1;
+		}
+
+		return focus;
+	}
+
+	/**
+	 * @param attackingArmies
+	 *            the armies on the source
+	 * @param targeted
+	 *            the areas already attacked by the plan, these are left out,
+	 *            may be null
+	 * @return the enemy neighbour of the source with the highest conquest
+	 *         probability, {@link #NO_AREA} if there is none
+	 */
+	private int findBestTarget(BoardState state, int owner, int source, int attackingArmies, boolean[] targeted) {
+		BoardGraph graph = state.getBoardGraph();
+		int bestTarget = NO_AREA;
+		this.bestProbability = -1;
+
+		for (int n = 0; n < graph.getNumberOfNeighbours(source); n++) {
+			int neighbour = graph.getNeighbour(source, n);
+			int neighbourOwner = state.getOwner(neighbour);
+			if (neighbourOwner == owner || neighbourOwner == BoardState.NO_OWNER || (targeted != null && targeted[neighbour])) {
+				continue;
+			}
+
+			double probability = attackingArmies > 1 ? this.odds.getConquestProbability(attackingArmies, state.getArmies(neighbour)) : 0;
+			if (probability > this.bestProbability) {
+				this.bestProbability = probability;
+				bestTarget = neighbour;
+			}
+		}
+
+		return bestTarget;
+	}
+
+	/**
+	 * builds a plan greedily: the attacking share of the reinforcements goes to
+	 * the focus, the rest one by one to the border area with the highest
+	 * border security ratio. The attacks sweep from the focus through the
+	 * enemy areas as long as the expected surviving armies reach the
+	 * threshold, then every other border area attacks its best target once.
+	 * Finally the largest stack of the hinterland moves to the most
+	 * endangered connected border area
+	 */
+	private TurnPlan buildPlan(GameHandlerImpl game, Player player, List<List<Card>> trades, int focus, int attackingArmies, double threshold) {
+		BoardState state = game.getAreas().getBoardState();
+		BoardGraph graph = state.getBoardGraph();
+		FrontierTracker frontier = state.getFrontierTracker();
+		int owner = state.getOwnerSlot(player);
+		int numberOfAreas = graph.getNumberOfAreas();
+
+		int[] placed = new int[numberOfAreas];
+		int armies = player.getNoOfReinforcements();
+		if (focus != NO_AREA) {
+			placed[focus] += attackingArmies;
+			armies -= attackingArmies;
+		}
+		for (; armies > 0; armies--) {
+			int area = BorderAreas.findMostEndangeredArea(state, owner, placed, null, NO_AREA);
+			if (area == NO_AREA) {
+				area = focus != NO_AREA ? focus : BorderAreas.findFirstArea(state, owner);
+				if (area == NO_AREA) {
+					break;
+				}
+			}
+			placed[area]++;
+		}
+
+		MoveList reinforcements = new MoveList();
+		for (int area = 0; area < numberOfAreas; area++) {
+			if (placed[area] > 0) {
+				reinforcements.add(Move.of(Move.REINFORCE, area, Move.NO_AREA, placed[area]));
+			}
+		}
+
+		MoveList attacks = new MoveList();
+		int[] stops = new int[numberOfAreas];
+		int[] leaves = new int[numberOfAreas];
+		boolean[] targeted = new boolean[numberOfAreas];
+		boolean[] attacking = new boolean[numberOfAreas];
+
+		// the sweep from the focus, each conquered area attacks the next one
+		int source = focus;
+		int sourceArmies = focus == NO_AREA ? 0 : state.getArmies(focus) + placed[focus];
+		while (source != NO_AREA && attacks.size() < numberOfAreas) {
+			int target = findBestTarget(state, owner, source, sourceArmies, targeted);
+			if (target == NO_AREA || this.bestProbability < threshold) {
+				break;
+			}
+
+			// armies stay behind to cover the remaining threat of the source
+			int remainingThreat = targeted[source] ? 0 : Math.max(0, frontier.getThreat(source) - state.getArmies(target));
+			int leave = Math.max(1, Math.min(sourceArmies - 2, remainingThreat / 2));
+			addAttack(attacks, stops, leaves, source, target, leave);
+			targeted[target] = true;
+			attacking[source] = true;
+
+			int surviving = (int) this.odds.getExpectedAttackingArmies(sourceArmies, state.getArmies(target));
+			source = target;
+			sourceArmies = surviving - leave;
+		}
+
+		// every other border area attacks its best target once
+		for (int area = 0; area < numberOfAreas && attacks.size() < numberOfAreas; area++) {
+			if (state.getOwner(area) != owner || owner == BoardState.NO_OWNER || attacking[area] || !frontier.isBorder(area)) {
+				continue;
+			}
+			int areaArmies = state.getArmies(area) + placed[area];
+			int target = findBestTarget(state, owner, area, areaArmies, targeted);
+			if (target != NO_AREA && this.bestProbability >= threshold) {
+				int remainingThreat = Math.max(0, frontier.getThreat(area) - state.getArmies(target));
+				int leave = Math.max(1, Math.min(areaArmies - 2, remainingThreat / 2));
+				addAttack(attacks, stops, leaves, area, target, leave);
+				targeted[target] = true;
+				attacking[area] = true;
+			}
+		}
+
+		// the fortification is planned on the current board, it is checked again before it is executed
+		long fortification = 0;
+		int fortificationSource = NO_AREA;
+		for (int area = 0; area < numberOfAreas; area++) {
+			if (owner != BoardState.NO_OWNER && state.getOwner(area) == owner && !frontier.isBorder(area) && !attacking[area]
+					&& state.getArmies(area) + placed[area] > 1
+					&& (fortificationSource == NO_AREA || state.getArmies(area) + placed[area] > state.getArmies(fortificationSource) + placed[fortificationSource])) {
+				fortificationSource = area;
+			}
+		}
+		if (fortificationSource != NO_AREA) {
+			int destination = BorderAreas.findMostEndangeredArea(state, owner, placed, game.getAreas().getAreaConnectivity(), fortificationSource);
+			if (destination != NO_AREA) {
+				fortification = Move.of(Move.FORTIFY, fortificationSource, destination, state.getArmies(fortificationSource) + placed[fortificationSource] - 1);
+			}
+		}
+
+		int[] stopWhenAttackerBelow = new int[attacks.size()];
+		int[] armiesLeftBehind = new int[attacks.size()];
+		System.arraycopy(stops, 0, stopWhenAttackerBelow, 0, attacks.size());
+		System.arraycopy(leaves, 0, armiesLeftBehind, 0, attacks.size());
+
+		return new TurnPlan(trades, reinforcements, attacks, stopWhenAttackerBelow, armiesLeftBehind, fortification, this.odds.getDefenseDicePolicy());
+	}
+
+	/**
+	 * adds an attack with the most dice. The battle ends once the source is
+	 * down to the armies it has to leave behind after a conquest
+	 */
+	private static void addAttack(MoveList attacks, int[] stops, int[] leaves, int source, int target, int leave) {
+		stops[attacks.size()] = leave + 1;
+		leaves[attacks.size()] = leave;
+		attacks.add(Move.of(Move.ATTACK, source, target, DiceOutcomeTable.MAXIMUM_ATTACK_DICE));
+	}
+
+	/**
+	 * plays the reinforcements and attacks of a plan on the copy of the game,
+	 * evaluates the outcome and takes it back
+	 */
+	private double simulate(GameHandlerImpl game, Player player, TurnPlan plan, GameJournal journal, int start) {
+		plan.reset();
+		try {
+			plan.executeReinforcements(game, player);
+			game.confirmEndOfPhase(player);
+			plan.executeAttacks(game, player);
+		} catch (GameException e) {
+			// the outcome is evaluated as far as the plan got
+		}
+
+		double value = evaluate(game, player);
+		journal.undoTo(start);
+
+		return value;
+	}
+
+	/**
+	 * rates the board of a player after the attacks: the reinforcements of the
+	 * next turn, the areas and armies, less the armies of the enemies exceeding
+	 * the own armies at the borders
+	 */
+	private static double evaluate(GameHandlerImpl game, Player player) {
+		if (game.getGameStatus() == GameStatus.GAME_OVER) {
+			return player.equals(game.getWinner()) ? WIN_VALUE : 0;
+		}
+
+		BoardState state = game.getAreas().getBoardState();
+		FrontierTracker frontier = state.getFrontierTracker();
+		int owner = state.getOwnerSlot(player);
+		if (owner == BoardState.NO_OWNER) {
+			return 0;
+		}
+
+		int areas = 0;
+		int armies = 0;
+		int exposure = 0;
+		for (int area = 0; area < state.getBoardGraph().getNumberOfAreas(); area++) {
+			if (state.getOwner(area) == owner) {
+				areas++;
+				armies += state.getArmies(area);
+				exposure += Math.max(0, frontier.getThreat(area) - state.getArmies(area));
+			}
+		}
+		if (areas == 0) {
+			return 0;
+		}
+
+		int income = Math.max(MINIMUM_REINFORCEMENTS_PER_TURN, areas / REINFORCEMENT_DETERMINATION_FACTOR)
+				+ game.getRules().getContinentBonus(game.getAreas(), player);
+
+		return INCOME_WEIGHT * income + areas + ARMY_WEIGHT * armies - EXPOSURE_WEIGHT * exposure;
+	}
+}
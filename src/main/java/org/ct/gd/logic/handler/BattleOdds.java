@@ -0,0 +1,422 @@
+package org.ct.gd.logic.handler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.GameException.GameExceptionType;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+
+/**
+ * exact odds of a battle fought like {@link GameHandler#attackUntil}: the
+ * attacker rolls as many dice as allowed until the defending area is
+ * conquered or only one army is left in the attacking area. <br>
+ * The battle is a Markov chain over the pairs (attacking armies, defending
+ * armies), the transition probabilities of a round are taken from the
+ * {@link DiceOutcomeTable}. All values are computed by dynamic programming
+ * and memoized in primitive tables indexed by the army pair. The tables grow
+ * on demand up to {@link #MAXIMUM_CACHED_ARMIES} on both sides; readers never
+ * lock, a growing table is replaced as a whole. Larger battles are computed
+ * again on every call, row by row, and may have up to
+ * {@link #MAXIMUM_ARMIES} armies on each side. <br>
+ * Sweeps through several areas are evaluated by convolving the distributions
+ * of the armies left after each single battle, see {@link #getPathOdds}.
+ *
+ * @author ct
+ *
+ */
+public class BattleOdds {
+
+	private static final BattleOdds DEFAULT = new BattleOdds(DefenseDicePolicy.MAXIMUM);
+
+	private static final int INITIAL_ARMIES = 32;
+
+	/**
+	 * the largest number of armies on each side of a battle
+	 */
+	public static final int MAXIMUM_ARMIES = 10000;
+
+	/**
+	 * the bounds of the memoized values: battles with more armies and battles
+	 * beyond the number of cached distributions are computed again on every
+	 * call
+	 */
+	static final int MAXIMUM_CACHED_ARMIES = 256;
+	static final int MAXIMUM_CACHED_DISTRIBUTIONS = 4096;
+
+	/**
+	 * the values stored per army pair
+	 */
+	private static final int CONQUEST = 0;
+	private static final int ATTACKING_ARMIES = 1;
+	private static final int DEFENDING_ARMIES = 2;
+	private static final int VALUES = 3;
+
+	private final DefenseDicePolicy defenseDicePolicy;
+
+	private volatile Table table;
+
+	/**
+	 * per army pair (attacking armies in the upper, defending armies in the
+	 * lower half of the key) the probability of conquering with a given
+	 * number of attacking armies left. The odds are shared by the whole
+	 * process, so the cache is bounded by {@link #MAXIMUM_CACHED_ARMIES} and
+	 * {@link #MAXIMUM_CACHED_DISTRIBUTIONS}
+	 */
+	private final ConcurrentMap<Long, double[]> conquestDistributions = new ConcurrentHashMap<>();
+
+	/**
+	 * @param defenseDicePolicy
+	 *            the way the defender chooses the number of dice
+	 */
+	public BattleOdds(DefenseDicePolicy defenseDicePolicy) {
+		this.defenseDicePolicy = defenseDicePolicy;
+		this.table = new Table(defenseDicePolicy, INITIAL_ARMIES, INITIAL_ARMIES);
+	}
+
+	/**
+	 * @return the odds of battles with a defender using as many dice as
+	 *         allowed, shared by the whole process
+	 */
+	public static BattleOdds getDefault() {
+		return DEFAULT;
+	}
+
+	public DefenseDicePolicy getDefenseDicePolicy() {
+		return this.defenseDicePolicy;
+	}
+
+	/**
+	 * @param attackingArmies
+	 *            all armies in the attacking area (including the one that has
+	 *            to stay behind)
+	 * @param defendingArmies
+	 *            the armies in the defending area
+	 * @return the probability of conquering the defending area
+	 */
+	public double getConquestProbability(int attackingArmies, int defendingArmies) {
+		return get(attackingArmies, defendingArmies, CONQUEST);
+	}
+
+	/**
+	 * @param attackingArmies
+	 *            all armies in the attacking area (including the one that has
+	 *            to stay behind)
+	 * @param defendingArmies
+	 *            the armies in the defending area
+	 * @return the expected number of armies left of the attacker when the
+	 *         battle is over (in both areas, if the defending area was
+	 *         conquered)
+	 */
+	public double getExpectedAttackingArmies(int attackingArmies, int defendingArmies) {
+		return get(attackingArmies, defendingArmies, ATTACKING_ARMIES);
+	}
+
+	/**
+	 * @param attackingArmies
+	 *            all armies in the attacking area (including the one that has
+	 *            to stay behind)
+	 * @param defendingArmies
+	 *            the armies in the defending area
+	 * @return the expected number of armies left in the defending area when
+	 *         the battle is over
+	 */
+	public double getExpectedDefendingArmies(int attackingArmies, int defendingArmies) {
+		return get(attackingArmies, defendingArmies, DEFENDING_ARMIES);
+	}
+
+	/**
+	 * @param attackingArmies
+	 *            all armies in the attacking area (including the one that has
+	 *            to stay behind)
+	 * @param defendingArmies
+	 *            the armies in the defending area
+	 * @return a new array containing at position k the probability of
+	 *         conquering the defending area with k armies of the attacker left
+	 *         (in both areas). The values sum up to the conquest probability
+	 */
+	public double[] getConquestDistribution(int attackingArmies, int defendingArmies) {
+		return conquestDistribution(attackingArmies, defendingArmies).clone();
+	}
+
+	/**
+	 * computes the odds of conquering a chain of areas, one after the other,
+	 * starting from a single stack. After each conquest all armies but one
+	 * are moved into the conquered area, which then attacks the next area of
+	 * the path
+	 * 
+	 * @param attackingArmies
+	 *            all armies in the area the sweep starts from
+	 * @param defendingArmies
+	 *            the armies of each area of the path, in the order of attack
+	 * @return the odds of the whole sweep
+	 */
+	public PathOdds getPathOdds(int attackingArmies, int[] defendingArmies) {
+		verifyArmies(attackingArmies, 0);
+
+		// distribution of the armies in the area attacking next
+		double[] stack = new double[attackingArmies + 1];
+		stack[attackingArmies] = 1;
+
+		for (int defenders : defendingArmies) {
+			double[] nextStack = new double[stack.length];
+
+			for (int armies = 2; armies < stack.length; armies++) {
+				if (stack[armies] == 0) {
+					continue;
+				}
+
+				double[] conquest = conquestDistribution(armies, defenders);
+				for (int left = 2; left < conquest.length; left++) {
+					nextStack[left - 1] += stack[armies] * conquest[left];
+				}
+			}
+
+			stack = nextStack;
+		}
+
+		return new PathOdds(stack);
+	}
+
+	/**
+	 * computes the odds of conquering a chain of areas with the armies
+	 * currently on the board
+	 * 
+	 * @param areas
+	 *            the compiled areas of the game
+	 * @param source
+	 *            the area the sweep starts from
+	 * @param path
+	 *            the areas to conquer in the order of attack, each a neighbour
+	 *            of its predecessor
+	 * @return the odds of the whole sweep
+	 * @throws GameException
+	 *             if an area of the path is controlled by the attacker or not
+	 *             a neighbour of its predecessor
+	 */
+	public PathOdds getPathOdds(AreaList areas, Area source, List<Area> path) throws GameException {
+		if (source == null || path == null) {
+			throw new GameException("Either source or path are null", GameExceptionType.UNKNOW_ERROR);
+		}
+
+		Player attacker = source.getControllingPlayer();
+		int[] defendingArmies = new int[path.size()];
+		Area previous = source;
+
+		for (int i = 0; i < defendingArmies.length; i++) {
+			Area area = path.get(i);
+
+			if (area == null || (attacker != null && attacker.equals(area.getControllingPlayer()))) {
+				throw new GameException("Player controls this area - not attackable by himself", GameExceptionType.AREA_NOT_ATTACKABLE);
+			}
+			if (!areas.getBoardGraph().isNeighbour(previous.getIndex(), area.getIndex())) {
+				throw new GameException("The path from " + source.toString() + " is interrupted at " + area.toString(), GameExceptionType.ILLEGAL_PATH);
+			}
+
+			defendingArmies[i] = area.getArmies();
+			previous = area;
+		}
+
+		return getPathOdds(source.getArmies(), defendingArmies);
+	}
+
+	/**
+	 * propagates the probability mass of all army pairs of a single battle,
+	 * starting with certainty at the given pair
+	 */
+	private double[] conquestDistribution(int attackingArmies, int defendingArmies) {
+		verifyArmies(attackingArmies, defendingArmies);
+
+		Long key = ((long) attackingArmies << 32) | defendingArmies;
+		double[] conquest = this.conquestDistributions.get(key);
+		if (conquest != null) {
+			return conquest;
+		}
+
+		conquest = new double[attackingArmies + 1];
+		if (defendingArmies == 0) {
+			conquest[attackingArmies] = 1;
+		} else {
+			// the attacker loses at most as many armies per round as the
+			// defender rolls dice, so only the mass of the current attacking
+			// armies and the rows it flows to are kept
+			double[][] mass = new double[DiceOutcomeTable.MAXIMUM_DEFENSE_DICE + 1][defendingArmies + 1];
+			mass[attackingArmies % mass.length][defendingArmies] = 1;
+
+			// successors have less armies on at least one side, so they are
+			// visited after their predecessors
+			for (int a = attackingArmies; a >= 2; a--) {
+				double[] row = mass[a % mass.length];
+				for (int d = defendingArmies; d >= 1; d--) {
+					if (row[d] == 0) {
+						continue;
+					}
+
+					int attackDice = Math.min(DiceOutcomeTable.MAXIMUM_ATTACK_DICE, a - 1);
+					int defenseDice = this.defenseDicePolicy.getNumberOfDice(DiceOutcomeTable.MAXIMUM_DEFENSE_DICE, d);
+					int comparedDice = Math.min(attackDice, defenseDice);
+
+					for (int lostDefendingArmies = 0; lostDefendingArmies <= comparedDice; lostDefendingArmies++) {
+						mass[(a - (comparedDice - lostDefendingArmies)) % mass.length][d - lostDefendingArmies] += row[d]
+								* DiceOutcomeTable.getProbability(attackDice, defenseDice, lostDefendingArmies);
+					}
+				}
+
+				// the row is done and reused for three attacking armies less
+				conquest[a] = row[0];
+				Arrays.fill(row, 0);
+			}
+			conquest[1] = mass[1][0];
+		}
+
+		if (attackingArmies > MAXIMUM_CACHED_ARMIES || this.conquestDistributions.size() >= MAXIMUM_CACHED_DISTRIBUTIONS) {
+			return conquest;
+		}
+		double[] previous = this.conquestDistributions.putIfAbsent(key, conquest);
+
+		return previous != null ? previous : conquest;
+	}
+
+	/**
+	 * @return the number of conquest distributions in the cache
+	 */
+	int getNumberOfCachedDistributions() {
+		return this.conquestDistributions.size();
+	}
+
+	private double get(int attackingArmies, int defendingArmies, int value) {
+		verifyArmies(attackingArmies, defendingArmies);
+
+		if (attackingArmies > MAXIMUM_CACHED_ARMIES || defendingArmies > MAXIMUM_CACHED_ARMIES) {
+			return computeRow(attackingArmies, defendingArmies)[defendingArmies * VALUES + value];
+		}
+
+		Table table = this.table;
+		if (attackingArmies > table.maximumAttackingArmies || defendingArmies > table.maximumDefendingArmies) {
+			table = grow(attackingArmies, defendingArmies);
+		}
+
+		return table.rows[attackingArmies][defendingArmies * VALUES + value];
+	}
+
+	/**
+	 * computes the values of a battle too large for the table, keeping only
+	 * the rows of the attacking armies a round can lead to
+	 *
+	 * @return the values of all defending armies up to the given ones with
+	 *         the given attacking armies
+	 */
+	private double[] computeRow(int attackingArmies, int defendingArmies) {
+		// the attacker loses at most as many armies per round as the defender rolls dice
+		double[][] rows = new double[DiceOutcomeTable.MAXIMUM_DEFENSE_DICE + 1][(defendingArmies + 1) * VALUES];
+		for (int a = 1; a <= attackingArmies; a++) {
+			fillRow(this.defenseDicePolicy, a, defendingArmies, rows[a % rows.length], rows[(a + rows.length - 1) % rows.length],
+					rows[(a + rows.length - 2) % rows.length]);
+		}
+
+		return rows[attackingArmies % rows.length];
+	}
+
+	/**
+	 * computes the values of all pairs with the given attacking armies. Every
+	 * round removes at least one army, and the attacker loses at most two, so
+	 * the successors of a pair are in the same row (with less defending
+	 * armies, computed before) or one of the two rows before
+	 *
+	 * @param row
+	 *            the values of the given attacking armies, to be filled
+	 * @param previous
+	 *            the values of one attacking army less
+	 * @param beforePrevious
+	 *            the values of two attacking armies less
+	 */
+	private static void fillRow(DefenseDicePolicy defenseDicePolicy, int a, int maximumDefendingArmies, double[] row, double[] previous,
+			double[] beforePrevious) {
+		for (int d = 0; d <= maximumDefendingArmies; d++) {
+			int index = d * VALUES;
+
+			if (d == 0 || a == 1) {
+				row[index + CONQUEST] = d == 0 ? 1 : 0;
+				row[index + ATTACKING_ARMIES] = a;
+				row[index + DEFENDING_ARMIES] = d;
+				continue;
+			}
+
+			int attackDice = Math.min(DiceOutcomeTable.MAXIMUM_ATTACK_DICE, a - 1);
+			int defenseDice = defenseDicePolicy.getNumberOfDice(DiceOutcomeTable.MAXIMUM_DEFENSE_DICE, d);
+			int comparedDice = Math.min(attackDice, defenseDice);
+
+			row[index + CONQUEST] = 0;
+			row[index + ATTACKING_ARMIES] = 0;
+			row[index + DEFENDING_ARMIES] = 0;
+			for (int lostDefendingArmies = 0; lostDefendingArmies <= comparedDice; lostDefendingArmies++) {
+				double probability = DiceOutcomeTable.getProbability(attackDice, defenseDice, lostDefendingArmies);
+				int lostAttackingArmies = comparedDice - lostDefendingArmies;
+				double[] successorRow = lostAttackingArmies == 0 ? row : lostAttackingArmies == 1 ? previous : beforePrevious;
+				int successor = (d - lostDefendingArmies) * VALUES;
+
+				row[index + CONQUEST] += probability * successorRow[successor + CONQUEST];
+				row[index + ATTACKING_ARMIES] += probability * successorRow[successor + ATTACKING_ARMIES];
+				row[index + DEFENDING_ARMIES] += probability * successorRow[successor + DEFENDING_ARMIES];
+			}
+		}
+	}
+
+	/**
+	 * replaces the table by one large enough for the given armies. Tables at
+	 * least double in size (up to {@link #MAXIMUM_CACHED_ARMIES}) so that
+	 * growing stays rare
+	 */
+	private synchronized Table grow(int attackingArmies, int defendingArmies) {
+		Table table = this.table;
+
+		if (attackingArmies > table.maximumAttackingArmies || defendingArmies > table.maximumDefendingArmies) {
+			int maximumAttackingArmies = table.maximumAttackingArmies;
+			if (attackingArmies > maximumAttackingArmies) {
+				maximumAttackingArmies = Math.min(MAXIMUM_CACHED_ARMIES, Math.max(attackingArmies, 2 * maximumAttackingArmies));
+			}
+			int maximumDefendingArmies = table.maximumDefendingArmies;
+			if (defendingArmies > maximumDefendingArmies) {
+				maximumDefendingArmies = Math.min(MAXIMUM_CACHED_ARMIES, Math.max(defendingArmies, 2 * maximumDefendingArmies));
+			}
+
+			table = new Table(this.defenseDicePolicy, maximumAttackingArmies, maximumDefendingArmies);
+			this.table = table;
+		}
+
+		return table;
+	}
+
+	private static void verifyArmies(int attackingArmies, int defendingArmies) {
+		if (attackingArmies < 1 || defendingArmies < 0 || attackingArmies > MAXIMUM_ARMIES || defendingArmies > MAXIMUM_ARMIES) {
+			throw new IllegalArgumentException("Invalid armies: " + attackingArmies + " attacking, " + defendingArmies + " defending");
+		}
+	}
+
+	/**
+	 * the values of all army pairs up to a maximum, one row per number of
+	 * attacking armies, never changed once constructed
+	 */
+	private static final class Table {
+
+		private final int maximumAttackingArmies;
+		private final int maximumDefendingArmies;
+		private final double[][] rows;
+
+		private Table(DefenseDicePolicy defenseDicePolicy, int maximumAttackingArmies, int maximumDefendingArmies) {
+			this.maximumAttackingArmies = maximumAttackingArmies;
+			this.maximumDefendingArmies = maximumDefendingArmies;
+			this.rows = new double[maximumAttackingArmies + 1][(maximumDefendingArmies + 1) * VALUES];
+
+			for (int a = 1; a <= maximumAttackingArmies; a++) {
+				fillRow(defenseDicePolicy, a, maximumDefendingArmies, this.rows[a], this.rows[a - 1], this.rows[Math.max(0, a - 2)]);
+			}
+		}
+	}
+}
@@ -7,10 +7,13 @@ import org.ct.gd.logic.GameStatus;
 import org.ct.gd.logic.exception.GameException;
 import org.ct.gd.logic.model.Area;
 import org.ct.gd.logic.model.AttackResult;
+import org.ct.gd.logic.model.BattleSummary;
 import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.DefenseDicePolicy;
 import org.ct.gd.logic.model.DefenseResult;
 import org.ct.gd.logic.model.Player;
 import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.RulesTable;
 
 /**
  * provides basic methods for game turns
@@ -27,6 +30,11 @@ public interface GameHandler extends Serializable {
 	 */
 	public AreaList getAreas();
 
+	/**
+	 * @return the rules of the board the game is played on
+	 */
+	public RulesTable getRules();
+
 	/**
 	 * to know which players turn it is, this method returns the current player
 	 * 
@@ -49,6 +57,30 @@ public interface GameHandler extends Serializable {
 	public void placeInitialUnit(Player player, Area area)
 			throws GameException;
 
+	/**
+	 * submits all initial armies of a player in one batch instead of one
+	 * {@link #placeInitialUnit} call per army. The batch is validated as a
+	 * whole before anything is placed. The round-robin order of the initial
+	 * placement is kept: the player places the next army of the batch
+	 * whenever it is the players turn, so the submission may be made before
+	 * the players turn and the armies are placed as the other players place
+	 * theirs
+	 * 
+	 * @param player
+	 *            a player in the initial placement phase without submitted
+	 *            placement
+	 * @param areas
+	 *            the controlled areas to place the remaining initial armies
+	 *            to, one entry per army in order of placement
+	 * @throws GameException
+	 *             if it is not the players initial phase, the player has
+	 *             already submitted a placement, the number of entries doesn't
+	 *             match the remaining armies or an area isn't controlled by
+	 *             the player
+	 */
+	public void submitInitialPlacement(Player player, List<Area> areas)
+			throws GameException;
+
 	/**
 	 * at beginning of upkeep, player may decide to trade groups of three cards
 	 * for armies. if he has 5 cards, he has to trade cards. This method should
@@ -160,6 +192,34 @@ public interface GameHandler extends Serializable {
 	public DefenseResult defend(Player defender, AttackResult attack,
 			int numberOfDice) throws GameException;
 
+	/**
+	 * executes a whole battle from one area to another: attack rounds with as
+	 * many dice as possible are repeated until the defending area is
+	 * conquered or the attacking area has less armies than given. The same
+	 * validations as for a single attack apply, they are done once for the
+	 * whole battle.
+	 * 
+	 * @param player
+	 *            the player executing the attack
+	 * @param attackingArea
+	 *            the area from which the attacking player attacks
+	 * @param defendingArea
+	 *            the area the attacking player attacks
+	 * @param stopWhenAttackerBelow
+	 *            no further round is fought once the attacking area has less
+	 *            armies than this (the battle always stops at one army)
+	 * @param defenseDicePolicy
+	 *            the way the defender chooses the number of dice per round
+	 * @return the aggregated result of all rounds
+	 * @throws GameException
+	 *             if the player is not in his ATTACK phase or turn, if the
+	 *             attacking area has no army to attack with or if anything is
+	 *             wrong with the area assignment
+	 */
+	public BattleSummary attackUntil(Player player, Area attackingArea,
+			Area defendingArea, int stopWhenAttackerBelow,
+			DefenseDicePolicy defenseDicePolicy) throws GameException;
+
 	/**
 	 * after a successful attack with conquest of the attacked area, the
 	 * attacking player might move any army (but one) from the attacking area to
@@ -191,12 +251,17 @@ public interface GameHandler extends Serializable {
 	 *            the player being able to draw a card
 	 * @return a card out of the stack of available cards
 	 * @throws GameException
-	 *             if no card is available (should never happen) or the player
-	 *             may not draw any cards (no conquest this turn, already drew,
-	 *             etc.)
+	 *             if no card is available (the player confirms the end of
+	 *             the phase instead) or the player may not draw any cards (no
+	 *             conquest this turn, already drew, etc.)
 	 */
 	public Card drawCard(Player player) throws GameException;
 
+	/**
+	 * @return the number of cards left in the card deck
+	 */
+	public int getNumberOfAvailableCards();
+
 	/**
 	 * At the end of each turn, a player may move armies from one area (Source)
 	 * to another area (destination) that is either directly connected to the
@@ -219,7 +284,8 @@ public interface GameHandler extends Serializable {
 
 	/**
 	 * At the end of phase the player must confirm that his/her phase ended.
-	 * Only available in the ATTACK, FORTIFY, REINFORCE and CONFIRM phase
+	 * Only available in the ATTACK, FORTIFY, REINFORCE and CONFIRM phase, and
+	 * in the DRAW_CARD phase if no card is left to draw
 	 * 
 	 * @param player
 	 *            the player wanting to end the turn
@@ -1,22 +1,33 @@
 package org.ct.gd.logic.handler;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 
 import org.ct.gd.logic.GameStatus;
 import org.ct.gd.logic.exception.GameException;
 import org.ct.gd.logic.exception.GameException.GameExceptionType;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.MapCatalog;
 import org.ct.gd.logic.model.Area;
 import org.ct.gd.logic.model.AttackResult;
+import org.ct.gd.logic.model.BattleSummary;
 import org.ct.gd.logic.model.Card;
-import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.DefenseDicePolicy;
 import org.ct.gd.logic.model.DefenseResult;
 import org.ct.gd.logic.model.Phase;
 import org.ct.gd.logic.model.Player;
 import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.BulkDiceGenerator;
+import org.ct.gd.logic.util.Dice;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.RulesTable;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+import org.ct.gd.logic.util.ZobristKeys;
 
 /**
  * class providing all necessary game operations such as attack, defend, fortify, etc.
@@ -30,14 +41,6 @@ public class GameHandlerImpl implements GameHandler {
 	private static final int NO_OF_CARDS_TO_TRADE = 3;
 	private static final int MAX_CARDS_IN_HAND_BEFORE_TRADE = 5;
 
-	// Constants for continental reinforcements
-	private static final int REINFORCEMENTS_AUSTRALIA = 2;
-	private static final int REINFORCEMENTS_SOUTH_AMERICA = 2;
-	private static final int REINFORCEMENTS_AFRICA = 3;
-	private static final int REINFORCEMENTS_NORTH_AMERICA = 4;
-	private static final int REINFORCEMENTS_EUROPE = 5;
-	private static final int REINFORCEMENTS_ASIA = 7;
-
 	private static final int REINFORCEMENT_DETERMINATION_FACTOR = 3;
 	private static final int MINIMUM_REINFORCEMENTS_PER_TURN = 3;
 
@@ -48,9 +51,6 @@ public class GameHandlerImpl implements GameHandler {
 	private static final int MAXIMUM_ATTACK_DICE = 3;
 	private static final int MAXIMUM_DEFENSE_DICE = 2;
 	private static final int MINIMUM_ATTACK_OR_DEFENSE_DICE = 1;
-	
-	// constant for goals
-	private static final int CONTROLLED_AREAS_FOR_VICTORY = 24;
 
 	/**
 	 * The amount of armies returned for a trade increases every time cards are
@@ -88,6 +88,27 @@ public class GameHandlerImpl implements GameHandler {
 	 * all the players in the game
 	 */
 	private List<Player> players;
+
+	/**
+	 * continent bonuses and goals of the map compiled against the board
+	 */
+	private RulesTable rules;
+
+	/**
+	 * source of all dice rolls and drawn cards of this game
+	 */
+	private RandomSource randomSource;
+
+	/**
+	 * rolls all dice of this game, many per random value
+	 */
+	private BulkDiceGenerator diceGenerator;
+
+	/**
+	 * if true, attack and defense dice of a round are resolved with a single
+	 * draw from the precomputed outcome tables
+	 */
+	private boolean fastResolution = false;
 	
 	/**
 	 * the one and only winner of the game
@@ -99,6 +120,24 @@ public class GameHandlerImpl implements GameHandler {
 	 */
 	private GameStatus gameStatus = GameStatus.RUNNING;
 
+	/**
+	 * the initial placements submitted in one batch per player: the indices of
+	 * the areas in order of placement
+	 */
+	private final Map<Player, int[]> submittedPlacements = new HashMap<>();
+
+	/**
+	 * the initial armies all players still have to place, -1 until the first
+	 * placement
+	 */
+	private int remainingInitialArmies = -1;
+
+	/**
+	 * records all changes of this handler if enabled, see
+	 * {@link #enableJournal()}
+	 */
+	private transient GameJournal journal;
+
 	/**
 	 * basic enetry point after the game was started. providing all required information
 	 * 
@@ -112,6 +151,47 @@ public class GameHandlerImpl implements GameHandler {
 	 * 					a list of players participating in this game
 	 */
 	public GameHandlerImpl(List<Card> availableCards, AreaList allAreas, List<Player> players) {
+		this(availableCards, allAreas, players, null);
+	}
+
+	/**
+	 * basic enetry point after the game was started. providing all required information
+	 * 
+	 * @param availableCards
+	 * 					the card deck available with cards that are distributed to players 
+	 * 					after conquering areas
+	 * @param allAreas
+	 * 					a list of areas that can be occupied by players (and are preoccupied
+	 * 					by a random player)
+	 * @param players
+	 * 					a list of players participating in this game
+	 * @param rules
+	 * 					the rules compiled against the board of the given areas, if null
+	 * 					the rules of the default map are used
+	 */
+	public GameHandlerImpl(List<Card> availableCards, AreaList allAreas, List<Player> players, RulesTable rules) {
+		this(availableCards, allAreas, players, rules, null);
+	}
+
+	/**
+	 * basic enetry point after the game was started. providing all required information
+	 * 
+	 * @param availableCards
+	 * 					the card deck available with cards that are distributed to players 
+	 * 					after conquering areas
+	 * @param allAreas
+	 * 					a list of areas that can be occupied by players (and are preoccupied
+	 * 					by a random player)
+	 * @param players
+	 * 					a list of players participating in this game
+	 * @param rules
+	 * 					the rules compiled against the board of the given areas, if null
+	 * 					the rules of the default map are used
+	 * @param randomSource
+	 * 					the source of all dice rolls and drawn cards, if null a randomly
+	 * 					seeded source is used
+	 */
+	public GameHandlerImpl(List<Card> availableCards, AreaList allAreas, List<Player> players, RulesTable rules, RandomSource randomSource) {
 		if (availableCards == null) {
 			this.availableCards = new ArrayList<>();
 		} else {
@@ -120,6 +200,26 @@ public class GameHandlerImpl implements GameHandler {
 
 		this.allAreas = allAreas;
 		this.players = players;
+		this.randomSource = randomSource != null ? randomSource : new XoshiroRandomSource();
+		this.diceGenerator = new BulkDiceGenerator(this.randomSource);
+
+		// all area related look ups are done through the compiled board graph
+		if (this.allAreas != null && this.allAreas.getBoardGraph() == null) {
+			try {
+				this.allAreas.compileBoardGraph();
+			} catch (InvalidMappingException e) {
+				throw new IllegalArgumentException("The given areas don't form a valid board", e);
+			}
+		}
+
+		this.rules = rules;
+		if (this.rules == null && this.allAreas != null) {
+			try {
+				this.rules = MapCatalog.getDefault().getRules(this.allAreas.getBoardGraph());
+			} catch (InvalidMappingException e) {
+				throw new IllegalArgumentException("The rules of the default map can't be applied to the given areas", e);
+			}
+		}
 	}
 
 	@Override
@@ -135,6 +235,7 @@ public class GameHandlerImpl implements GameHandler {
 
 	@Override
 	public void placeInitialUnit(Player player, Area area) throws GameException {
+		beginCommand(GameJournal.Command.PLACE_INITIAL_UNIT);
 		verifyTurn(player);
 
 		if (player.getPhase() != Phase.INITIAL_PLACEMENT) {
@@ -145,27 +246,115 @@ public class GameHandlerImpl implements GameHandler {
 			throw new GameException("Player may not reinforce areas not under control", GameExceptionType.AREA_NOT_UNDER_CONTROL);
 		}
 
+		placeInitialUnit(player, area.getIndex());
+		placeSubmittedInitialUnits();
+	}
+
+	@Override
+	public void submitInitialPlacement(Player player, List<Area> areas) throws GameException {
+		beginCommand(GameJournal.Command.PLACE_INITIAL_UNIT);
+
+		if (player == null || !this.players.contains(player)) {
+			throw new GameException("No player of this game given - exiting", GameExceptionType.UNKNOW_ERROR);
+		}
+		if (player.getPhase() != Phase.INITIAL_PLACEMENT || this.submittedPlacements.containsKey(player)) {
+			throw new GameException("Not players initial placement phase or placement already submitted", GameExceptionType.WRONG_PHASE_FOR_ACTION);
+		}
+		if (areas == null || areas.size() != player.getNoOfReinforcements()) {
+			throw new GameException("The placement has to cover all " + player.getNoOfReinforcements() + " remaining armies",
+					GameExceptionType.ILLEGAL_NO_OF_ARMIES);
+		}
+
+		int[] placement = new int[areas.size()];
+		for (int i = 0; i < placement.length; i++) {
+			Area area = areas.get(i);
+			if (area == null || !player.equals(area.getControllingPlayer()) || this.allAreas.getByIndex(area.getIndex()) == null) {
+				throw new GameException("Player may not reinforce areas not under control", GameExceptionType.AREA_NOT_UNDER_CONTROL);
+			}
+			placement[i] = area.getIndex();
+		}
+
+		changeSubmittedPlacement(player, placement);
+		placeSubmittedInitialUnits();
+	}
+
+	/**
+	 * places one initial army of the player in turn and passes the turn on
+	 * 
+	 * @param area
+	 *            the area to place the army to, ignored if the player has no
+	 *            army left and only passes the turn
+	 */
+	private void placeInitialUnit(Player player, int area) {
+		int remainingInitialArmies = getRemainingInitialArmies();
 		if (player.getNoOfReinforcements() > 0) {
-			area.setArmies(area.getArmies() + 1);
-			player.setNoOfReinforcements(player.getNoOfReinforcements() - 1);
+			Area target = this.allAreas.getByIndex(area);
+			changeArmies(target, target.getArmies() + 1);
+			changeReinforcements(player, player.getNoOfReinforcements() - 1);
+			changeRemainingInitialArmies(--remainingInitialArmies);
 		}
 
 		// set next player - if there are no more armies to place, the next player may start the first turn
-		boolean moreArmiesToPlace = false;
-		for (Player p : this.players) {
-			if (p.getPhase() == Phase.INITIAL_PLACEMENT && p.getNoOfReinforcements() > 0) {
-				moreArmiesToPlace = true;
+		boolean moreArmiesToPlace = remainingInitialArmies > 0;
+		setNextPlayersTurn(!moreArmiesToPlace);
+		if (!moreArmiesToPlace) {
+			for (Player p : this.players) {
+				if (this.submittedPlacements.containsKey(p)) {
+					changeSubmittedPlacement(p, null);
+				}
 			}
 		}
-		
-		setNextPlayersTurn(!moreArmiesToPlace);
+	}
+
+	/**
+	 * @return the initial armies all players still have to place, counted
+	 *         once at the first placement and then kept up to date
+	 */
+	private int getRemainingInitialArmies() {
+		if (this.remainingInitialArmies < 0) {
+			int remainingInitialArmies = 0;
+			for (Player p : this.players) {
+				if (p.getPhase() == Phase.INITIAL_PLACEMENT) {
+					remainingInitialArmies += p.getNoOfReinforcements();
+				}
+			}
+			this.remainingInitialArmies = remainingInitialArmies;
+		}
+
+		return this.remainingInitialArmies;
+	}
+
+	/**
+	 * plays the round-robin of the initial placement for all players who
+	 * submitted their placement, until a player without submission is in turn
+	 * or the placement is over. The next army of a submission follows from the
+	 * remaining armies of its player
+	 */
+	private void placeSubmittedInitialUnits() {
+		Player player = getPlayerInTurn();
+		int seat = this.players.indexOf(player);
+		while (player != null && player.getPhase() == Phase.INITIAL_PLACEMENT && this.submittedPlacements.containsKey(player)) {
+			int[] placement = this.submittedPlacements.get(player);
+			int remaining = player.getNoOfReinforcements();
+			if (remaining > placement.length) {
+				throw new IllegalStateException("The submitted placement of " + player.getName() + " covers " + placement.length + " armies, but "
+						+ remaining + " are left");
+			}
+
+			// a player without armies left passes the turn
+			placeInitialUnit(player, remaining == 0 ? Move.NO_AREA : placement[placement.length - remaining]);
+
+			seat = (seat + 1) % this.players.size();
+			player = this.players.get(seat);
+		}
 	}
 
 	@Override
 	public int tradeCards(Player player, List<List<Card>> cards) throws GameException {
+		beginCommand(GameJournal.Command.TRADE_CARDS);
 		verifyTurn(player);
 
-		if (player.getPhase() != Phase.TRADE_CARDS) {
+		if (player.getPhase() != Phase.TRADE_CARDS && player.getPhase() != Phase.TRADE_CARDS_AFTER_DEFEAT) {
 			throw new GameException("Not players trading phase", GameExceptionType.WRONG_PHASE_FOR_ACTION);
 		}
 
@@ -175,6 +364,7 @@ public class GameHandlerImpl implements GameHandler {
 		}
 
 		int retVal = 0;
+		int armiesReturned = this.armiesReturned;
 
 		// check each card list
 		for (List<Card> cardList : cards) {
@@ -183,7 +373,7 @@ public class GameHandlerImpl implements GameHandler {
 				throw new GameException("Cards provided don't match the required number of cards for trading", GameExceptionType.ILLEGAL_CARD_COMBINATION);
 			}
 
-			if (!verifyCardCombination(cardList)) {
+			if (!isValidCardCombination(cardList)) {
 				throw new GameException("The given card combination is invalid", GameExceptionType.ILLEGAL_CARD_COMBINATION);
 			}
 		}
@@ -191,7 +381,9 @@ public class GameHandlerImpl implements GameHandler {
 		// second iterator in case no exception occured
 		for (List<Card> cardList : cards) {
 			// restock deck
-			this.availableCards.addAll(cardList);
+			for (Card card : cardList) {
+				addCard(this.availableCards, card);
+			}
 			retVal += armiesReturned;
 
 			// assign return value and increase armiesReturned value
@@ -213,18 +405,30 @@ public class GameHandlerImpl implements GameHandler {
 			}
 		}
 		
-		player.setNoOfReinforcements(retVal);
+		changeArmiesReturned(armiesReturned);
+		changeReinforcements(player, player.getNoOfReinforcements() + retVal);
 
 		return retVal;
 	}
 
 	public int getAvailableReinforcements(Player player) throws GameException {
+		beginCommand(GameJournal.Command.GRANT_REINFORCEMENTS);
 		verifyTurn(player);
 
 		if (player.getPhase() != Phase.REINFORCEMENT) {
 			throw new GameException("Not players reinforcement phase", GameExceptionType.WRONG_PHASE_FOR_ACTION);
 		}
 
+		return grantReinforcements(player);
+	}
+
+	/**
+	 * adds the reinforcements for controlled areas and continents to the
+	 * reinforcements of a player
+	 * 
+	 * @return the number of granted armies
+	 */
+	private int grantReinforcements(Player player) {
 		int noOfArmies = 0;
 
 		// determine number of areas this player controls
@@ -238,32 +442,16 @@ public class GameHandlerImpl implements GameHandler {
 
 		// for each continent in control increase the number of reinforcements
 		// accordingly
-		if (this.allAreas.controlsContinent(Continent.AUSTRALIA, player)) {
-			noOfArmies += REINFORCEMENTS_AUSTRALIA;
-		}
-		if (this.allAreas.controlsContinent(Continent.SOUTH_AMERICA, player)) {
-			noOfArmies += REINFORCEMENTS_SOUTH_AMERICA;
-		}
-		if (this.allAreas.controlsContinent(Continent.AFRICA, player)) {
-			noOfArmies += REINFORCEMENTS_AFRICA;
-		}
-		if (this.allAreas.controlsContinent(Continent.NORTH_AMERICA, player)) {
-			noOfArmies += REINFORCEMENTS_NORTH_AMERICA;
-		}
-		if (this.allAreas.controlsContinent(Continent.EUROPE, player)) {
-			noOfArmies += REINFORCEMENTS_EUROPE;
-		}
-		if (this.allAreas.controlsContinent(Continent.ASIA, player)) {
-			noOfArmies += REINFORCEMENTS_ASIA;
-		}
+		noOfArmies += this.rules.getContinentBonus(this.allAreas, player);
 		
-		player.setNoOfReinforcements(player.getNoOfReinforcements() + noOfArmies);
+		changeReinforcements(player, player.getNoOfReinforcements() + noOfArmies);
 
 		return noOfArmies;
 	}
 
 	@Override
 	public void reinforce(Player player, Area area, int armies) throws GameException {
+		beginCommand(GameJournal.Command.REINFORCE);
 		verifyTurn(player);
 
 		if (player.getPhase() != Phase.REINFORCEMENT) {
@@ -278,29 +466,13 @@ public class GameHandlerImpl implements GameHandler {
 			throw new GameException("Invalid reinforcements given. Available: " + player.getNoOfReinforcements(), GameExceptionType.ILLEGAL_NO_OF_ARMIES);
 		}
 
-		area.setArmies(area.getArmies() + armies);
-		player.setNoOfReinforcements(player.getNoOfReinforcements() - armies);
+		changeArmies(area, area.getArmies() + armies);
+		changeReinforcements(player, player.getNoOfReinforcements() - armies);
 	}
 
 	@Override
 	public AttackResult attack(Player player, Area attackingArea, Area defendingArea, int numberOfDice) throws GameException {
-		verifyTurn(player);
-
-		if (player.getPhase() != Phase.ATTACK) {
-			throw new GameException("Not players attack phase", GameExceptionType.WRONG_PHASE_FOR_ACTION);
-		}
-
-		if (attackingArea == null || !attackingArea.getControllingPlayer().equals(player)) {
-			throw new GameException("Player may not attack from this area", GameExceptionType.AREA_NOT_UNDER_CONTROL);
-		}
-
-		if (defendingArea == null || defendingArea.getControllingPlayer().equals(player)) {
-			throw new GameException("Player controls this area - not attackable by himself", GameExceptionType.AREA_NOT_ATTACKABLE);
-		}
-
-		if (!attackingArea.getNeighbours().contains(defendingArea)) {
-			throw new GameException("Areas are not neighbours - one cannot attack the other", GameExceptionType.AREA_NOT_ATTACKABLE);
-		}
+		verifyAttack(player, attackingArea, defendingArea);
 
 		if (numberOfDice > MAXIMUM_ATTACK_DICE || numberOfDice < MINIMUM_ATTACK_OR_DEFENSE_DICE) {
 			throw new GameException("Number of attack dice have to be between " + MINIMUM_ATTACK_OR_DEFENSE_DICE + " or " + MAXIMUM_ATTACK_DICE,
@@ -311,20 +483,20 @@ public class GameHandlerImpl implements GameHandler {
 			throw new GameException("Number of dice may only be (number of armies in field) - 1", GameExceptionType.INVALID_ATTACK_DICE);
 		}
 
-		// roll the dice
-		Integer[] rolledDice = new Integer[numberOfDice];
-		Random rd = new Random();
-		for (int i = 0; i < rolledDice.length; i++) {
-			rolledDice[i] = rd.nextInt(DICE_EYES) + 1;
+		// in fast resolution mode the dice are rolled together with the defense
+		if (this.fastResolution) {
+			return new AttackResult(attackingArea, defendingArea, numberOfDice, this.diceGenerator);
 		}
 
-		Arrays.sort(rolledDice, Collections.reverseOrder());
+		// roll the dice
+		int rolledDice = Dice.roll(this.diceGenerator, numberOfDice);
 
 		return new AttackResult(attackingArea, defendingArea, rolledDice);
 	}
 
 	@Override
 	public DefenseResult defend(Player defender, AttackResult attack, int numberOfDice) throws GameException {
+		beginCommand(GameJournal.Command.DEFEND);
 		if (attack == null || !attack.getDefendingArea().getControllingPlayer().equals(defender)) {
 			throw new GameException("Wrong player defending area", GameExceptionType.AREA_NOT_UNDER_CONTROL);
 		}
@@ -338,68 +510,117 @@ public class GameHandlerImpl implements GameHandler {
 			throw new GameException("Number of dice may only be (number of armies in field)", GameExceptionType.INVALID_DEFENSE_DICE);
 		}
 
-		// roll the dice
-		Integer[] rolledDice = new Integer[numberOfDice];
-		Random rd = new Random();
-		for (int i = 0; i < rolledDice.length; i++) {
-			rolledDice[i] = rd.nextInt(DICE_EYES) + 1;
-		}
-
-		Arrays.sort(rolledDice, Collections.reverseOrder());
-
+		int numberOfAttackDice = attack.getNumberOfAttackDice();
+		int rolledDice;
 		int lostAttackArmies = 0;
 		int lostDefenseArmies = 0;
 		boolean hasConqueredArea = false;
-		// compare to attack values and update
-		for (int i = 0; i < attack.getAttackValues().length; i++) {
-			// if there are no more defending dice
-			if (rolledDice.length < (i + 1)) {
-				break;
-			}
 
-			if (rolledDice[i] < attack.getAttackValues()[i]) {
-				attack.getDefendingArea().setArmies(attack.getDefendingArea().getArmies() - 1);
-				lostDefenseArmies++;
-			} else {
-				attack.getAttackingArea().setArmies(attack.getAttackingArea().getArmies() - 1);
-				lostAttackArmies++;
+		if (attack.isRolled()) {
+			// roll the dice and compare to attack values
+			rolledDice = Dice.roll(this.diceGenerator, numberOfDice);
+
+			for (int i = 0; i < numberOfAttackDice; i++) {
+				// if there are no more defending dice
+				if (numberOfDice < (i + 1)) {
+					break;
+				}
+
+				if (Dice.getDie(rolledDice, i) < attack.getAttackValue(i)) {
+					lostDefenseArmies++;
+				} else {
+					lostAttackArmies++;
+				}
 			}
+		} else {
+			// attack dice deferred (fast resolution): one draw decides the whole round
+			int outcome = DiceOutcomeTable.draw(this.diceGenerator, numberOfAttackDice, numberOfDice);
+
+			attack.setAttackDice(DiceOutcomeTable.getAttackDice(numberOfAttackDice, numberOfDice, outcome));
+			rolledDice = DiceOutcomeTable.getDefenseDice(numberOfAttackDice, numberOfDice, outcome);
+			lostDefenseArmies = DiceOutcomeTable.getLostDefendingArmies(numberOfAttackDice, numberOfDice, outcome);
+			lostAttackArmies = DiceOutcomeTable.getLostAttackingArmies(numberOfAttackDice, numberOfDice, outcome);
 		}
 
+		// update armies
+		changeArmies(attack.getDefendingArea(), attack.getDefendingArea().getArmies() - lostDefenseArmies);
+		changeArmies(attack.getAttackingArea(), attack.getAttackingArea().getArmies() - lostAttackArmies);
+
 		// in case the area was conquered set new controlling player and move
 		// armies
 		if (attack.getDefendingArea().getArmies() == 0) {
-			attack.getDefendingArea().setControllingPlayer(attack.getAttackingArea().getControllingPlayer());
-			attack.getDefendingArea().setArmies(attack.getAttackValues().length - lostAttackArmies);
-			attack.getAttackingArea().setArmies(attack.getAttackingArea().getArmies() - (attack.getAttackValues().length - lostAttackArmies));
-			attack.getAttackingArea().getControllingPlayer().setConqueredAreaThisTurn(true);
+			conquerArea(attack.getAttackingArea(), attack.getDefendingArea(), defender, numberOfAttackDice - lostAttackArmies);
 			hasConqueredArea = true;
-			
-			// check if the losing player has any areas left. if not, remove him from the game
-			if (this.allAreas.getNumberOfAreasControlledByPlayer(defender) == 0) {
-				// give all cards to winning player
-				Player attacker = attack.getAttackingArea().getControllingPlayer();
-				attacker.getCards().addAll(defender.getCards());
-				defender.getCards().clear();
-				this.players.remove(defender);
-				
-				// check if a player won the game
-				if (this.players.size() == 1) {
-					this.gameStatus = GameStatus.GAME_OVER;
-					this.winner = this.players.get(0);
-				}
-				
-				if (attacker.getCards().size() > MAX_CARDS_IN_HAND_BEFORE_TRADE) {
-					attacker.setPhase(Phase.TRADE_CARDS_AFTER_DEFEAT);
-				}
-			}
 		}
 
 		return new DefenseResult(attack.getDefendingArea(), attack.getAttackingArea(), rolledDice, lostAttackArmies, lostDefenseArmies, hasConqueredArea);
 	}
 
+	@Override
+	public BattleSummary attackUntil(Player player, Area attackingArea, Area defendingArea, int stopWhenAttackerBelow, DefenseDicePolicy defenseDicePolicy)
+			throws GameException {
+		beginCommand(GameJournal.Command.ATTACK_UNTIL);
+		verifyAttack(player, attackingArea, defendingArea);
+
+		if (attackingArea.getArmies() <= MINIMUM_ATTACK_OR_DEFENSE_DICE) {
+			throw new GameException("Number of dice may only be (number of armies in field) - 1", GameExceptionType.INVALID_ATTACK_DICE);
+		}
+
+		if (defenseDicePolicy == null) {
+			throw new GameException("No defense dice policy given", GameExceptionType.INVALID_DEFENSE_DICE);
+		}
+
+		Player defender = defendingArea.getControllingPlayer();
+		int attackingArmies = attackingArea.getArmies();
+		int defendingArmies = defendingArea.getArmies();
+		// at least one army has to stay behind
+		int minimumAttackingArmies = Math.max(stopWhenAttackerBelow, MINIMUM_ATTACK_OR_DEFENSE_DICE + 1);
+
+		int rounds = 0;
+		int lostAttackArmies = 0;
+		int lostDefenseArmies = 0;
+		int outcome = 0;
+		int numberOfAttackDice = 0;
+		int numberOfDefenseDice = 0;
+		int lastLostAttackArmies = 0;
+		int lastLostDefenseArmies = 0;
+
+		// every round is resolved with a single draw, the areas are only updated once the battle is over
+		while (attackingArmies >= minimumAttackingArmies && defendingArmies > 0) {
+			numberOfAttackDice = Math.min(MAXIMUM_ATTACK_DICE, attackingArmies - 1);
+			numberOfDefenseDice = defenseDicePolicy.getNumberOfDice(MAXIMUM_DEFENSE_DICE, defendingArmies);
+			outcome = DiceOutcomeTable.draw(this.diceGenerator, numberOfAttackDice, numberOfDefenseDice);
+
+			lastLostDefenseArmies = DiceOutcomeTable.getLostDefendingArmies(numberOfAttackDice, numberOfDefenseDice, outcome);
+			lastLostAttackArmies = DiceOutcomeTable.getLostAttackingArmies(numberOfAttackDice, numberOfDefenseDice, outcome);
+			attackingArmies -= lastLostAttackArmies;
+			defendingArmies -= lastLostDefenseArmies;
+			lostAttackArmies += lastLostAttackArmies;
+			lostDefenseArmies += lastLostDefenseArmies;
+			rounds++;
+		}
+
+		changeArmies(attackingArea, attackingArmies);
+		changeArmies(defendingArea, defendingArmies);
+
+		boolean hasConqueredArea = false;
+		if (defendingArmies == 0) {
+			conquerArea(attackingArea, defendingArea, defender, numberOfAttackDice - lastLostAttackArmies);
+			hasConqueredArea = true;
+		}
+
+		DefenseResult lastRound = null;
+		if (rounds > 0) {
+			lastRound = new DefenseResult(defendingArea, attackingArea, DiceOutcomeTable.getDefenseDice(numberOfAttackDice, numberOfDefenseDice, outcome),
+					lastLostAttackArmies, lastLostDefenseArmies, hasConqueredArea);
+		}
+
+		return new BattleSummary(attackingArea, defendingArea, rounds, lostAttackArmies, lostDefenseArmies, hasConqueredArea, lastRound);
+	}
+
 	@Override
 	public void moveArmiesAfterConquest(Player attacker, DefenseResult defense, int numberOfArmies) throws GameException {
+		beginCommand(GameJournal.Command.MOVE_ARMIES_AFTER_CONQUEST);
 		verifyTurn(attacker);
 
 		if (attacker.getPhase() != Phase.ATTACK) {
@@ -419,12 +640,13 @@ public class GameHandlerImpl implements GameHandler {
 		}
 
 		// assign new army count
-		defense.getAttackingArea().setArmies(defense.getAttackingArea().getArmies() - numberOfArmies);
-		defense.getDefendingArea().setArmies(defense.getDefendingArea().getArmies() + numberOfArmies);
+		changeArmies(defense.getAttackingArea(), defense.getAttackingArea().getArmies() - numberOfArmies);
+		changeArmies(defense.getDefendingArea(), defense.getDefendingArea().getArmies() + numberOfArmies);
 	}
 
 	@Override
 	public Card drawCard(Player player) throws GameException {
+		beginCommand(GameJournal.Command.DRAW_CARD);
 		verifyTurn(player);
 
 		if (player.getPhase() != Phase.DRAW_CARD) {
@@ -439,19 +661,23 @@ public class GameHandlerImpl implements GameHandler {
 			throw new GameException("No more cards in stock - trading in?", GameExceptionType.UNKNOW_ERROR);
 		}
 
-		Random rd = new Random();
-		int index = rd.nextInt(this.availableCards.size());
+		int index = this.randomSource.nextInt(this.availableCards.size());
 
-		Card card = this.availableCards.get(index);
-		this.availableCards.remove(index);
+		Card card = removeCard(this.availableCards, index);
 
-		player.setPhase(Phase.FORTIFICATION);
+		changePhase(player, Phase.FORTIFICATION);
 
 		return card;
 	}
 
+	@Override
+	public int getNumberOfAvailableCards() {
+		return this.availableCards == null ? 0 : this.availableCards.size();
+	}
+
 	@Override
 	public void fortify(Player player, Area source, Area destination, int numberOfArmies) throws GameException {
+		beginCommand(GameJournal.Command.FORTIFY);
 		verifyTurn(player);
 
 		// validation stuff
@@ -469,15 +695,9 @@ public class GameHandlerImpl implements GameHandler {
 		}
 
 		// verify that there is a valid path to the destination area
-		List<Area> path = new ArrayList<>();
-
-		// add source
-		path.add(source);
-		createPathList(player, source, path);
-
-		if (path.contains(destination)) {
-			source.setArmies(source.getArmies() - numberOfArmies);
-			destination.setArmies(destination.getArmies() + numberOfArmies);
+		if (this.allAreas.isConnected(source, destination)) {
+			changeArmies(source, source.getArmies() - numberOfArmies);
+			changeArmies(destination, destination.getArmies() + numberOfArmies);
 		} else {
 			throw new GameException("The destination " + destination.toString() + " is not reachable from source " + source.toString(), GameExceptionType.ILLEGAL_PATH);
 		}
@@ -485,6 +705,7 @@ public class GameHandlerImpl implements GameHandler {
 
 	@Override
 	public void confirmEndOfPhase(Player player) throws GameException {
+		beginCommand(GameJournal.Command.CONFIRM_END_OF_PHASE);
 		verifyTurn(player);
 		
 		if (this.gameStatus == GameStatus.GAME_OVER) {
@@ -497,28 +718,37 @@ public class GameHandlerImpl implements GameHandler {
 			if (player.getCards().size() > MAX_CARDS_IN_HAND_BEFORE_TRADE) {
 				throw new GameException("Must trade cards before changing phase if more than 5 cards in hand!", GameExceptionType.MUST_TRADE_CARDS);
 			}
-			player.setPhase(Phase.REINFORCEMENT);
-			if (player.getPhase() == Phase.TRADE_CARDS) {
-				getAvailableReinforcements(player);			
+			// reinforcements are only granted at the start of a turn, not after trading cards of a defeated player
+			boolean isStartOfTurn = player.getPhase() == Phase.TRADE_CARDS;
+			changePhase(player, Phase.REINFORCEMENT);
+			if (isStartOfTurn) {
+				grantReinforcements(player);
 			}
 			break;
 		case REINFORCEMENT:
 			if (player.getNoOfReinforcements() > 0) {
 				throw new GameException("Still " + player.getNoOfReinforcements() + " armies to set to board!", GameExceptionType.ILLEGAL_NO_OF_ARMIES);
 			}
-			player.setPhase(Phase.ATTACK);
+			changePhase(player, Phase.ATTACK);
 			break;
 		case ATTACK:
 			if (player.hasConqueredAreaThisTurn()) {
-				player.setPhase(Phase.DRAW_CARD);
+				changePhase(player, Phase.DRAW_CARD);
 			} else {
-				player.setPhase(Phase.FORTIFICATION);
+				changePhase(player, Phase.FORTIFICATION);
 			}
 			checkGoals();
 			
+			break;
+		case DRAW_CARD:
+			// the card may only be skipped if the deck is used up
+			if (getNumberOfAvailableCards() > 0) {
+				throw new GameException("A card has to be drawn before changing phase", GameExceptionType.WRONG_PHASE_FOR_ACTION);
+			}
+			changePhase(player, Phase.FORTIFICATION);
 			break;
 		case FORTIFICATION:
-			player.setConqueredAreaThisTurn(false);
+			changeConqueredAreaThisTurn(player, false);
 			setNextPlayersTurn(true);
 			break;
 		default:
@@ -541,6 +771,186 @@ public class GameHandlerImpl implements GameHandler {
 		return this.winner;
 	}
 
+	/**
+	 * computes the Zobrist hash of this game for transposition tables. The
+	 * hash of the board (owners and bucketed armies) is maintained by the
+	 * board state with every change, only the keys of the player in turn, the
+	 * phase and the card trade level are combined here. Equal states hash to
+	 * the same value in every process, copies and undone changes included
+	 * 
+	 * @return the hash of the current state
+	 */
+	public long getStateHash() {
+		if (this.allAreas == null || this.allAreas.getBoardState() == null) {
+			throw new IllegalStateException("Only games on a compiled board can be hashed");
+		}
+
+		BoardState state = this.allAreas.getBoardState();
+		long hash = state.getHash() ^ ZobristKeys.getTradeLevelKey(this.armiesReturned);
+
+		Player playerInTurn = getPlayerInTurn();
+		if (playerInTurn != null) {
+			hash ^= ZobristKeys.getTurnKey(state.getOwnerSlot(playerInTurn)) ^ ZobristKeys.getPhaseKey(playerInTurn.getPhase());
+		}
+
+		return hash;
+	}
+
+	/**
+	 * @return true, if rounds are resolved with a single draw from the
+	 *         precomputed outcome tables
+	 */
+	public boolean isFastResolution() {
+		return this.fastResolution;
+	}
+
+	/**
+	 * switches the fast resolution mode. In that mode attack() defers the
+	 * attack dice and defend() resolves the whole round with one draw from
+	 * the {@link DiceOutcomeTable}. Losses and dice are distributed exactly
+	 * like rolling each die, the attack dice are just not known before the
+	 * defense unless a client asks for them (they are rolled then).
+	 * 
+	 * @param fastResolution
+	 *            true, to resolve rounds with a single draw
+	 */
+	public void setFastResolution(boolean fastResolution) {
+		this.fastResolution = fastResolution;
+	}
+
+	@Override
+	public RulesTable getRules() {
+		return this.rules;
+	}
+
+	/**
+	 * @return the source of all dice rolls and drawn cards of this game
+	 */
+	public RandomSource getRandomSource() {
+		return this.randomSource;
+	}
+
+	/**
+	 * starts recording all changes of this handler. Search algorithms can use
+	 * the journal to take back moves instead of copying the game, clients to
+	 * offer undo
+	 * 
+	 * @return the journal recording all further changes
+	 */
+	public GameJournal enableJournal() {
+		if (this.journal == null) {
+			if (this.allAreas == null || this.allAreas.getBoardGraph() == null) {
+				throw new IllegalStateException("Changes can only be recorded for a compiled board");
+			}
+			this.journal = new GameJournal(this);
+		}
+
+		return this.journal;
+	}
+
+	/**
+	 * stops recording changes, the recorded commands are dropped
+	 */
+	public void disableJournal() {
+		this.journal = null;
+	}
+
+	/**
+	 * @return the journal recording all changes, null if recording is disabled
+	 */
+	public GameJournal getJournal() {
+		return this.journal;
+	}
+
+	/**
+	 * creates an independent copy of the game state held by this handler:
+	 * armies and controlling players of all areas, the players with their
+	 * phases and hands, the deck in its current order, the trade bonus, the
+	 * status of the game and the state of the random source. Topology, rules
+	 * and cards are immutable and shared. The journal is not copied
+	 * 
+	 * @return a handler continuing the game exactly like this handler would
+	 */
+	public GameHandlerImpl copy() {
+		RandomSource randomSource = this.randomSource.copy();
+
+		GameHandlerImpl copy = copy(randomSource);
+		copy.diceGenerator = this.diceGenerator.copy(randomSource);
+
+		return copy;
+	}
+
+	/**
+	 * creates an independent copy of the game state held by this handler
+	 * (see {@link #copy()}) that rolls its dice and draws its cards from
+	 * another source. Searches play on such copies, so they can't foresee the
+	 * dice and cards of the game itself
+	 * 
+	 * @param randomSource
+	 *            the source of all dice rolls and drawn cards of the copy
+	 * @return a handler continuing the game from the same state
+	 */
+	public GameHandlerImpl copy(RandomSource randomSource) {
+		Map<Player, Player> copies = new IdentityHashMap<>();
+
+		List<Player> players = null;
+		if (this.players != null) {
+			players = new ArrayList<>(this.players.size());
+			for (Player player : this.players) {
+				Player copy = player.copy();
+				copies.put(player, copy);
+				players.add(copy);
+			}
+		}
+
+		AreaList areas = this.allAreas == null ? null : this.allAreas.copy(copies);
+
+		GameHandlerImpl copy = new GameHandlerImpl(new ArrayList<>(this.availableCards), areas, players, this.rules, randomSource);
+		copy.armiesReturned = this.armiesReturned;
+		copy.fastResolution = this.fastResolution;
+		copy.gameStatus = this.gameStatus;
+		for (Map.Entry<Player, int[]> placement : this.submittedPlacements.entrySet()) {
+			copy.submittedPlacements.put(copies.get(placement.getKey()), placement.getValue());
+		}
+		copy.remainingInitialArmies = this.remainingInitialArmies;
+		if (this.winner != null) {
+			copy.winner = copies.containsKey(this.winner) ? copies.get(this.winner) : this.winner.copy();
+		}
+
+		return copy;
+	}
+
+	/**
+	 * @return all players still in the game (the list is modified when players are defeated)
+	 */
+	public List<Player> getPlayers() {
+		return this.players;
+	}
+
+	void restoreGameStatus(GameStatus gameStatus) {
+		this.gameStatus = gameStatus;
+	}
+
+	void restoreWinner(Player winner) {
+		this.winner = winner;
+	}
+
+	void restoreArmiesReturned(int armiesReturned) {
+		this.armiesReturned = armiesReturned;
+	}
+
+	void restoreSubmittedPlacement(Player player, int[] placement) {
+		if (placement == null) {
+			this.submittedPlacements.remove(player);
+		} else {
+			this.submittedPlacements.put(player, placement);
+		}
+	}
+
+	void restoreRemainingInitialArmies(int remainingInitialArmies) {
+		this.remainingInitialArmies = remainingInitialArmies;
+	}
+
 	/**
 	 * fetches the deck with all remaining cards available for distribution
 	 * 
@@ -550,6 +960,185 @@ public class GameHandlerImpl implements GameHandler {
 		return this.availableCards;
 	}	
 
+	/**
+	 * validates everything about an attack except for the dice
+	 */
+	private void verifyAttack(Player player, Area attackingArea, Area defendingArea) throws GameException {
+		verifyTurn(player);
+
+		if (player.getPhase() != Phase.ATTACK) {
+			throw new GameException("Not players attack phase", GameExceptionType.WRONG_PHASE_FOR_ACTION);
+		}
+
+		if (attackingArea == null || !attackingArea.getControllingPlayer().equals(player)) {
+			throw new GameException("Player may not attack from this area", GameExceptionType.AREA_NOT_UNDER_CONTROL);
+		}
+
+		if (defendingArea == null || defendingArea.getControllingPlayer().equals(player)) {
+			throw new GameException("Player controls this area - not attackable by himself", GameExceptionType.AREA_NOT_ATTACKABLE);
+		}
+
+		if (!this.allAreas.getBoardGraph().isNeighbour(attackingArea.getIndex(), defendingArea.getIndex())) {
+			throw new GameException("Areas are not neighbours - one cannot attack the other", GameExceptionType.AREA_NOT_ATTACKABLE);
+		}
+	}
+
+	/**
+	 * hands a defeated area over to the attacker and moves the surviving
+	 * attack armies into it. A defender without areas left is removed from the
+	 * game
+	 * 
+	 * @param attackingArea
+	 *            the area the attack was executed from
+	 * @param defendingArea
+	 *            the conquered area
+	 * @param defender
+	 *            the player that controlled the conquered area
+	 * @param movingArmies
+	 *            the armies moving into the conquered area
+	 */
+	private void conquerArea(Area attackingArea, Area defendingArea, Player defender, int movingArmies) {
+		changeControllingPlayer(defendingArea, attackingArea.getControllingPlayer());
+		changeArmies(defendingArea, movingArmies);
+		changeArmies(attackingArea, attackingArea.getArmies() - movingArmies);
+		changeConqueredAreaThisTurn(attackingArea.getControllingPlayer(), true);
+
+		// check if the losing player has any areas left. if not, remove him from the game
+		if (this.allAreas.getNumberOfAreasControlledByPlayer(defender) == 0) {
+			// give all cards to winning player
+			Player attacker = attackingArea.getControllingPlayer();
+			for (Card card : defender.getCards()) {
+				addCard(attacker.getCards(), card);
+			}
+			for (int i = defender.getCards().size() - 1; i >= 0; i--) {
+				removeCard(defender.getCards(), i);
+			}
+			removePlayer(defender);
+
+			// check if a player won the game
+			if (this.players.size() == 1) {
+				endGame(this.players.get(0));
+			}
+
+			if (attacker.getCards().size() > MAX_CARDS_IN_HAND_BEFORE_TRADE) {
+				changePhase(attacker, Phase.TRADE_CARDS_AFTER_DEFEAT);
+			}
+		}
+	}
+
+	/*
+	 * all changes of the game go through the following methods, so they can
+	 * be recorded by the journal
+	 */
+
+	private void beginCommand(GameJournal.Command command) {
+		if (this.journal != null) {
+			this.journal.begin(command);
+		}
+	}
+
+	private void changeArmies(Area area, int armies) {
+		if (this.journal != null) {
+			this.journal.armiesChanged(area.getIndex(), area.getArmies(), armies);
+		}
+		area.setArmies(armies);
+	}
+
+	private void changeControllingPlayer(Area area, Player player) {
+		if (this.journal != null) {
+			this.journal.controllingPlayerChanged(area.getIndex(), area.getControllingPlayer(), player);
+		}
+		area.setControllingPlayer(player);
+	}
+
+	private void changePhase(Player player, Phase phase) {
+		if (this.journal != null) {
+			this.journal.phaseChanged(player, player.getPhase(), phase);
+		}
+		player.setPhase(phase);
+	}
+
+	private void changeTurn(Player player, boolean turn) {
+		if (this.journal != null) {
+			this.journal.turnChanged(player, player.isTurn(), turn);
+		}
+		player.setTurn(turn);
+	}
+
+	private void changeReinforcements(Player player, int reinforcements) {
+		if (this.journal != null) {
+			this.journal.reinforcementsChanged(player, player.getNoOfReinforcements(), reinforcements);
+		}
+		player.setNoOfReinforcements(reinforcements);
+	}
+
+	private void changeConqueredAreaThisTurn(Player player, boolean conqueredAreaThisTurn) {
+		if (this.journal != null) {
+			this.journal.conqueredAreaChanged(player, player.hasConqueredAreaThisTurn(), conqueredAreaThisTurn);
+		}
+		player.setConqueredAreaThisTurn(conqueredAreaThisTurn);
+	}
+
+	private void addCard(List<Card> cards, Card card) {
+		if (this.journal != null) {
+			this.journal.cardAdded(cards, cards.size(), card);
+		}
+		cards.add(card);
+	}
+
+	private Card removeCard(List<Card> cards, int index) {
+		if (this.journal != null) {
+			this.journal.cardRemoved(cards, index, cards.get(index));
+		}
+
+		return cards.remove(index);
+	}
+
+	private void removePlayer(Player player) {
+		int index = this.players.indexOf(player);
+		if (index < 0) {
+			return;
+		}
+
+		if (this.journal != null) {
+			this.journal.playerRemoved(index, player);
+		}
+		this.players.remove(index);
+	}
+
+	private void changeArmiesReturned(int armiesReturned) {
+		if (this.journal != null && armiesReturned != this.armiesReturned) {
+			this.journal.armiesReturnedChanged(this.armiesReturned, armiesReturned);
+		}
+		this.armiesReturned = armiesReturned;
+	}
+
+	private void changeSubmittedPlacement(Player player, int[] placement) {
+		if (this.journal != null) {
+			this.journal.submittedPlacementChanged(player, this.submittedPlacements.get(player), placement);
+		}
+		restoreSubmittedPlacement(player, placement);
+	}
+
+	private void changeRemainingInitialArmies(int remainingInitialArmies) {
+		if (this.journal != null) {
+			this.journal.remainingInitialArmiesChanged(this.remainingInitialArmies, remainingInitialArmies);
+		}
+		this.remainingInitialArmies = remainingInitialArmies;
+	}
+
+	/**
+	 * ends the game with the given winner
+	 */
+	private void endGame(Player winner) {
+		if (this.journal != null) {
+			this.journal.gameStatusChanged(this.gameStatus, GameStatus.GAME_OVER);
+			this.journal.winnerChanged(this.winner, winner);
+		}
+		this.gameStatus = GameStatus.GAME_OVER;
+		this.winner = winner;
+	}
+
 	private void verifyTurn(Player player) throws GameException {
 		if (player == null) {
 			throw new GameException("No player given - exiting", GameExceptionType.UNKNOW_ERROR);
@@ -559,7 +1148,15 @@ public class GameHandlerImpl implements GameHandler {
 		}
 	}
 
-	private boolean verifyCardCombination(List<Card> cards) {
+	/**
+	 * checks if three cards may be traded: either all cards show the same
+	 * unit type or all show different unit types (wildcards match any type)
+	 * 
+	 * @param cards
+	 *            the cards to trade
+	 * @return true, if the cards form a valid combination, false otherwise
+	 */
+	public static boolean isValidCardCombination(List<Card> cards) {
 		boolean isCombinationOk = true;
 		// card combination check - is each card of the same unit type
 		for (Card c : cards) {
@@ -593,52 +1190,24 @@ public class GameHandlerImpl implements GameHandler {
 		return isCombinationOk;
 	}
 
-	/**
-	 * creates a list of possible paths from the source area to areas in player
-	 * possession
-	 * 
-	 * @param player
-	 *            the player currently in action
-	 * @param source
-	 *            the source area where to get all paths from
-	 * @param path
-	 *            the current path (meaning all areas that can be reached
-	 *            directly from the source)
-	 */
-	private void createPathList(Player player, Area source, List<Area> path) {
-		// add all neighbors that are under player control
-		for (Area neighbour : source.getNeighbours()) {
-			// find that area in the allAreas list
-			for (Area a : this.allAreas) {
-				if (neighbour.equals(a) && a.getControllingPlayer().equals(player) && !path.contains(a)) {
-					path.add(a);
-					createPathList(player, a, path);
-					break;
-				} else if (neighbour.equals(a)) {
-					break;
-				}
-			}
-		}
-	}
-
 	/**
 	 * set the next players turn
 	 */
 	private void setNextPlayersTurn(boolean switchPhase) {
 		for (int i = 0; i < this.players.size(); i++) {
 			if (this.players.get(i).isTurn()) {
-				this.players.get(i).setTurn(false);
+				changeTurn(this.players.get(i), false);
 				if (switchPhase) {
-					this.players.get(i).setPhase(Phase.NONE);
+					changePhase(this.players.get(i), Phase.NONE);
 				}
 
 				int index = 0;
 				if (i < this.players.size() - 1) {
 					index = i + 1;
 				}
-				this.players.get(index).setTurn(true);
+				changeTurn(this.players.get(index), true);
 				if (switchPhase) {
-					this.players.get(index).setPhase(Phase.TRADE_CARDS);
+					changePhase(this.players.get(index), Phase.TRADE_CARDS);
 				}
 
 				break;
@@ -651,92 +1220,10 @@ public class GameHandlerImpl implements GameHandler {
 	 */
 	private void checkGoals() {
 		for (Player player : this.players) {
-			boolean hasWon = false;
-			Continent[] continents;
-			switch (player.getGoal()) {
-			case CONQUER_NORTH_AMERICA_SOUTH_AMERICA_AND_AUSTRALIA:
-				continents = new Continent[] {Continent.NORTH_AMERICA, Continent.SOUTH_AMERICA, Continent.AUSTRALIA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), false);
-				break;
-			case CONQUER_AFRICA_SOUTH_AMERICA_AND_THIRD_CONTINENT:
-				continents = new Continent[] {Continent.AFRICA, Continent.SOUTH_AMERICA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), true);
-				break;
-			case CONQUER_24_AREAS:
-				if (this.allAreas.getNumberOfAreasControlledByPlayer(player) >= CONTROLLED_AREAS_FOR_VICTORY) {
-					hasWon = true;
-				}
+			if (this.rules.hasMetGoal(player.getGoal(), this.allAreas, player)) {
+				endGame(player);
 				break;
-			case CONQUER_ASIA_AND_AFRICA:
-				continents = new Continent[] {Continent.ASIA, Continent.AFRICA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), false);
-				break;
-			case CONQUER_ASIA_AND_SOUTH_AMERICA:
-				continents = new Continent[] {Continent.ASIA, Continent.SOUTH_AMERICA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), false);
-				break;
-			case CONQUER_EUROPE_AUSTRALIA_AND_THIRD_CONTINENT:
-				continents = new Continent[] {Continent.EUROPE, Continent.AUSTRALIA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), true);
-				break;
-			case CONQUER_EUROPE_SOUTH_AMERICA_AND_THIRD_CONTINENT:
-				continents = new Continent[] {Continent.EUROPE, Continent.SOUTH_AMERICA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), true);
-				break;
-			case CONQUER_NORTH_AMERICA_AND_AFRICA:
-				continents = new Continent[] {Continent.NORTH_AMERICA, Continent.AFRICA};
-				hasWon = hasMetCondition(player, Arrays.asList(continents), false);
-				break;
-			case WORLD_DOMINATION:
-			default:
-				if (this.allAreas.isWorldDomination(player)) {
-					hasWon = true;
-				}
-				break;
-			}
-			
-			if (hasWon) {
-				this.gameStatus = GameStatus.GAME_OVER;
-				this.winner = player;
-				break;
-			}
-		}
-	}
-	
-	/**
-	 * checks if the given player has met his goals by determining the state with the given parameters
-	 * 
-	 * @param player 
-	 * 				the player that supposedly met his conditions
-	 * @param continentsToConquer
-	 * 				the mandatory continents to conquer for the player
-	 * @param plusWildcardContinent
-	 * 				if true the player has to conquer another continent - no matter which
-	 * @return
-	 * 			true, if the player met his conditions, false otherwise
-	 */
-	private boolean hasMetCondition(Player player, List<Continent> continentsToConquer, boolean plusWildcardContinent) {
-		for (Continent continent : continentsToConquer) {
-			// if one of the mandatory continents is not controlled by the player, return false
-			if (!this.allAreas.controlsContinent(continent, player)) {
-				return false;
 			}
 		}
-		
-		// check any continent not in the continent list if a wildcard is required
-		if (plusWildcardContinent) {
-			for (Continent continent : Continent.values()) {
-				// don't check mandatories
-				if (continentsToConquer.contains(continent)) {
-					continue;
-				}
-				// if player controls a non-mandatory continent in addition, he has met his goals
-				if (this.allAreas.controlsContinent(continent, player)) {
-					return true;
-				}
-			}
-		}
-		
-		return true;
 	}
 }
@@ -0,0 +1,406 @@
+package org.ct.gd.logic.handler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+
+/**
+ * journal of all changes a {@link GameHandlerImpl} applies to a game. Every
+ * mutating call of the handler becomes a command made of the deltas it
+ * applied: the armies of an area, the controlling player of an area, the
+ * phase, turn, reinforcements or conquest flag of a player, a card added to
+ * or removed from the deck or a hand, a removed player, the status of the
+ * game and the submitted initial placements. Each delta stores the old and the new value, so commands can be
+ * undone and redone in time proportional to their number of deltas. <br>
+ * The deltas are kept in primitive arrays, only players, cards and card
+ * lists are referenced. Undoing a command and executing a new one drops all
+ * undone commands. <br>
+ * The journal covers the state held by the handler; dice already rolled
+ * stay rolled and cards the client moved into or out of a hand itself are
+ * not recorded.
+ *
+ * @author ct
+ *
+ */
+public class GameJournal {
+
+	/**
+	 * the calls of the handler recorded as commands
+	 */
+	public enum Command {
+		PLACE_INITIAL_UNIT, TRADE_CARDS, GRANT_REINFORCEMENTS, REINFORCE, DEFEND, ATTACK_UNTIL, MOVE_ARMIES_AFTER_CONQUEST, DRAW_CARD, FORTIFY, CONFIRM_END_OF_PHASE;
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final GameStatus[] STATUSES = GameStatus.values();
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * the kinds of deltas
+	 */
+	private static final int ARMIES = 0;
+	private static final int CONTROLLING_PLAYER = 1;
+	private static final int PHASE = 2;
+	private static final int TURN = 3;
+	private static final int REINFORCEMENTS = 4;
+	private static final int CONQUERED_AREA = 5;
+	private static final int CARD_ADDED = 6;
+	private static final int CARD_REMOVED = 7;
+	private static final int PLAYER_REMOVED = 8;
+	private static final int GAME_STATUS = 9;
+	private static final int WINNER = 10;
+	private static final int ARMIES_RETURNED = 11;
+	private static final int SUBMITTED_PLACEMENT = 12;
+	private static final int REMAINING_INITIAL_ARMIES = 13;
+
+	/**
+	 * per delta: kind, index (area id or list position), old and new value
+	 */
+	private static final int FIELDS = 4;
+	/**
+	 * per delta: the changed object (player or card list) and the old and
+	 * new referenced value (player, card or submitted placement)
+	 */
+	private static final int REFERENCES = 3;
+
+	private final GameHandlerImpl handler;
+
+	private int[] deltas = new int[INITIAL_CAPACITY * FIELDS];
+	private Object[] references = new Object[INITIAL_CAPACITY * REFERENCES];
+	private int numberOfDeltas;
+
+	/**
+	 * the first delta of each command
+	 */
+	private int[] commandStarts = new int[INITIAL_CAPACITY];
+	private Command[] commands = new Command[INITIAL_CAPACITY];
+	private int numberOfCommands;
+
+	/**
+	 * the number of commands currently applied, the commands behind can be
+	 * redone
+	 */
+	private int appliedCommands;
+
+	/**
+	 * the command of the running handler call, it is only added to the
+	 * journal with its first delta
+	 */
+	private Command pendingCommand;
+	private boolean isPendingCommandOpen;
+
+	/**
+	 * @param handler
+	 *            the handler whose changes are recorded
+	 */
+	GameJournal(GameHandlerImpl handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * @return the number of commands that can be undone
+	 */
+	public int getPosition() {
+		return this.appliedCommands;
+	}
+
+	/**
+	 * @return the number of recorded commands including the ones that have
+	 *         been undone
+	 */
+	public int getNumberOfCommands() {
+		return this.numberOfCommands;
+	}
+
+	public boolean canUndo() {
+		return this.appliedCommands > 0;
+	}
+
+	public boolean canRedo() {
+		return this.appliedCommands < this.numberOfCommands;
+	}
+
+	/**
+	 * @return the command that would be undone next, null if there is none
+	 */
+	public Command getLastCommand() {
+		return canUndo() ? this.commands[this.appliedCommands - 1] : null;
+	}
+
+	/**
+	 * reverts all deltas of the last applied command
+	 * 
+	 * @return true, if a command was undone, false if there was none
+	 */
+	public boolean undo() {
+		if (!canUndo()) {
+			return false;
+		}
+
+		this.isPendingCommandOpen = false;
+		this.appliedCommands--;
+		for (int delta = getEnd(this.appliedCommands) - 1; delta >= this.commandStarts[this.appliedCommands]; delta--) {
+			revert(delta);
+		}
+
+		return true;
+	}
+
+	/**
+	 * applies all deltas of the next undone command again
+	 * 
+	 * @return true, if a command was redone, false if there was none
+	 */
+	public boolean redo() {
+		if (!canRedo()) {
+			return false;
+		}
+
+		this.isPendingCommandOpen = false;
+		for (int delta = this.commandStarts[this.appliedCommands]; delta < getEnd(this.appliedCommands); delta++) {
+			apply(delta);
+		}
+		this.appliedCommands++;
+
+		return true;
+	}
+
+	/**
+	 * undoes commands until the given position is reached
+	 * 
+	 * @param position
+	 *            a position returned by {@link #getPosition()}
+	 */
+	public void undoTo(int position) {
+		if (position < 0 || position > this.appliedCommands) {
+			throw new IllegalArgumentException("Can't undo to position " + position + ", current position is " + this.appliedCommands);
+		}
+
+		while (this.appliedCommands > position) {
+			undo();
+		}
+	}
+
+	/**
+	 * forgets all commands, the game stays as it is
+	 */
+	public void clear() {
+		Arrays.fill(this.references, 0, this.numberOfDeltas * REFERENCES, null);
+		this.numberOfDeltas = 0;
+		this.numberOfCommands = 0;
+		this.appliedCommands = 0;
+		this.isPendingCommandOpen = false;
+	}
+
+	/**
+	 * starts a new command, called by the handler with every mutating call
+	 */
+	void begin(Command command) {
+		this.pendingCommand = command;
+		this.isPendingCommandOpen = false;
+	}
+
+	void armiesChanged(int area, int oldArmies, int newArmies) {
+		record(ARMIES, area, oldArmies, newArmies, null, null, null);
+	}
+
+	void controllingPlayerChanged(int area, Player oldPlayer, Player newPlayer) {
+		record(CONTROLLING_PLAYER, area, 0, 0, null, oldPlayer, newPlayer);
+	}
+
+	void phaseChanged(Player player, Phase oldPhase, Phase newPhase) {
+		record(PHASE, 0, oldPhase == null ? -1 : oldPhase.ordinal(), newPhase == null ? -1 : newPhase.ordinal(), player, null, null);
+	}
+
+	void turnChanged(Player player, boolean oldTurn, boolean newTurn) {
+		record(TURN, 0, oldTurn ? 1 : 0, newTurn ? 1 : 0, player, null, null);
+	}
+
+	void reinforcementsChanged(Player player, int oldReinforcements, int newReinforcements) {
+		record(REINFORCEMENTS, 0, oldReinforcements, newReinforcements, player, null, null);
+	}
+
+	void conqueredAreaChanged(Player player, boolean oldConquered, boolean newConquered) {
+		record(CONQUERED_AREA, 0, oldConquered ? 1 : 0, newConquered ? 1 : 0, player, null, null);
+	}
+
+	void cardAdded(List<Card> cards, int index, Card card) {
+		record(CARD_ADDED, index, 0, 0, cards, null, card);
+	}
+
+	void cardRemoved(List<Card> cards, int index, Card card) {
+		record(CARD_REMOVED, index, 0, 0, cards, card, null);
+	}
+
+	void playerRemoved(int index, Player player) {
+		record(PLAYER_REMOVED, index, 0, 0, null, player, null);
+	}
+
+	void gameStatusChanged(GameStatus oldStatus, GameStatus newStatus) {
+		record(GAME_STATUS, 0, oldStatus.ordinal(), newStatus.ordinal(), null, null, null);
+	}
+
+	void winnerChanged(Player oldWinner, Player newWinner) {
+		record(WINNER, 0, 0, 0, null, oldWinner, newWinner);
+	}
+
+	void armiesReturnedChanged(int oldArmies, int newArmies) {
+		record(ARMIES_RETURNED, 0, oldArmies, newArmies, null, null, null);
+	}
+
+	void submittedPlacementChanged(Player player, int[] oldPlacement, int[] newPlacement) {
+		record(SUBMITTED_PLACEMENT, 0, 0, 0, player, oldPlacement, newPlacement);
+	}
+
+	void remainingInitialArmiesChanged(int oldArmies, int newArmies) {
+		record(REMAINING_INITIAL_ARMIES, 0, oldArmies, newArmies, null, null, null);
+	}
+
+	private void record(int kind, int index, int oldValue, int newValue, Object subject, Object oldReference, Object newReference) {
+		if (!this.isPendingCommandOpen) {
+			openCommand();
+		}
+
+		if ((this.numberOfDeltas + 1) * FIELDS > this.deltas.length) {
+			this.deltas = Arrays.copyOf(this.deltas, this.deltas.length * 2);
+			this.references = Arrays.copyOf(this.references, this.references.length * 2);
+		}
+
+		int field = this.numberOfDeltas * FIELDS;
+		this.deltas[field] = kind;
+		this.deltas[field + 1] = index;
+		this.deltas[field + 2] = oldValue;
+		this.deltas[field + 3] = newValue;
+
+		int reference = this.numberOfDeltas * REFERENCES;
+		this.references[reference] = subject;
+		this.references[reference + 1] = oldReference;
+		this.references[reference + 2] = newReference;
+
+		this.numberOfDeltas++;
+	}
+
+	/**
+	 * adds the pending command to the journal, dropping all undone commands
+	 */
+	private void openCommand() {
+		if (this.pendingCommand == null) {
+			throw new IllegalStateException("Changes can only be recorded within a command");
+		}
+
+		if (canRedo()) {
+			int firstDroppedDelta = this.commandStarts[this.appliedCommands];
+			Arrays.fill(this.references, firstDroppedDelta * REFERENCES, this.numberOfDeltas * REFERENCES, null);
+			this.numberOfDeltas = firstDroppedDelta;
+			this.numberOfCommands = this.appliedCommands;
+		}
+
+		if (this.numberOfCommands == this.commandStarts.length) {
+			this.commandStarts = Arrays.copyOf(this.commandStarts, this.commandStarts.length * 2);
+			this.commands = Arrays.copyOf(this.commands, this.commands.length * 2);
+		}
+
+		this.commandStarts[this.numberOfCommands] = this.numberOfDeltas;
+		this.commands[this.numberOfCommands] = this.pendingCommand;
+		this.numberOfCommands++;
+		this.appliedCommands++;
+		this.isPendingCommandOpen = true;
+	}
+
+	/**
+	 * @return the delta behind the last delta of the given command
+	 */
+	private int getEnd(int command) {
+		return command + 1 < this.numberOfCommands ? this.commandStarts[command + 1] : this.numberOfDeltas;
+	}
+
+	private void revert(int delta) {
+		set(delta, this.deltas[delta * FIELDS + 2], this.references[delta * REFERENCES + 1], true);
+	}
+
+	private void apply(int delta) {
+		set(delta, this.deltas[delta * FIELDS + 3], this.references[delta * REFERENCES + 2], false);
+	}
+
+	/**
+	 * sets the changed value of a delta
+	 * 
+	 * @param value
+	 *            the old or new primitive value
+	 * @param reference
+	 *            the old or new referenced value
+	 * @param isUndo
+	 *            true, if the delta is reverted
+	 */
+	@SuppressWarnings("unchecked")
+	private void set(int delta, int value, Object reference, boolean isUndo) {
+		int index = this.deltas[delta * FIELDS + 1];
+		Object subject = this.references[delta * REFERENCES];
+		AreaList areas = this.handler.getAreas();
+
+		switch (this.deltas[delta * FIELDS]) {
+		case ARMIES:
+			areas.getByIndex(index).setArmies(value);
+			break;
+		case CONTROLLING_PLAYER:
+			areas.getByIndex(index).setControllingPlayer((Player) reference);
+			break;
+		case PHASE:
+			((Player) subject).setPhase(value < 0 ? null : PHASES[value]);
+			break;
+		case TURN:
+			((Player) subject).setTurn(value == 1);
+			break;
+		case REINFORCEMENTS:
+			((Player) subject).setNoOfReinforcements(value);
+			break;
+		case CONQUERED_AREA:
+			((Player) subject).setConqueredAreaThisTurn(value == 1);
+			break;
+		case CARD_ADDED:
+			if (isUndo) {
+				((List<Card>) subject).remove(index);
+			} else {
+				((List<Card>) subject).add(index, (Card) reference);
+			}
+			break;
+		case CARD_REMOVED:
+			if (isUndo) {
+				((List<Card>) subject).add(index, (Card) reference);
+			} else {
+				((List<Card>) subject).remove(index);
+			}
+			break;
+		case PLAYER_REMOVED:
+			if (isUndo) {
+				this.handler.getPlayers().add(index, (Player) reference);
+			} else {
+				this.handler.getPlayers().remove(index);
+			}
+			break;
+		case GAME_STATUS:
+			this.handler.restoreGameStatus(STATUSES[value]);
+			break;
+		case WINNER:
+			this.handler.restoreWinner((Player) reference);
+			break;
+		case ARMIES_RETURNED:
+			this.handler.restoreArmiesReturned(value);
+			break;
+		case SUBMITTED_PLACEMENT:
+			this.handler.restoreSubmittedPlacement((Player) subject, (int[]) reference);
+			break;
+		case REMAINING_INITIAL_ARMIES:
+			this.handler.restoreRemainingInitialArmies(value);
+			break;
+		default:
+			throw new IllegalStateException("Unknown delta " + this.deltas[delta * FIELDS]);
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package org.ct.gd.logic.handler;
+
+/**
+ * legal actions of a player packed into a single long, so moves can be
+ * generated into primitive buffers without creating objects. <br>
+ * Bits 0-3 hold the type, bits 4-19 the area the move starts from, bits
+ * 20-35 the area it targets and bits 36-62 an amount: the number of armies
+ * for reinforcements and fortifications, the number of dice for attacks.
+ * Card trades store the positions of the three traded cards in the players
+ * hand instead of areas and amount.
+ *
+ * @author ct
+ *
+ */
+public final class Move {
+
+	/**
+	 * place an initial army on the source area
+	 */
+	public static final int PLACE_INITIAL_UNIT = 1;
+	/**
+	 * trade the three cards at the given positions of the hand
+	 */
+	public static final int TRADE_CARDS = 2;
+	/**
+	 * place up to the amount of armies on the source area
+	 */
+	public static final int REINFORCE = 3;
+	/**
+	 * attack the target from the source area with the amount of dice
+	 */
+	public static final int ATTACK = 4;
+	/**
+	 * draw a card after conquering an area
+	 */
+	public static final int DRAW_CARD = 5;
+	/**
+	 * move up to the amount of armies from the source to the target area
+	 */
+	public static final int FORTIFY = 6;
+	/**
+	 * confirm the end of the current phase
+	 */
+	public static final int END_PHASE = 7;
+
+	public static final int NO_AREA = 0xFFFF;
+
+	private static final int TYPE_BITS = 4;
+	private static final int AREA_BITS = 16;
+	private static final int SOURCE_SHIFT = TYPE_BITS;
+	private static final int TARGET_SHIFT = SOURCE_SHIFT + AREA_BITS;
+	private static final int AMOUNT_SHIFT = TARGET_SHIFT + AREA_BITS;
+
+	private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+	private static final long AREA_MASK = (1L << AREA_BITS) - 1;
+	private static final int MAXIMUM_AMOUNT = (1 << (63 - AMOUNT_SHIFT)) - 1;
+
+	private Move() {
+
+	}
+
+	/**
+	 * packs a move
+	 * 
+	 * @param type
+	 *            the type of the move
+	 * @param source
+	 *            the id of the area the move starts from, {@link #NO_AREA}
+	 *            if the move has no area
+	 * @param target
+	 *            the id of the targeted area, {@link #NO_AREA} if the move
+	 *            has no target
+	 * @param amount
+	 *            the number of armies or dice
+	 * @return the packed move
+	 */
+	public static long of(int type, int source, int target, int amount) {
+		if (type < PLACE_INITIAL_UNIT || type > END_PHASE || source < 0 || source > NO_AREA || target < 0 || target > NO_AREA || amount < 0
+				|| amount > MAXIMUM_AMOUNT) {
+			throw new IllegalArgumentException("Invalid move: type " + type + ", source " + source + ", target " + target + ", amount " + amount);
+		}
+
+		return type | (long) source << SOURCE_SHIFT | (long) target << TARGET_SHIFT | (long) amount << AMOUNT_SHIFT;
+	}
+
+	/**
+	 * packs a card trade
+	 * 
+	 * @param first
+	 *            the position of the first card in the hand
+	 * @param second
+	 *            the position of the second card in the hand
+	 * @param third
+	 *            the position of the third card in the hand
+	 * @return the packed move
+	 */
+	public static long trade(int first, int second, int third) {
+		return of(TRADE_CARDS, first, second, third);
+	}
+
+	public static int getType(long move) {
+		return (int) (move & TYPE_MASK);
+	}
+
+	public static int getSource(long move) {
+		return (int) (move >>> SOURCE_SHIFT & AREA_MASK);
+	}
+
+	public static int getTarget(long move) {
+		return (int) (move >>> TARGET_SHIFT & AREA_MASK);
+	}
+
+	public static int getAmount(long move) {
+		return (int) (move >>> AMOUNT_SHIFT);
+	}
+
+	/**
+	 * @param move
+	 *            a card trade
+	 * @param card
+	 *            the number of the card within the trade (0 to 2)
+	 * @return the position of the card in the hand
+	 */
+	public static int getCard(long move, int card) {
+		switch (card) {
+		case 0:
+			return getSource(move);
+		case 1:
+			return getTarget(move);
+		case 2:
+			return getAmount(move);
+		default:
+			throw new IllegalArgumentException("A trade consists of three cards, no card " + card);
+		}
+	}
+
+	/**
+	 * @param move
+	 *            a packed move
+	 * @param amount
+	 *            the new amount
+	 * @return the same move with another number of armies or dice
+	 */
+	public static long withAmount(long move, int amount) {
+		return of(getType(move), getSource(move), getTarget(move), amount);
+	}
+
+	/**
+	 * @return a readable form of the move, for logging only
+	 */
+	public static String toString(long move) {
+		switch (getType(move)) {
+		case PLACE_INITIAL_UNIT:
+			return "PLACE_INITIAL_UNIT " + getSource(move);
+		case TRADE_CARDS:
+			return "TRADE_CARDS " + getCard(move, 0) + "," + getCard(move, 1) + "," + getCard(move, 2);
+		case REINFORCE:
+			return "REINFORCE " + getSource(move) + " x" + getAmount(move);
+		case ATTACK:
+			return "ATTACK " + getSource(move) + "->" + getTarget(move) + " x" + getAmount(move);
+		case DRAW_CARD:
+			return "DRAW_CARD";
+		case FORTIFY:
+			return "FORTIFY " + getSource(move) + "->" + getTarget(move) + " x" + getAmount(move);
+		case END_PHASE:
+			return "END_PHASE";
+		default:
+			return "UNKNOWN " + move;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package org.ct.gd.logic.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaConnectivity;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.BoardState;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+
+/**
+ * enumerates the legal moves of the player in turn for the phase the player
+ * is in, following the same rules the {@link GameHandlerImpl} enforces.
+ * Moves are packed into longs (see {@link Move}) and written into a
+ * {@link MoveList}, the board is read from its primitive arrays, so
+ * generating moves doesn't create objects. <br>
+ * Moves with an amount carry the largest legal amount, any smaller positive
+ * amount is legal as well. A generator keeps small buffers and may only be
+ * used by one thread at a time.
+ *
+ * @author ct
+ *
+ */
+public class MoveGenerator {
+
+	private static final int NO_OF_CARDS_TO_TRADE = 3;
+	private static final int MAX_CARDS_IN_HAND_BEFORE_TRADE = 5;
+
+	private final GameHandler handler;
+
+	/**
+	 * reused to validate card combinations
+	 */
+	private final List<Card> combination = new ArrayList<>(NO_OF_CARDS_TO_TRADE);
+	private final MoveList legalMoves = new MoveList();
+
+	/**
+	 * @param handler
+	 *            the handler of the game to generate moves for
+	 */
+	public MoveGenerator(GameHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * generates all legal moves of a player
+	 * 
+	 * @param player
+	 *            the player to generate the moves for
+	 * @param moves
+	 *            the list to write the moves to, it is cleared first
+	 * @return the number of legal moves, 0 if it is not the players turn or
+	 *         the game is over
+	 */
+	public int generate(Player player, MoveList moves) {
+		moves.clear();
+
+		if (player == null || !player.isTurn() || player.getPhase() == null || this.handler.getGameStatus() == GameStatus.GAME_OVER) {
+			return 0;
+		}
+
+		AreaList areas = this.handler.getAreas();
+		BoardState state = areas.getBoardState();
+		int owner = state.getOwnerSlot(player);
+		if (owner == BoardState.NO_OWNER) {
+			// a player without slot controls nothing, no area may match
+			owner = -1;
+		}
+
+		switch (player.getPhase()) {
+		case INITIAL_PLACEMENT:
+			for (int area = 0; area < areas.size(); area++) {
+				if (state.getOwner(area) == owner) {
+					moves.add(Move.of(Move.PLACE_INITIAL_UNIT, area, Move.NO_AREA, 1));
+				}
+			}
+			break;
+		case TRADE_CARDS:
+		case TRADE_CARDS_AFTER_DEFEAT:
+			generateTrades(player.getCards(), moves);
+			if (player.getCards().size() <= MAX_CARDS_IN_HAND_BEFORE_TRADE) {
+				moves.add(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+			}
+			break;
+		case REINFORCEMENT:
+			if (player.getNoOfReinforcements() > 0) {
+				for (int area = 0; area < areas.size(); area++) {
+					if (state.getOwner(area) == owner) {
+						moves.add(Move.of(Move.REINFORCE, area, Move.NO_AREA, player.getNoOfReinforcements()));
+					}
+				}
+			} else {
+				moves.add(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+			}
+			break;
+		case ATTACK:
+			generateAttacks(state, owner, moves);
+			moves.add(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+			break;
+		case DRAW_CARD:
+			if (this.handler.getNumberOfAvailableCards() == 0) {
+				moves.add(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+			} else if (player.hasConqueredAreaThisTurn()) {
+				moves.add(Move.of(Move.DRAW_CARD, Move.NO_AREA, Move.NO_AREA, 0));
+			}
+			break;
+		case FORTIFICATION:
+			generateFortifications(state, areas.getAreaConnectivity(), owner, moves);
+			moves.add(Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0));
+			break;
+		default:
+			break;
+		}
+
+		return moves.size();
+	}
+
+	/**
+	 * checks if a move is legal for a player. The amount of the move may be
+	 * anything from 1 to the amount of the generated move
+	 * 
+	 * @param player
+	 *            the player to check the move for
+	 * @param move
+	 *            the packed move
+	 * @return true, if the handler would accept the move, false otherwise
+	 */
+	public boolean isLegal(Player player, long move) {
+		generate(player, this.legalMoves);
+
+		int type = Move.getType(move);
+		boolean hasAmount = type == Move.REINFORCE || type == Move.FORTIFY;
+		for (int i = 0; i < this.legalMoves.size(); i++) {
+			long legalMove = this.legalMoves.get(i);
+			if (legalMove == move) {
+				return true;
+			}
+			if (hasAmount && Move.getType(legalMove) == type && Move.getSource(legalMove) == Move.getSource(move)
+					&& Move.getTarget(legalMove) == Move.getTarget(move) && Move.getAmount(move) > 0 && Move.getAmount(move) <= Move.getAmount(legalMove)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void generateTrades(List<Card> cards, MoveList moves) {
+		if (cards.size() < NO_OF_CARDS_TO_TRADE) {
+			return;
+		}
+
+		this.combination.clear();
+		for (int i = 0; i < NO_OF_CARDS_TO_TRADE; i++) {
+			this.combination.add(null);
+		}
+
+		for (int i = 0; i < cards.size(); i++) {
+			this.combination.set(0, cards.get(i));
+			for (int j = i + 1; j < cards.size(); j++) {
+				this.combination.set(1, cards.get(j));
+				for (int k = j + 1; k < cards.size(); k++) {
+					this.combination.set(2, cards.get(k));
+					if (GameHandlerImpl.isValidCardCombination(this.combination)) {
+						moves.add(Move.trade(i, j, k));
+					}
+				}
+			}
+		}
+	}
+
+	private static void generateAttacks(BoardState state, int owner, MoveList moves) {
+		BoardGraph graph = state.getBoardGraph();
+
+		for (int area = 0; area < graph.getNumberOfAreas(); area++) {
+			int armies = state.getArmies(area);
+			if (state.getOwner(area) != owner || armies <= 1) {
+				continue;
+			}
+
+			int maximumDice = Math.min(DiceOutcomeTable.MAXIMUM_ATTACK_DICE, armies - 1);
+			for (int n = 0; n < graph.getNumberOfNeighbours(area); n++) {
+				int neighbour = graph.getNeighbour(area, n);
+				if (state.getOwner(neighbour) != owner && state.getOwner(neighbour) != BoardState.NO_OWNER) {
+					for (int dice = 1; dice <= maximumDice; dice++) {
+						moves.add(Move.of(Move.ATTACK, area, neighbour, dice));
+					}
+				}
+			}
+		}
+	}
+
+	private static void generateFortifications(BoardState state, AreaConnectivity connectivity, int owner, MoveList moves) {
+		int numberOfAreas = state.getBoardGraph().getNumberOfAreas();
+
+		for (int source = 0; source < numberOfAreas; source++) {
+			if (state.getOwner(source) != owner || state.getArmies(source) <= 1) {
+				continue;
+			}
+
+			int component = connectivity.getComponent(source);
+			for (int destination = 0; destination < numberOfAreas; destination++) {
+				if (destination != source && connectivity.getComponent(destination) == component) {
+					moves.add(Move.of(Move.FORTIFY, source, destination, state.getArmies(source) - 1));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package org.ct.gd.logic.handler;
+
+import java.util.Arrays;
+
+/**
+ * reusable buffer of packed moves (see {@link Move}). The buffer only grows,
+ * so generating moves into the same list over and over again stops
+ * allocating once the largest move set has been seen.
+ *
+ * @author ct
+ *
+ */
+public class MoveList {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private long[] moves;
+	private int size;
+
+	public MoveList() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * @param capacity
+	 *            the initial number of moves the list can take
+	 */
+	public MoveList(int capacity) {
+		this.moves = new long[Math.max(1, capacity)];
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @param index
+	 *            the position of the move
+	 * @return the packed move at the given position
+	 */
+	public long get(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index " + index + ", size " + this.size);
+		}
+
+		return this.moves[index];
+	}
+
+	/**
+	 * appends a move
+	 * 
+	 * @param move
+	 *            the packed move
+	 */
+	public void add(long move) {
+		if (this.size == this.moves.length) {
+			this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+		}
+
+		this.moves[this.size++] = move;
+	}
+
+	/**
+	 * removes all moves, the buffer is kept
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * @param type
+	 *            the type of moves to count
+	 * @return the number of moves of the given type
+	 */
+	public int count(int type) {
+		int count = 0;
+		for (int i = 0; i < this.size; i++) {
+			if (Move.getType(this.moves[i]) == type) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @param move
+	 *            a packed move
+	 * @return true, if the list contains the move, false otherwise
+	 */
+	public boolean contains(long move) {
+		for (int i = 0; i < this.size; i++) {
+			if (this.moves[i] == move) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
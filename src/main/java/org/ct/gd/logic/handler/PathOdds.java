@@ -0,0 +1,66 @@
+package org.ct.gd.logic.handler;
+
+/**
+ * the odds of conquering a chain of areas from a single stack, see
+ * {@link BattleOdds#getPathOdds(int, int[])}
+ * 
+ * @author ct
+ * 
+ */
+public class PathOdds {
+
+	/**
+	 * at position k the probability of conquering the whole path with k
+	 * armies in the last area
+	 */
+	private final double[] armyDistribution;
+
+	private final double conquestProbability;
+	private final double expectedArmies;
+
+	PathOdds(double[] armyDistribution) {
+		this.armyDistribution = armyDistribution;
+
+		double conquestProbability = 0;
+		double expectedArmies = 0;
+		for (int armies = 0; armies < armyDistribution.length; armies++) {
+			conquestProbability += armyDistribution[armies];
+			expectedArmies += armies * armyDistribution[armies];
+		}
+
+		this.conquestProbability = conquestProbability;
+		this.expectedArmies = conquestProbability > 0 ? expectedArmies / conquestProbability : 0;
+	}
+
+	/**
+	 * @return the probability of conquering all areas of the path
+	 */
+	public double getConquestProbability() {
+		return conquestProbability;
+	}
+
+	/**
+	 * @param armies
+	 *            a number of armies
+	 * @return the probability of conquering the whole path with the given
+	 *         number of armies in the last area
+	 */
+	public double getProbability(int armies) {
+		return armies < 0 || armies >= armyDistribution.length ? 0 : armyDistribution[armies];
+	}
+
+	/**
+	 * @return the largest number of armies that may be left in the last area
+	 */
+	public int getMaximumArmies() {
+		return armyDistribution.length - 1;
+	}
+
+	/**
+	 * @return the expected number of armies in the last area, given the whole
+	 *         path was conquered
+	 */
+	public double getExpectedArmies() {
+		return expectedArmies;
+	}
+}
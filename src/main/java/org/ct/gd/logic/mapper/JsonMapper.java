@@ -6,6 +6,7 @@ import java.util.List;
 import org.ct.gd.logic.exception.InvalidMappingException;
 import org.ct.gd.logic.model.Area;
 import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.MapRules;
 import org.ct.gd.logic.util.AreaList;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,26 +22,34 @@ public class JsonMapper {
 
 	private static final String AREA_RESOURCE = "areas.json";
 	private static final String CARDS_RESOURCE = "cards.json";
+	private static final String RULES_RESOURCE = "rules.json";
 	
 	/**
-	 * maps all given areas in the resource file area.json to a list of areas
+	 * maps all given areas in the resource file area.json to a list of areas.
+	 * The list is compiled into a board graph, so all neighbours refer to the
+	 * areas within the returned list
 	 * 
 	 * @return the list of areas found in the given json
 	 * @throws InvalidMappingException
 	 *             in case the json file is not compatible to the requested area
-	 *             mapping
+	 *             mapping or the areas don't form a valid board
 	 */
 	public AreaList mapAreasFromJson() throws InvalidMappingException {
 		ObjectMapper objectMapper = new ObjectMapper();
+		AreaList areas;
 		
 		try {			
 			InputStreamReader isr = new InputStreamReader(getClass().getClassLoader().getResource(AREA_RESOURCE).openStream());			
 			
-			return objectMapper.readValue(isr, TypeFactory.defaultInstance().constructCollectionType(AreaList.class, Area.class));			
+			areas = objectMapper.readValue(isr, TypeFactory.defaultInstance().constructCollectionType(AreaList.class, Area.class));			
 		}
 		catch (Exception e) {
 			throw new InvalidMappingException("Invalid mapping from json to object.", e);
 		}
+		
+		areas.compileBoardGraph();
+		
+		return areas;
 	}	
 	
 	/**
@@ -63,4 +72,26 @@ public class JsonMapper {
 			throw new InvalidMappingException("Invalid mapping from json to object.", e);
 		}
 	}	
-}
+
+	/**
+	 * maps the continent bonuses and goal definitions in the resource file
+	 * rules.json
+	 * 
+	 * @return the rules found in the given json
+	 * @throws InvalidMappingException
+	 *             in case the json file is not compatible to the requested
+	 *             rules mapping
+	 */
+	public MapRules mapRulesFromJson() throws InvalidMappingException {
+		ObjectMapper objectMapper = new ObjectMapper();
+		
+		try {			
+			InputStreamReader isr = new InputStreamReader(getClass().getClassLoader().getResource(RULES_RESOURCE).openStream());			
+			
+			return objectMapper.readValue(isr, MapRules.class);			
+		}
+		catch (Exception e) {
+			throw new InvalidMappingException("Invalid mapping from json to object.", e);
+		}
+	}	
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package org.ct.gd.logic.mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.MapRules;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BoardGraph;
+import org.ct.gd.logic.util.RulesTable;
+
+/**
+ * process wide catalog of the game map, its rules and the card deck. The json resources
+ * are parsed and validated only once, afterwards every game gets its own
+ * mutable copy of the areas and the deck created from the immutable templates
+ * held here.
+ *
+ * @author ct
+ *
+ */
+public class MapCatalog {
+
+	private static volatile MapCatalog defaultCatalog;
+
+	/**
+	 * the compiled topology shared by all games
+	 */
+	private final BoardGraph boardGraph;
+
+	/**
+	 * all cards of the deck. Cards can't be changed, so the instances are
+	 * shared by all games
+	 */
+	private final List<Card> cards;
+
+	/**
+	 * the rules as defined by the map and compiled against the board graph
+	 */
+	private final MapRules mapRules;
+	private final RulesTable rules;
+
+	private MapCatalog(BoardGraph boardGraph, List<Card> cards, MapRules mapRules, RulesTable rules) {
+		this.boardGraph = boardGraph;
+		this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+		this.mapRules = mapRules;
+		this.rules = rules;
+	}
+
+	/**
+	 * gets the catalog of the default map (resource files areas.json,
+	 * cards.json and rules.json). The resources are loaded with the first call
+	 *
+	 * @return the default catalog
+	 * @throws InvalidMappingException
+	 *             if the resources can't be mapped or don't form a valid map
+	 */
+	public static MapCatalog getDefault() throws InvalidMappingException {
+		MapCatalog catalog = defaultCatalog;
+
+		if (catalog == null) {
+			synchronized (MapCatalog.class) {
+				catalog = defaultCatalog;
+				if (catalog == null) {
+					catalog = load(new JsonMapper());
+					defaultCatalog = catalog;
+				}
+			}
+		}
+
+		return catalog;
+	}
+
+	/**
+	 * loads and validates a catalog through the given mapper
+	 *
+	 * @param mapper
+	 *            the mapper reading the area, card and rule definitions
+	 * @return a new catalog
+	 * @throws InvalidMappingException
+	 *             if the definitions can't be mapped, the areas don't form a
+	 *             valid board, a card refers to an area that is not part of
+	 *             the board or the rules are incomplete
+	 */
+	public static MapCatalog load(JsonMapper mapper) throws InvalidMappingException {
+		BoardGraph boardGraph = mapper.mapAreasFromJson().getBoardGraph();
+		List<Card> cards = mapper.mapCardsFromJson();
+
+		for (Card card : cards) {
+			if (card == null) {
+				throw new InvalidMappingException("The card deck contains an empty card");
+			}
+			if (!card.getIsWildcard() && (card.getArea() == null || boardGraph.getIndex(card.getArea().getName()) < 0)) {
+				throw new InvalidMappingException("The card " + card.toString() + " refers to an invalid area!");
+			}
+		}
+
+		MapRules mapRules = mapper.mapRulesFromJson();
+
+		return new MapCatalog(boardGraph, cards, mapRules, RulesTable.compile(mapRules, boardGraph));
+	}
+
+	/**
+	 * @return the compiled topology of the map
+	 */
+	public BoardGraph getBoardGraph() {
+		return this.boardGraph;
+	}
+
+	/**
+	 * @return all cards of the deck (read only)
+	 */
+	public List<Card> getCards() {
+		return this.cards;
+	}
+
+	/**
+	 * @return the rules of the map as defined by the resource
+	 */
+	public MapRules getMapRules() {
+		return this.mapRules;
+	}
+
+	/**
+	 * @return the rules of the map compiled against {@link #getBoardGraph()}
+	 */
+	public RulesTable getRules() {
+		return this.rules;
+	}
+
+	/**
+	 * gets the rules for a board. Boards that don't share the topology of this
+	 * catalog get the rules of this map compiled against their own topology
+	 *
+	 * @param boardGraph
+	 *            the topology of the board
+	 * @return the compiled rules
+	 * @throws InvalidMappingException
+	 *             if the rules can't be applied to the given board
+	 */
+	public RulesTable getRules(BoardGraph boardGraph) throws InvalidMappingException {
+		return boardGraph == this.boardGraph ? this.rules : RulesTable.compile(this.mapRules, boardGraph);
+	}
+
+	/**
+	 * creates the areas for a new game
+	 *
+	 * @return a new list of areas without controlling players or armies
+	 */
+	public AreaList createAreas() {
+		return AreaList.fromBoardGraph(this.boardGraph);
+	}
+
+	/**
+	 * creates the card deck for a new game
+	 *
+	 * @return a new, modifiable list containing all cards
+	 */
+	public List<Card> createDeck() {
+		return new ArrayList<>(this.cards);
+	}
+}
@@ -3,89 +3,181 @@ package org.ct.gd.logic.model;
 import java.io.Serializable;
 import java.util.List;
 
+import org.ct.gd.logic.util.BoardState;
+
 /**
- * Class representing an area on the game board
+ * Class representing an area on the game board. <br>
+ * Areas that are part of a compiled board are thin views: name, continent
+ * and neighbours are read from the shared board topology, armies and the
+ * controlling player from the primitive arrays of the games
+ * {@link BoardState}. Areas that are not attached to a board (e.g. the areas
+ * referenced by cards) hold all values themselves.
  */
 public class Area implements Serializable {
-	
+
 	private static final long serialVersionUID = -3151681417851856174L;
-	
+
 	private String name;
 	private Continent continent;
-	private List<Area> neighbours;	
+	private List<Area> neighbours;
 	private int armies;
 	private Player controllingPlayer;
-	
+	/**
+	 * dense id of this area within its board, -1 if the area is not attached
+	 * to a board
+	 */
+	private int index = -1;
+	/**
+	 * the dynamic state of the board this area is part of, null if the area
+	 * is not attached to a board
+	 */
+	private BoardState state;
+	/**
+	 * informed whenever the controlling player of this area changes
+	 */
+	private AreaChangeListener changeListener;
+
 	/**
 	 * default constructor used for json mapping
 	 */
 	@SuppressWarnings("unused")
 	private Area() {
-		
+
 	}
-	
+
 	public Area(String name, Continent continent, List<Area> neighbours) {
 		this.name = name;
 		this.continent = continent;
 		this.neighbours = neighbours;
 	}
 
+	/**
+	 * creates an area viewing the area with the given id of a board
+	 *
+	 * @param state
+	 *            the dynamic state of the board
+	 * @param index
+	 *            the id of the area
+	 */
+	public Area(BoardState state, int index) {
+		this.state = state;
+		this.index = index;
+	}
+
+	/**
+	 * attaches this area to a board. Armies and controlling player of this
+	 * area are moved to the board state, all further reads and writes go to
+	 * the board
+	 *
+	 * @param state
+	 *            the dynamic state of the board
+	 * @param index
+	 *            the id of this area within the board
+	 */
+	public void attach(BoardState state, int index) {
+		state.setArmies(index, this.armies);
+		state.setControllingPlayer(index, this.controllingPlayer);
+
+		this.state = state;
+		this.index = index;
+		this.name = null;
+		this.continent = null;
+		this.neighbours = null;
+		this.armies = 0;
+		this.controllingPlayer = null;
+	}
+
 	public String getName() {
-		return name;
+		return this.state != null ? this.state.getBoardGraph().getName(this.index) : this.name;
 	}
 
 	public void setName(String name) {
+		verifyDetached();
 		this.name = name;
 	}
 
 	public Continent getContinent() {
-		return continent;
+		return this.state != null ? this.state.getBoardGraph().getContinent(this.index) : this.continent;
 	}
 
 	public void setContinent(Continent continent) {
+		verifyDetached();
 		this.continent = continent;
 	}
 
 	public List<Area> getNeighbours() {
-		return neighbours;
+		return this.state != null ? this.state.getNeighbours(this.index) : this.neighbours;
 	}
 
 	public void setNeighbours(List<Area> neighbours) {
+		verifyDetached();
 		this.neighbours = neighbours;
 	}
 
+	public int getIndex() {
+		return index;
+	}
+
 	public Player getControllingPlayer() {
-		return controllingPlayer;
+		return this.state != null ? this.state.getControllingPlayer(this.index) : this.controllingPlayer;
 	}
 
 	public void setControllingPlayer(Player controllingPlayer) {
-		this.controllingPlayer = controllingPlayer;
+		Player previousPlayer;
+		if (this.state != null) {
+			previousPlayer = this.state.setControllingPlayer(this.index, controllingPlayer);
+		} else {
+			previousPlayer = this.controllingPlayer;
+			this.controllingPlayer = controllingPlayer;
+		}
+
+		if (this.changeListener != null) {
+			this.changeListener.controllingPlayerChanged(this, previousPlayer, controllingPlayer);
+		}
+	}
+
+	public void setChangeListener(AreaChangeListener changeListener) {
+		this.changeListener = changeListener;
 	}
 
 	public int getArmies() {
-		return armies;
+		return this.state != null ? this.state.getArmies(this.index) : this.armies;
 	}
 
 	public void setArmies(int armies) {
-		this.armies = armies;
+		if (this.state != null) {
+			this.state.setArmies(this.index, armies);
+		} else {
+			this.armies = armies;
+		}
 	}
-	
+
 	@Override
 	public boolean equals(Object area) {
-		if (area instanceof Area && ((Area) area).getName().equals(this.name) && ((Area) area).getContinent() == this.continent) {
-			return true; 
+		if (area instanceof Area && ((Area) area).getName().equals(this.getName()) && ((Area) area).getContinent() == this.getContinent()) {
+			return true;
 		}
 
 		return false;
 	}
-	
+
 	@Override
 	public int hashCode() {
-		return this.name.hashCode();
+		return this.getName().hashCode();
 	}
-	
+
 	@Override
 	public String toString() {
-		return this.name + ";" + this.continent.toString();
+		return this.getName() + ";" + this.getContinent().toString();
+	}
+
+	/**
+	 * the topology of areas attached to a board is shared by all games and
+	 * may not be changed
+	 */
+	private void verifyDetached() {
+		if (this.state != null) {
+			throw new UnsupportedOperationException("The topology of area " + getName() + " is part of a compiled board and can't be changed");
+		}
 	}
 }
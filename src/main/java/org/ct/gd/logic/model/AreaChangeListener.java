@@ -0,0 +1,23 @@
+package org.ct.gd.logic.model;
+
+/**
+ * listener being informed about changes of an area during the game, e.g. to
+ * keep indices over the board up to date
+ * 
+ * @author ct
+ * 
+ */
+public interface AreaChangeListener {
+
+	/**
+	 * called after the controlling player of an area changed
+	 * 
+	 * @param area
+	 *            the area that changed
+	 * @param previousPlayer
+	 *            the player controlling the area before, may be null
+	 * @param controllingPlayer
+	 *            the player now controlling the area, may be null
+	 */
+	public void controllingPlayerChanged(Area area, Player previousPlayer, Player controllingPlayer);
+}
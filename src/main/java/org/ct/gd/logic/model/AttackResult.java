@@ -1,7 +1,14 @@
 package org.ct.gd.logic.model;
 
+import org.ct.gd.logic.util.BulkDiceGenerator;
+import org.ct.gd.logic.util.Dice;
+import org.ct.gd.logic.util.DiceOutcomeTable;
+
 /**
- * class representing an attack executed by a player
+ * class representing an attack executed by a player. <br>
+ * The dice of an attack may be deferred: they are rolled when asked for the
+ * first time or resolved together with the defense dice in a single draw
+ * (see {@link DiceOutcomeTable}).
  * 
  * @author ct
  * 
@@ -10,13 +17,44 @@ public class AttackResult {
 
 	private Area attackingArea;
 	private Area defendingArea;
-	// the die values for each die used
+	// the die values for each die used, packed as described in Dice
+	private int attackDice;
+	// the die values as array, created on demand
 	private Integer[] attackValues;
+	// the number of dice used, known even if the dice are deferred
+	private int numberOfAttackDice;
+	// the generator to roll deferred dice with, null once the dice are known
+	private BulkDiceGenerator diceGenerator;
 
 	public AttackResult(Area attackingArea, Area defendingArea, Integer[] attackValues) {
 		this.attackingArea = attackingArea;
 		this.defendingArea = defendingArea;
+		this.attackDice = Dice.pack(attackValues);
 		this.attackValues = attackValues;
+		this.numberOfAttackDice = Dice.getNumberOfDice(this.attackDice);
+	}
+
+	public AttackResult(Area attackingArea, Area defendingArea, int attackDice) {
+		this.attackingArea = attackingArea;
+		this.defendingArea = defendingArea;
+		this.attackDice = attackDice;
+		this.numberOfAttackDice = Dice.getNumberOfDice(attackDice);
+	}
+
+	/**
+	 * creates an attack whose dice are not rolled yet
+	 * 
+	 * @param numberOfAttackDice
+	 *            the number of dice used
+	 * @param diceGenerator
+	 *            the generator to roll the dice with if they are asked for
+	 *            before they were resolved together with the defense
+	 */
+	public AttackResult(Area attackingArea, Area defendingArea, int numberOfAttackDice, BulkDiceGenerator diceGenerator) {
+		this.attackingArea = attackingArea;
+		this.defendingArea = defendingArea;
+		this.numberOfAttackDice = numberOfAttackDice;
+		this.diceGenerator = diceGenerator;
 	}
 
 	public Area getAttackingArea() {
@@ -28,6 +66,53 @@ public class AttackResult {
 	}
 
 	public Integer[] getAttackValues() {
+		if (attackValues == null && numberOfAttackDice > 0) {
+			attackValues = Dice.toArray(getAttackDice());
+		}
+
 		return attackValues;
 	}
+
+	/**
+	 * @return the die values packed into a single int, see {@link Dice}
+	 */
+	public int getAttackDice() {
+		if (diceGenerator != null) {
+			setAttackDice(Dice.roll(diceGenerator, numberOfAttackDice));
+		}
+
+		return attackDice;
+	}
+
+	/**
+	 * sets the dice of a deferred attack
+	 * 
+	 * @param attackDice
+	 *            the packed dice
+	 * @throws IllegalStateException
+	 *             if the dice are already known
+	 */
+	public void setAttackDice(int attackDice) {
+		if (diceGenerator == null) {
+			throw new IllegalStateException("The dice of this attack are already rolled");
+		}
+
+		this.attackDice = attackDice;
+		this.diceGenerator = null;
+	}
+
+	/**
+	 * @return true, if the dice are known, false if they are deferred
+	 */
+	public boolean isRolled() {
+		return diceGenerator == null;
+	}
+
+	public int getNumberOfAttackDice() {
+		return numberOfAttackDice;
+	}
+
+	public int getAttackValue(int index) {
+		return Dice.getDie(getAttackDice(), index);
+	}
 }
@@ -0,0 +1,74 @@
+package org.ct.gd.logic.model;
+
+/**
+ * class containing the aggregated result of a battle resolved in one call
+ * (several rounds of attack and defense between the same two areas)
+ * 
+ * @author ct
+ * 
+ */
+public class BattleSummary {
+
+	private Area attackingArea;
+	private Area defendingArea;
+
+	private int rounds;
+	private int lostAttackingArmies;
+	private int lostDefendingArmies;
+
+	private boolean hasConqueredArea;
+
+	// the result of the final round
+	private DefenseResult lastRound;
+
+	public BattleSummary(Area attackingArea, Area defendingArea, int rounds, int lostAttackingArmies, int lostDefendingArmies, boolean hasConqueredArea,
+			DefenseResult lastRound) {
+		this.attackingArea = attackingArea;
+		this.defendingArea = defendingArea;
+		this.rounds = rounds;
+		this.lostAttackingArmies = lostAttackingArmies;
+		this.lostDefendingArmies = lostDefendingArmies;
+		this.hasConqueredArea = hasConqueredArea;
+		this.lastRound = lastRound;
+	}
+
+	public Area getAttackingArea() {
+		return attackingArea;
+	}
+
+	public Area getDefendingArea() {
+		return defendingArea;
+	}
+
+	public int getRounds() {
+		return rounds;
+	}
+
+	public int getLostAttackingArmies() {
+		return lostAttackingArmies;
+	}
+
+	public int getLostDefendingArmies() {
+		return lostDefendingArmies;
+	}
+
+	public boolean hasConqueredArea() {
+		return hasConqueredArea;
+	}
+
+	/**
+	 * @return the number of armies that may still be moved from the attacking
+	 *         to the conquered area, 0 if the area was not conquered
+	 */
+	public int getMovableArmies() {
+		return hasConqueredArea ? attackingArea.getArmies() - 1 : 0;
+	}
+
+	/**
+	 * @return the result of the final round, used to move armies after a
+	 *         conquest, null if no round was fought
+	 */
+	public DefenseResult getLastRound() {
+		return lastRound;
+	}
+}
@@ -0,0 +1,39 @@
+package org.ct.gd.logic.model;
+
+import java.io.Serializable;
+
+/**
+ * rule defining the number of additional armies a player receives for
+ * controlling a whole continent
+ * 
+ * @author ct
+ * 
+ */
+public class ContinentRule implements Serializable {
+
+	private static final long serialVersionUID = 7330416316581180514L;
+
+	private Continent continent;
+	private int reinforcements;
+
+	/**
+	 * default constructor used for json mapping
+	 */
+	@SuppressWarnings("unused")
+	private ContinentRule() {
+
+	}
+
+	public ContinentRule(Continent continent, int reinforcements) {
+		this.continent = continent;
+		this.reinforcements = reinforcements;
+	}
+
+	public Continent getContinent() {
+		return continent;
+	}
+
+	public int getReinforcements() {
+		return reinforcements;
+	}
+}
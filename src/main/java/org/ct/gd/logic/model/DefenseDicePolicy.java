@@ -0,0 +1,30 @@
+package org.ct.gd.logic.model;
+
+/**
+ * enumeration of the ways a defender chooses the number of dice during a
+ * battle resolved in one call
+ * 
+ * @author ct
+ * 
+ */
+public enum DefenseDicePolicy {
+	/**
+	 * always use as many dice as allowed
+	 */
+	MAXIMUM,
+	/**
+	 * always use a single die
+	 */
+	MINIMUM;
+
+	/**
+	 * @param maximumDice
+	 *            the maximum number of dice the defender may use
+	 * @param defendingArmies
+	 *            the armies in the defending area
+	 * @return the number of dice the defender uses
+	 */
+	public int getNumberOfDice(int maximumDice, int defendingArmies) {
+		return this == MINIMUM ? 1 : Math.min(maximumDice, defendingArmies);
+	}
+}
@@ -1,5 +1,7 @@
 package org.ct.gd.logic.model;
 
+import org.ct.gd.logic.util.Dice;
+
 /**
  * class containing detailed information about the result of an attack and a
  * defense
@@ -15,15 +17,22 @@ public class DefenseResult {
 	private int lostAttackingArmies;
 	private int lostDefendingArmies;
 
-	// the die values for each die used
+	// the die values for each die used, packed as described in Dice
+	private int defenseDice;
+	// the die values as array, created on demand
 	private Integer[] defenseValues;
 	
 	private boolean hasConqueredArea;
 
 	public DefenseResult(Area defendingArea, Area attackingArea, Integer[] defenseValues, int lostAttackingArmies, int lostDefendingArmies, boolean hasConqueredArea) {
+		this(defendingArea, attackingArea, Dice.pack(defenseValues), lostAttackingArmies, lostDefendingArmies, hasConqueredArea);
+		this.defenseValues = defenseValues;
+	}
+
+	public DefenseResult(Area defendingArea, Area attackingArea, int defenseDice, int lostAttackingArmies, int lostDefendingArmies, boolean hasConqueredArea) {
 		this.defendingArea = defendingArea;
 		this.attackingArea = attackingArea;
-		this.defenseValues = defenseValues;
+		this.defenseDice = defenseDice;
 		this.lostAttackingArmies = lostAttackingArmies;
 		this.lostDefendingArmies = lostDefendingArmies;
 		this.hasConqueredArea = hasConqueredArea;
@@ -38,9 +47,28 @@ public class DefenseResult {
 	}
 
 	public Integer[] getDefenseValues() {
+		if (defenseValues == null && Dice.getNumberOfDice(defenseDice) > 0) {
+			defenseValues = Dice.toArray(defenseDice);
+		}
+
 		return defenseValues;
 	}		
 	
+	/**
+	 * @return the die values packed into a single int, see {@link Dice}
+	 */
+	public int getDefenseDice() {
+		return defenseDice;
+	}
+
+	public int getNumberOfDefenseDice() {
+		return Dice.getNumberOfDice(defenseDice);
+	}
+
+	public int getDefenseValue(int index) {
+		return Dice.getDie(defenseDice, index);
+	}
+	
 	public int getLostAttackingArmies() {
 		return lostAttackingArmies;
 	}
@@ -0,0 +1,56 @@
+package org.ct.gd.logic.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * rule defining what a player has to control to reach a goal. All conditions
+ * have to be met: <br>
+ * - every continent in the continents list <br>
+ * - the given number of additional continents (any continent not in the list)
+ * <br>
+ * - at least the given minimum number of areas
+ * 
+ * @author ct
+ * 
+ */
+public class GoalRule implements Serializable {
+
+	private static final long serialVersionUID = -4471290652786370335L;
+
+	private Goal goal;
+	private List<Continent> continents;
+	private int additionalContinents;
+	private int minimumAreas;
+
+	/**
+	 * default constructor used for json mapping
+	 */
+	@SuppressWarnings("unused")
+	private GoalRule() {
+
+	}
+
+	public GoalRule(Goal goal, List<Continent> continents, int additionalContinents, int minimumAreas) {
+		this.goal = goal;
+		this.continents = continents;
+		this.additionalContinents = additionalContinents;
+		this.minimumAreas = minimumAreas;
+	}
+
+	public Goal getGoal() {
+		return goal;
+	}
+
+	public List<Continent> getContinents() {
+		return continents;
+	}
+
+	public int getAdditionalContinents() {
+		return additionalContinents;
+	}
+
+	public int getMinimumAreas() {
+		return minimumAreas;
+	}
+}
@@ -0,0 +1,40 @@
+package org.ct.gd.logic.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * all rules that come with a map: the continent bonuses and the definitions
+ * of the goals
+ * 
+ * @author ct
+ * 
+ */
+public class MapRules implements Serializable {
+
+	private static final long serialVersionUID = 1861209931553710127L;
+
+	private List<ContinentRule> continents;
+	private List<GoalRule> goals;
+
+	/**
+	 * default constructor used for json mapping
+	 */
+	@SuppressWarnings("unused")
+	private MapRules() {
+
+	}
+
+	public MapRules(List<ContinentRule> continents, List<GoalRule> goals) {
+		this.continents = continents;
+		this.goals = goals;
+	}
+
+	public List<ContinentRule> getContinents() {
+		return continents;
+	}
+
+	public List<GoalRule> getGoals() {
+		return goals;
+	}
+}
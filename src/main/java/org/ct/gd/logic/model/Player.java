@@ -33,6 +33,22 @@ public class Player implements Serializable {
 		this.cards = new ArrayList<Card>();
 	}
 
+	/**
+	 * @return an independent player with the same identity and state, the
+	 *         hand is a new list holding the same (immutable) cards
+	 */
+	public Player copy() {
+		Player copy = new Player(this.name, this.color, this.aiPlayer);
+		copy.turn = this.turn;
+		copy.phase = this.phase;
+		copy.goal = this.goal;
+		copy.conqueredAreaThisTurn = this.conqueredAreaThisTurn;
+		copy.noOfReinforcements = this.noOfReinforcements;
+		copy.cards = new ArrayList<Card>(this.cards);
+
+		return copy;
+	}
+
 	public boolean isTurn() {
 		return turn;
 	}
@@ -104,6 +120,13 @@ public class Player implements Serializable {
 		return false;
 	}	
 	
+	@Override
+	public int hashCode() {
+		int hash = this.name == null ? 0 : this.name.hashCode();
+		
+		return 31 * hash + (this.color == null ? 0 : this.color.ordinal());
+	}
+	
 	@Override
 	public String toString() {
 		return this.name + " " + this.color;
@@ -0,0 +1,97 @@
+package org.ct.gd.logic.simulation;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.model.Goal;
+
+/**
+ * the outcome of a single simulated game. A game is either finished with a
+ * winner, aborted after the maximum number of turns or failed because a bot
+ * or the game made an illegal move
+ *
+ * @author ct
+ *
+ */
+public class GameRecord {
+
+	private final long seed;
+	private final int turns;
+	private final boolean finished;
+	private final int winningSeat;
+	private final Goal winningGoal;
+	private final GameException failure;
+
+	/**
+	 * @param seed
+	 *            the seed the game was played with
+	 * @param turns
+	 *            the number of turns played after the initial placement
+	 * @param finished
+	 *            true, if the game ended with a winner
+	 * @param winningSeat
+	 *            the seat of the winning bot, -1 if there is no winner
+	 * @param winningGoal
+	 *            the goal of the winner, world domination for games without
+	 *            goals, null if there is no winner
+	 */
+	public GameRecord(long seed, int turns, boolean finished, int winningSeat, Goal winningGoal) {
+		this(seed, turns, finished, winningSeat, winningGoal, null);
+	}
+
+	/**
+	 * creates the record of a failed game
+	 * 
+	 * @param seed
+	 *            the seed the game was played with
+	 * @param turns
+	 *            the number of turns played until the failure
+	 * @param failure
+	 *            the exception of the illegal move
+	 */
+	public GameRecord(long seed, int turns, GameException failure) {
+		this(seed, turns, false, -1, null, failure);
+	}
+
+	private GameRecord(long seed, int turns, boolean finished, int winningSeat, Goal winningGoal, GameException failure) {
+		this.seed = seed;
+		this.turns = turns;
+		this.finished = finished;
+		this.winningSeat = winningSeat;
+		this.winningGoal = winningGoal;
+		this.failure = failure;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getTurns() {
+		return turns;
+	}
+
+	public boolean isFinished() {
+		return finished;
+	}
+
+	public int getWinningSeat() {
+		return winningSeat;
+	}
+
+	public Goal getWinningGoal() {
+		return winningGoal;
+	}
+
+	/**
+	 * @return true, if the game was stopped by an illegal move
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * @return the exception of the illegal move that stopped the game, null
+	 *         if the game didn't fail
+	 */
+	public GameException getFailure() {
+		return failure;
+	}
+}
@@ -0,0 +1,207 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ct.gd.logic.Game;
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.ai.BotFactory;
+import org.ct.gd.logic.ai.BotPolicy;
+import org.ct.gd.logic.ai.CardTrades;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.IllegalIdentityException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.exception.InvalidNumberOfPlayersException;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Goal;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+/**
+ * plays complete games between bots without any user interaction: from the
+ * construction of the game over the initial placement up to the end of the
+ * game. The runner drives the phases, the bots make all decisions. <br>
+ * The hands of the players are managed by the client of the game handler, so
+ * the runner adds drawn cards to and removes traded cards from the hands.
+ * <br>
+ * A runner holds no state of the games it plays, one runner may play any
+ * number of games in parallel.
+ *
+ * @author ct
+ *
+ */
+public class GameRunner {
+
+	private static final int MINIMUM_PLAYERS = 2;
+	private static final int MAXIMUM_PLAYERS = 8;
+	private static final int MAXIMUM_CARDS_IN_HAND = 5;
+
+	private final List<BotFactory> bots;
+	private final boolean isGlobalDomination;
+	private final int maximumTurns;
+
+	/**
+	 * @param bots
+	 *            the bots of all seats, in order of the seats
+	 * @param isGlobalDomination
+	 *            true, if the goal of the games is global domination
+	 * @param maximumTurns
+	 *            the number of turns after which a game is aborted
+	 */
+	public GameRunner(List<BotFactory> bots, boolean isGlobalDomination, int maximumTurns) {
+		if (bots == null || bots.size() < MINIMUM_PLAYERS || bots.size() > MAXIMUM_PLAYERS) {
+			throw new IllegalArgumentException("The number of bots has to be between " + MINIMUM_PLAYERS + " and " + MAXIMUM_PLAYERS);
+		}
+		if (maximumTurns <= 0) {
+			throw new IllegalArgumentException("The maximum number of turns has to be positive");
+		}
+
+		this.bots = new ArrayList<>(bots);
+		this.isGlobalDomination = isGlobalDomination;
+		this.maximumTurns = maximumTurns;
+	}
+
+	public List<BotFactory> getBots() {
+		return bots;
+	}
+
+	/**
+	 * plays a game
+	 * 
+	 * @param seed
+	 *            the seed of all random values of the game, including the
+	 *            decisions of the bots
+	 * @return the outcome of the game. Games without winner after the maximum
+	 *         number of turns are unfinished, games stopped by an illegal
+	 *         move are failed
+	 */
+	public GameRecord run(long seed) {
+		return run(seed, 0);
+	}
+
+	/**
+	 * plays a game with rotated colors: the bot of seat i plays the color at
+	 * position i + colorOffset (modulo the number of colors)
+	 * 
+	 * @param seed
+	 *            the seed of all random values of the game, including the
+	 *            decisions of the bots
+	 * @param colorOffset
+	 *            the position of the color of the first seat
+	 * @return the outcome of the game, see {@link #run(long)}
+	 */
+	public GameRecord run(long seed, int colorOffset) {
+		if (colorOffset < 0) {
+			throw new IllegalArgumentException("The color offset may not be negative");
+		}
+		RandomSource randomSource = new XoshiroRandomSource(seed);
+
+		List<Player> players = new ArrayList<>();
+		Map<Player, BotPolicy> policies = new HashMap<>();
+		for (int i = 0; i < this.bots.size(); i++) {
+			Player player = new Player("Bot " + (i + 1), Color.values()[(i + colorOffset) % Color.values().length], true);
+			players.add(player);
+			policies.put(player, this.bots.get(i).createBot(randomSource));
+		}
+		// the game removes defeated players from its list
+		List<Player> seats = new ArrayList<>(players);
+
+		Game game;
+		try {
+			game = new Game(players, this.isGlobalDomination, randomSource);
+			game.startGame();
+		} catch (InvalidNumberOfPlayersException | IllegalIdentityException | InvalidMappingException e) {
+			throw new IllegalStateException("The game can't be set up", e);
+		}
+
+		GameHandler handler = game.getGameHandler();
+		int turns = 0;
+		try {
+			while (handler.getGameStatus() != GameStatus.GAME_OVER) {
+				Player player = handler.getPlayerInTurn();
+				BotPolicy policy = policies.get(player);
+
+				switch (player.getPhase()) {
+				case INITIAL_PLACEMENT:
+					handler.placeInitialUnit(player, policy.chooseInitialPlacement(handler, player));
+					break;
+				case TRADE_CARDS:
+					if (turns == this.maximumTurns) {
+						return new GameRecord(seed, turns, false, -1, null);
+					}
+					turns++;
+					trade(handler, player, policy);
+					break;
+				case TRADE_CARDS_AFTER_DEFEAT:
+					trade(handler, player, policy);
+					break;
+				case REINFORCEMENT:
+					policy.reinforce(handler, player);
+					handler.confirmEndOfPhase(player);
+					break;
+				case ATTACK:
+					policy.attack(handler, player);
+					// the attack phase stays open if the bot has to trade cards of a defeated player first
+					if (player.getPhase() == Phase.ATTACK && handler.getGameStatus() != GameStatus.GAME_OVER) {
+						handler.confirmEndOfPhase(player);
+					}
+					break;
+				case DRAW_CARD:
+					if (handler.getNumberOfAvailableCards() > 0) {
+						player.getCards().add(handler.drawCard(player));
+					} else {
+						handler.confirmEndOfPhase(player);
+					}
+					break;
+				case FORTIFICATION:
+					policy.fortify(handler, player);
+					handler.confirmEndOfPhase(player);
+					break;
+				default:
+					throw new IllegalStateException("Player " + player.getName() + " is in turn without a valid phase: " + player.getPhase());
+				}
+			}
+		} catch (GameException e) {
+			// an illegal move is a bug of a bot or the game, it is recorded apart from aborted games
+			return new GameRecord(seed, turns, e);
+		}
+
+		Player winner = handler.getWinner();
+		if (handler.getGameStatus() != GameStatus.GAME_OVER || winner == null) {
+			return new GameRecord(seed, turns, false, -1, null);
+		}
+
+		return new GameRecord(seed, turns, true, seats.indexOf(winner), winner.getGoal() != null ? winner.getGoal() : Goal.WORLD_DOMINATION);
+	}
+
+	/**
+	 * trades the cards chosen by the bot (and any combination if the hand is
+	 * still too large afterwards) and ends the trading phase
+	 */
+	private void trade(GameHandler handler, Player player, BotPolicy policy) throws GameException {
+		List<List<Card>> trades = policy.chooseCardTrades(handler, player);
+		if (!trades.isEmpty()) {
+			trade(handler, player, trades);
+		}
+		if (player.getCards().size() > MAXIMUM_CARDS_IN_HAND) {
+			trade(handler, player, CardTrades.findAllTrades(player.getCards()));
+		}
+
+		handler.confirmEndOfPhase(player);
+	}
+
+	private void trade(GameHandler handler, Player player, List<List<Card>> trades) throws GameException {
+		handler.tradeCards(player, trades);
+		for (List<Card> trade : trades) {
+			for (Card card : trade) {
+				player.getCards().remove(card);
+			}
+		}
+	}
+}
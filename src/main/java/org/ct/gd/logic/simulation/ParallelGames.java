@@ -0,0 +1,58 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * plays games on a fixed number of threads for the {@link SelfPlaySimulator}
+ * and the {@link Tournament}
+ *
+ * @author ct
+ *
+ */
+final class ParallelGames {
+
+	private ParallelGames() {
+
+	}
+
+	/**
+	 * plays all games and waits for them
+	 *
+	 * @param games
+	 *            the games to play, each one plays a whole game
+	 * @param threads
+	 *            the number of games played at the same time
+	 * @return the records of the games in the order of the given games
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for the games
+	 */
+	static List<GameRecord> play(List<Callable<GameRecord>> games, int threads) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<GameRecord>> futures = new ArrayList<>(games.size());
+			for (Callable<GameRecord> game : games) {
+				futures.add(executor.submit(game));
+			}
+
+			List<GameRecord> records = new ArrayList<>(games.size());
+			for (Future<GameRecord> future : futures) {
+				records.add(future.get());
+			}
+
+			return records;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("A game failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
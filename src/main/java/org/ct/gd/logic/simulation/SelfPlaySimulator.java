@@ -0,0 +1,86 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * plays batches of games between bots in parallel. Every game is played by a
+ * single thread with its own game, bots and random source, only immutable
+ * data (board topology, rules, outcome tables and battle odds) is shared
+ * between the threads. <br>
+ * The games of a batch are seeded with consecutive seeds, so a batch of bots
+ * without time budget is reproducible regardless of the number of threads.
+ * Bots searching until a deadline (like the MctsBot and the PlanningBot)
+ * depend on the load of the machine, their batches are not reproducible.
+ *
+ * @author ct
+ *
+ */
+public class SelfPlaySimulator {
+
+	private final GameRunner runner;
+	private final int threads;
+
+	/**
+	 * @param runner
+	 *            the runner playing the single games
+	 * @param threads
+	 *            the number of games played at the same time
+	 */
+	public SelfPlaySimulator(GameRunner runner, int threads) {
+		if (runner == null) {
+			throw new IllegalArgumentException("No game runner given");
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads has to be positive");
+		}
+
+		this.runner = runner;
+		this.threads = threads;
+	}
+
+	/**
+	 * creates a simulator using all available processors
+	 * 
+	 * @param runner
+	 *            the runner playing the single games
+	 */
+	public SelfPlaySimulator(GameRunner runner) {
+		this(runner, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * plays a batch of games
+	 * 
+	 * @param numberOfGames
+	 *            the number of games to play
+	 * @param seed
+	 *            the seed of the first game, game i is played with seed + i
+	 * @return the statistics of all games
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for the games
+	 */
+	public SimulationResult simulate(int numberOfGames, long seed) throws InterruptedException {
+		if (numberOfGames < 0) {
+			throw new IllegalArgumentException("The number of games may not be negative");
+		}
+
+		List<Callable<GameRecord>> games = new ArrayList<>(numberOfGames);
+		for (int i = 0; i < numberOfGames; i++) {
+			final long gameSeed = seed + i;
+			games.add(new Callable<GameRecord>() {
+
+				@Override
+				public GameRecord call() {
+					return SelfPlaySimulator.this.runner.run(gameSeed);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		List<GameRecord> records = ParallelGames.play(games, this.threads);
+
+		return new SimulationResult(records, this.runner.getBots().size(), System.nanoTime() - start);
+	}
+}
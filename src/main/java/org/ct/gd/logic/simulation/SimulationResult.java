@@ -0,0 +1,150 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.ct.gd.logic.model.Goal;
+
+/**
+ * the statistics of a batch of simulated games: throughput, the distribution
+ * of the game lengths and the goals and seats of the winners
+ *
+ * @author ct
+ *
+ */
+public class SimulationResult {
+
+	private final int numberOfGames;
+	private final long elapsedNanos;
+
+	private int finishedGames;
+	private int failedGames;
+	private long totalTurns;
+	private final int[] winsPerSeat;
+	private final SortedMap<Integer, Integer> gameLengths = new TreeMap<>();
+	private final Map<Goal, Integer> winningGoals = new EnumMap<>(Goal.class);
+
+	/**
+	 * @param records
+	 *            the outcomes of all games
+	 * @param numberOfSeats
+	 *            the number of bots per game
+	 * @param elapsedNanos
+	 *            the wall clock time it took to play all games
+	 */
+	SimulationResult(Iterable<GameRecord> records, int numberOfSeats, long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+		this.winsPerSeat = new int[numberOfSeats];
+
+		int numberOfGames = 0;
+		for (GameRecord record : records) {
+			numberOfGames++;
+			this.totalTurns += record.getTurns();
+
+			if (record.isFailed()) {
+				this.failedGames++;
+			}
+			if (record.isFinished()) {
+				this.finishedGames++;
+				this.winsPerSeat[record.getWinningSeat()]++;
+				increment(this.gameLengths, record.getTurns());
+				increment(this.winningGoals, record.getWinningGoal());
+			}
+		}
+		this.numberOfGames = numberOfGames;
+	}
+
+	public int getNumberOfGames() {
+		return numberOfGames;
+	}
+
+	/**
+	 * @return the number of games that ended with a winner
+	 */
+	public int getFinishedGames() {
+		return finishedGames;
+	}
+
+	/**
+	 * @return the number of games stopped by an illegal move of a bot or the
+	 *         game
+	 */
+	public int getFailedGames() {
+		return failedGames;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return the turns of all games, including the unfinished ones
+	 */
+	public long getTotalTurns() {
+		return totalTurns;
+	}
+
+	public double getGamesPerSecond() {
+		return perSecond(this.numberOfGames);
+	}
+
+	public double getTurnsPerSecond() {
+		return perSecond(this.totalTurns);
+	}
+
+	/**
+	 * @return the average number of turns of the finished games, 0 if no game
+	 *         has finished
+	 */
+	public double getAverageGameLength() {
+		long turns = 0;
+		for (Map.Entry<Integer, Integer> entry : this.gameLengths.entrySet()) {
+			turns += (long) entry.getKey() * entry.getValue();
+		}
+
+		return this.finishedGames == 0 ? 0 : (double) turns / this.finishedGames;
+	}
+
+	/**
+	 * @param seat
+	 *            the seat of a bot
+	 * @return the number of games won by the bot
+	 */
+	public int getWins(int seat) {
+		return this.winsPerSeat[seat];
+	}
+
+	/**
+	 * @return the number of finished games per number of turns
+	 */
+	public SortedMap<Integer, Integer> getGameLengths() {
+		return Collections.unmodifiableSortedMap(this.gameLengths);
+	}
+
+	/**
+	 * @return the number of finished games per goal of the winner
+	 */
+	public Map<Goal, Integer> getWinningGoals() {
+		return Collections.unmodifiableMap(this.winningGoals);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%d games (%d finished, %d failed) in %.3f s: %.1f games/s, %.1f turns/s, %.1f turns per finished game, winning goals %s",
+				this.numberOfGames, this.finishedGames, this.failedGames, this.elapsedNanos / 1e9, getGamesPerSecond(), getTurnsPerSecond(), getAverageGameLength(),
+				this.winningGoals);
+	}
+
+	private double perSecond(long count) {
+		return this.elapsedNanos == 0 ? 0 : count * 1e9 / this.elapsedNanos;
+	}
+
+	private static <K> void increment(Map<K, Integer> counts, K key) {
+		Integer count = counts.get(key);
+		counts.put(key, count == null ? 1 : count + 1);
+	}
+}
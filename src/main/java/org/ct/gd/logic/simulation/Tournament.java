@@ -0,0 +1,159 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.ct.gd.logic.ai.BotFactory;
+import org.ct.gd.logic.model.Color;
+
+/**
+ * plays a round-robin tournament between bots: every combination of entrants
+ * of the given table size meets at a table, and every table is played once
+ * in each rotation of its seats. A round plays all tables in all rotations,
+ * the colors rotate from round to round. <br>
+ * Like the {@link SelfPlaySimulator} the games are played in parallel, each
+ * by a single thread with its own game and bots. Game i of the tournament is
+ * seeded with seed + i, so a tournament of entrants without time budget is
+ * reproducible regardless of the number of threads (see
+ * {@link TournamentResult} for timed entrants).
+ *
+ * @author ct
+ *
+ */
+public class Tournament {
+
+	private static final int MINIMUM_PLAYERS = 2;
+	private static final int MAXIMUM_PLAYERS = 8;
+
+	private final List<BotFactory> entrants;
+	private final int threads;
+
+	/**
+	 * per table of a round: the entrants in order of the seats and the runner
+	 * playing them
+	 */
+	private final List<int[]> seatings = new ArrayList<>();
+	private final List<GameRunner> runners = new ArrayList<>();
+
+	/**
+	 * @param entrants
+	 *            the bots taking part, the same factory may take part several
+	 *            times
+	 * @param playersPerGame
+	 *            the number of bots at each table
+	 * @param isGlobalDomination
+	 *            true, if the goal of the games is global domination
+	 * @param maximumTurns
+	 *            the number of turns after which a game is aborted
+	 * @param threads
+	 *            the number of games played at the same time
+	 */
+	public Tournament(List<BotFactory> entrants, int playersPerGame, boolean isGlobalDomination, int maximumTurns, int threads) {
+		if (playersPerGame < MINIMUM_PLAYERS || playersPerGame > MAXIMUM_PLAYERS) {
+			throw new IllegalArgumentException("The number of players per game has to be between " + MINIMUM_PLAYERS + " and " + MAXIMUM_PLAYERS);
+		}
+		if (entrants == null || entrants.size() < playersPerGame) {
+			throw new IllegalArgumentException("At least " + playersPerGame + " entrants are needed");
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads has to be positive");
+		}
+
+		this.entrants = new ArrayList<>(entrants);
+		this.threads = threads;
+
+		int[] table = new int[playersPerGame];
+		for (int i = 0; i < playersPerGame; i++) {
+			table[i] = i;
+		}
+		do {
+			for (int rotation = 0; rotation < playersPerGame; rotation++) {
+				int[] seating = new int[playersPerGame];
+				List<BotFactory> bots = new ArrayList<>(playersPerGame);
+				for (int seat = 0; seat < playersPerGame; seat++) {
+					seating[seat] = table[(seat + rotation) % playersPerGame];
+					bots.add(this.entrants.get(seating[seat]));
+				}
+				this.seatings.add(seating);
+				this.runners.add(new GameRunner(bots, isGlobalDomination, maximumTurns));
+			}
+		} while (nextCombination(table, this.entrants.size()));
+	}
+
+	public List<BotFactory> getEntrants() {
+		return Collections.unmodifiableList(entrants);
+	}
+
+	/**
+	 * @return the number of games of a round: every table in every rotation
+	 *         of its seats
+	 */
+	public int getGamesPerRound() {
+		return this.seatings.size();
+	}
+
+	/**
+	 * plays the tournament
+	 *
+	 * @param rounds
+	 *            the number of rounds to play
+	 * @param seed
+	 *            the seed of the first game
+	 * @return the standings of all entrants
+	 * @throws InterruptedException
+	 *             if the thread is interrupted while waiting for the games
+	 */
+	public TournamentResult play(int rounds, long seed) throws InterruptedException {
+		if (rounds < 0) {
+			throw new IllegalArgumentException("The number of rounds may not be negative");
+		}
+
+		int numberOfGames = rounds * getGamesPerRound();
+		List<Callable<GameRecord>> games = new ArrayList<>(numberOfGames);
+		List<int[]> seatings = new ArrayList<>(numberOfGames);
+		for (int i = 0; i < numberOfGames; i++) {
+			final GameRunner runner = this.runners.get(i % getGamesPerRound());
+			final long gameSeed = seed + i;
+			final int colorOffset = (i / getGamesPerRound()) % Color.values().length;
+			seatings.add(this.seatings.get(i % getGamesPerRound()));
+			games.add(new Callable<GameRecord>() {
+
+				@Override
+				public GameRecord call() {
+					return runner.run(gameSeed, colorOffset);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		List<GameRecord> records = ParallelGames.play(games, this.threads);
+
+		return new TournamentResult(this.entrants, seatings, records, System.nanoTime() - start);
+	}
+
+	/**
+	 * advances a sorted combination of entrants to the next one in
+	 * lexicographic order
+	 *
+	 * @return false, if the combination was the last one
+	 */
+	private static boolean nextCombination(int[] combination, int numberOfEntrants) {
+		int k = combination.length;
+		int i = k - 1;
+		while (i >= 0 && combination[i] == numberOfEntrants - k + i) {
+			i--;
+		}
+		if (i < 0) {
+			return false;
+		}
+
+		combination[i]++;
+		for (int j = i + 1; j < k; j++) {
+			combination[j] = combination[j - 1] + 1;
+		}
+
+		return true;
+	}
+}
@@ -0,0 +1,288 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.ct.gd.logic.ai.BotFactory;
+
+/**
+ * the standings of a tournament: games, wins and Elo ratings of all entrants
+ * plus the throughput of the tournament. <br>
+ * Every game is broken down into duels: the winner beats each other bot at
+ * the table, the losers don't meet. Games aborted after the maximum number
+ * of turns are draws between all bots at the table, failed games (an illegal
+ * move of a bot or the game) are only counted and don't enter the ratings. The ratings are the maximum likelihood ratings of the
+ * Bradley-Terry model (the model behind Elo) over all duels, so they don't
+ * depend on the order of the games. Each entrant additionally draws one
+ * virtual duel against a bot rated {@link #INITIAL_RATING}, which anchors the
+ * scale and keeps the ratings of undefeated bots finite. The confidence
+ * intervals follow from the curvature of the likelihood. <br>
+ * Entrants searching until a deadline (like the MctsBot and the PlanningBot)
+ * get further on an idle machine than with many games in parallel, so their
+ * results vary from run to run even with the same seed, and their ratings
+ * hold for the number of threads the tournament was played with.
+ *
+ * @author ct
+ *
+ */
+public class TournamentResult {
+
+	public static final double INITIAL_RATING = 1500;
+
+	/**
+	 * Elo points per natural logarithm of the odds
+	 */
+	private static final double ELO_SCALE = 400 / Math.log(10);
+
+	/**
+	 * the quantile of the normal distribution for 95% confidence
+	 */
+	private static final double CONFIDENCE_QUANTILE = 1.96;
+
+	private static final double PRIOR_DUELS = 1;
+	private static final int MAXIMUM_ITERATIONS = 10000;
+	private static final double TOLERANCE = 1e-10;
+
+	private final List<String> names = new ArrayList<>();
+	private final int numberOfGames;
+	private final long elapsedNanos;
+
+	private int finishedGames;
+	private int failedGames;
+	private long totalTurns;
+
+	private final int[] games;
+	private final int[] wins;
+
+	/**
+	 * per pair of entrants: the number of duels and the score of the first
+	 * one (1 per won duel, 1/2 per draw)
+	 */
+	private final double[][] duels;
+	private final double[][] scores;
+
+	private final double[] ratings;
+	private final double[] ratingErrors;
+
+	/**
+	 * @param entrants
+	 *            the bots of the tournament
+	 * @param seatings
+	 *            per game: the entrants in order of the seats
+	 * @param records
+	 *            the outcomes of all games
+	 * @param elapsedNanos
+	 *            the wall clock time it took to play all games
+	 */
+	TournamentResult(List<BotFactory> entrants, List<int[]> seatings, List<GameRecord> records, long elapsedNanos) {
+		int numberOfEntrants = entrants.size();
+		for (BotFactory entrant : entrants) {
+			this.names.add(entrant.getName());
+		}
+		this.numberOfGames = records.size();
+		this.elapsedNanos = elapsedNanos;
+		this.games = new int[numberOfEntrants];
+		this.wins = new int[numberOfEntrants];
+		this.duels = new double[numberOfEntrants][numberOfEntrants];
+		this.scores = new double[numberOfEntrants][numberOfEntrants];
+
+		for (int game = 0; game < records.size(); game++) {
+			GameRecord record = records.get(game);
+			int[] seating = seatings.get(game);
+			this.totalTurns += record.getTurns();
+
+			for (int entrant : seating) {
+				this.games[entrant]++;
+			}
+			if (record.isFinished()) {
+				this.finishedGames++;
+				int winner = seating[record.getWinningSeat()];
+				this.wins[winner]++;
+				for (int loser : seating) {
+					if (loser != winner) {
+						addDuel(winner, loser, 1);
+					}
+				}
+			} else if (record.isFailed()) {
+				this.failedGames++;
+			} else {
+				for (int i = 0; i < seating.length; i++) {
+					for (int j = i + 1; j < seating.length; j++) {
+						addDuel(seating[i], seating[j], 0.5);
+					}
+				}
+			}
+		}
+
+		this.ratings = new double[numberOfEntrants];
+		this.ratingErrors = new double[numberOfEntrants];
+		computeRatings();
+	}
+
+	public int getNumberOfEntrants() {
+		return names.size();
+	}
+
+	/**
+	 * @return the name of the bot factory of the entrant
+	 */
+	public String getName(int entrant) {
+		return names.get(entrant);
+	}
+
+	public int getNumberOfGames() {
+		return numberOfGames;
+	}
+
+	/**
+	 * @return the number of games that ended with a winner
+	 */
+	public int getFinishedGames() {
+		return finishedGames;
+	}
+
+	/**
+	 * @return the number of games stopped by an illegal move of a bot or the
+	 *         game
+	 */
+	public int getFailedGames() {
+		return failedGames;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * @return the turns of all games, including the unfinished ones
+	 */
+	public long getTotalTurns() {
+		return totalTurns;
+	}
+
+	public double getGamesPerSecond() {
+		return perSecond(this.numberOfGames);
+	}
+
+	public double getTurnsPerSecond() {
+		return perSecond(this.totalTurns);
+	}
+
+	/**
+	 * @return the number of games the entrant took part in
+	 */
+	public int getGames(int entrant) {
+		return this.games[entrant];
+	}
+
+	public int getWins(int entrant) {
+		return this.wins[entrant];
+	}
+
+	/**
+	 * @return the Elo rating of the entrant
+	 */
+	public double getRating(int entrant) {
+		return this.ratings[entrant];
+	}
+
+	/**
+	 * @return the half width of the 95% confidence interval of the rating
+	 */
+	public double getRatingError(int entrant) {
+		return this.ratingErrors[entrant];
+	}
+
+	/**
+	 * @return the entrants ordered by their ratings, the best first
+	 */
+	public List<Integer> getRanking() {
+		List<Integer> ranking = new ArrayList<>();
+		for (int entrant = 0; entrant < getNumberOfEntrants(); entrant++) {
+			ranking.add(entrant);
+		}
+		Collections.sort(ranking, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer first, Integer second) {
+				return Double.compare(TournamentResult.this.ratings[second], TournamentResult.this.ratings[first]);
+			}
+		});
+
+		return ranking;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder(String.format("%d games (%d finished, %d failed) in %.3f s: %.1f games/s, %.1f turns/s%n",
+				this.numberOfGames, this.finishedGames, this.failedGames, this.elapsedNanos / 1e9, getGamesPerSecond(), getTurnsPerSecond()));
+		for (int entrant : getRanking()) {
+			builder.append(String.format("%2d %-20s %6.0f +/- %4.0f  %6d games %6d wins%n", entrant, this.names.get(entrant), this.ratings[entrant],
+					this.ratingErrors[entrant], this.games[entrant], this.wins[entrant]));
+		}
+
+		return builder.toString();
+	}
+
+	private void addDuel(int first, int second, double scoreOfFirst) {
+		this.duels[first][second]++;
+		this.duels[second][first]++;
+		this.scores[first][second] += scoreOfFirst;
+		this.scores[second][first] += 1 - scoreOfFirst;
+	}
+
+	/**
+	 * fits the strengths of the Bradley-Terry model with the minorization
+	 * maximization iteration, the virtual opponent has strength 1
+	 */
+	private void computeRatings() {
+		int numberOfEntrants = this.ratings.length;
+		double[] strengths = new double[numberOfEntrants];
+		double[] totalScores = new double[numberOfEntrants];
+		for (int i = 0; i < numberOfEntrants; i++) {
+			strengths[i] = 1;
+			totalScores[i] = PRIOR_DUELS / 2;
+			for (int j = 0; j < numberOfEntrants; j++) {
+				totalScores[i] += this.scores[i][j];
+			}
+		}
+
+		for (int iteration = 0; iteration < MAXIMUM_ITERATIONS; iteration++) {
+			double change = 0;
+			for (int i = 0; i < numberOfEntrants; i++) {
+				double denominator = PRIOR_DUELS / (strengths[i] + 1);
+				for (int j = 0; j < numberOfEntrants; j++) {
+					if (this.duels[i][j] > 0) {
+						denominator += this.duels[i][j] / (strengths[i] + strengths[j]);
+					}
+				}
+
+				double strength = totalScores[i] / denominator;
+				change = Math.max(change, Math.abs(Math.log(strength / strengths[i])));
+				strengths[i] = strength;
+			}
+			if (change < TOLERANCE) {
+				break;
+			}
+		}
+
+		for (int i = 0; i < numberOfEntrants; i++) {
+			// the observed information of the log strength
+			double information = PRIOR_DUELS * strengths[i] / ((strengths[i] + 1) * (strengths[i] + 1));
+			for (int j = 0; j < numberOfEntrants; j++) {
+				if (this.duels[i][j] > 0) {
+					information += this.duels[i][j] * strengths[i] * strengths[j] / ((strengths[i] + strengths[j]) * (strengths[i] + strengths[j]));
+				}
+			}
+
+			this.ratings[i] = INITIAL_RATING + ELO_SCALE * Math.log(strengths[i]);
+			this.ratingErrors[i] = CONFIDENCE_QUANTILE * ELO_SCALE / Math.sqrt(information);
+		}
+	}
+
+	private double perSecond(long count) {
+		return this.elapsedNanos == 0 ? 0 : count * 1e9 / this.elapsedNanos;
+	}
+}
@@ -0,0 +1,157 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+
+/**
+ * groups the areas of a compiled board into connected components: two areas
+ * are in the same component if they are controlled by the same player and can
+ * be reached from each other by only passing areas of that player. These are
+ * exactly the areas a player may move armies between during fortification.
+ * <br>
+ * The components are computed lazily for all players at once and kept until
+ * the controlling player of any area changes, so answering whether two areas
+ * are connected is a comparison of two component ids.
+ *
+ * @author ct
+ *
+ */
+public class AreaConnectivity implements Serializable {
+
+	private static final long serialVersionUID = 6021773290818531410L;
+
+	private final BoardGraph graph;
+	private final BoardState state;
+
+	/**
+	 * component id per area, -1 for areas without controlling player
+	 */
+	private final int[] componentOf;
+
+	/**
+	 * the members of all components, the members of component <code>c</code>
+	 * are stored from <code>componentOffsets[c]</code> up to (but not
+	 * including) <code>componentOffsets[c + 1]</code>
+	 */
+	private final int[] componentOffsets;
+	private final int[] componentMembers;
+
+	private boolean valid = false;
+
+	/**
+	 * @param state
+	 *            the dynamic state of the board
+	 */
+	AreaConnectivity(BoardState state) {
+		this.graph = state.getBoardGraph();
+		this.state = state;
+		this.componentOf = new int[this.graph.getNumberOfAreas()];
+		this.componentOffsets = new int[this.graph.getNumberOfAreas() + 1];
+		this.componentMembers = new int[this.graph.getNumberOfAreas()];
+	}
+
+	/**
+	 * marks the components as outdated, they will be recomputed with the next
+	 * query
+	 */
+	void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the id of the component the area belongs to, -1 if the area is
+	 *         not controlled by any player
+	 */
+	public int getComponent(int area) {
+		ensureValid();
+
+		return this.componentOf[area];
+	}
+
+	/**
+	 * checks if armies may be moved between two areas
+	 *
+	 * @param area
+	 *            the id of the first area
+	 * @param otherArea
+	 *            the id of the second area
+	 * @return true, if both areas are controlled by the same player and
+	 *         connected through areas of that player, false otherwise
+	 */
+	public boolean isConnected(int area, int otherArea) {
+		if (area < 0 || area >= this.componentOf.length || otherArea < 0 || otherArea >= this.componentOf.length) {
+			return false;
+		}
+		ensureValid();
+
+		return this.componentOf[area] >= 0 && this.componentOf[area] == this.componentOf[otherArea];
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the ids of all areas in the same component as the given area
+	 *         (including the area itself), an empty array if the area is not
+	 *         controlled by any player
+	 */
+	public int[] getConnectedAreas(int area) {
+		ensureValid();
+
+		int component = this.componentOf[area];
+		if (component < 0) {
+			return new int[0];
+		}
+
+		int[] connectedAreas = new int[this.componentOffsets[component + 1] - this.componentOffsets[component]];
+		System.arraycopy(this.componentMembers, this.componentOffsets[component], connectedAreas, 0, connectedAreas.length);
+
+		return connectedAreas;
+	}
+
+	private void ensureValid() {
+		if (!this.valid) {
+			recompute();
+			this.valid = true;
+		}
+	}
+
+	/**
+	 * labels all areas breadth first. The member array doubles as queue, since
+	 * areas are appended in the order they are visited
+	 */
+	private void recompute() {
+		for (int i = 0; i < this.componentOf.length; i++) {
+			this.componentOf[i] = this.state.getOwner(i) == BoardState.NO_OWNER ? -1 : Integer.MIN_VALUE;
+		}
+
+		int components = 0;
+		int tail = 0;
+		for (int start = 0; start < this.componentOf.length; start++) {
+			if (this.componentOf[start] != Integer.MIN_VALUE) {
+				continue;
+			}
+
+			int owner = this.state.getOwner(start);
+			int head = tail;
+			this.componentOffsets[components] = head;
+			this.componentOf[start] = components;
+			this.componentMembers[tail++] = start;
+
+			while (head < tail) {
+				int area = this.componentMembers[head++];
+
+				for (int n = 0; n < this.graph.getNumberOfNeighbours(area); n++) {
+					int neighbour = this.graph.getNeighbour(area, n);
+					if (this.componentOf[neighbour] == Integer.MIN_VALUE && this.state.getOwner(neighbour) == owner) {
+						this.componentOf[neighbour] = components;
+						this.componentMembers[tail++] = neighbour;
+					}
+				}
+			}
+
+			components++;
+		}
+		this.componentOffsets[components] = tail;
+	}
+}
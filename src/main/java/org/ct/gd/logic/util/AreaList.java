@@ -1,26 +1,313 @@
 package org.ct.gd.logic.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
+import org.ct.gd.logic.exception.InvalidMappingException;
 import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.AreaChangeListener;
 import org.ct.gd.logic.model.Continent;
 import org.ct.gd.logic.model.Player;
 
 /**
  * custom implementation of an arraylist to provide specialized area related
- * methods - therefore the contained objects are always areas
- * 
+ * methods - therefore the contained objects are always areas. <br>
+ * A compiled list contains the area views of a single game's
+ * {@link BoardState}. Besides that it keeps an ownership index:
+ * one bitset (long words over the area ids) per player and a
+ * {@link ContinentControlTracker}, both updated whenever the controlling
+ * player of an area changes. As long as the list is not structurally modified
+ * afterwards, all ownership related queries are answered from those indices
+ * instead of scanning all areas. <br>
+ * Areas are looked up by name through a hash index (exact and case
+ * insensitive) that is rebuilt after the list was structurally modified.
+ *
  * @author ct
- * 
+ *
  */
-public class AreaList extends ArrayList<Area> {
+public class AreaList extends ArrayList<Area> implements AreaChangeListener {
 
 	private static final long serialVersionUID = -8420837417463594917L;
 
 	/**
-	 * checks if a player controls given continent
+	 * the dynamic state of the board the areas of this list are viewing, null
+	 * if the list was not compiled yet
+	 */
+	private BoardState boardState;
+
+	/**
+	 * number of controlled areas per player and continent
+	 */
+	private ContinentControlTracker continentControlTracker;
+
+	/**
+	 * connected components of areas controlled by the same player
+	 */
+	private AreaConnectivity connectivity;
+
+	/**
+	 * bitsets of all areas controlled by a player
+	 */
+	private Map<Player, long[]> ownership;
+
+	/**
+	 * areas by their exact name and by their lower case name, built on demand
+	 */
+	private transient Map<String, Area> areasByName;
+	private transient Map<String, Area> areasByLowerCaseName;
+
+	/**
+	 * the modification count of this list at the time the name index was built
+	 */
+	private transient int nameIndexModCount;
+
+	/**
+	 * the modification count of this list at the time it was compiled. If the
+	 * list was structurally modified since then, the indices are not used.
+	 * Transient like the modification count itself
+	 */
+	private transient int compiledModCount;
+
+	/**
+	 * compiles the areas of this list into a board graph. Each area gets its
+	 * position in this list as id and is attached to a new board state, so
+	 * following a neighbour always leads to the area that is actually played
+	 * on.
+	 *
+	 * @return the compiled board graph
+	 * @throws InvalidMappingException
+	 *             if the areas don't form a valid board (see
+	 *             {@link BoardGraph#compile(List)})
+	 */
+	public BoardGraph compileBoardGraph() throws InvalidMappingException {
+		BoardGraph graph = BoardGraph.compile(this);
+		attach(graph);
+
+		return graph;
+	}
+
+	/**
+	 * creates a new list of areas from an already compiled board graph. All
+	 * areas are new instances without controlling player or armies, the graph
+	 * itself is shared.
+	 * 
+	 * @param graph
+	 *            the topology of the board
+	 * @return a compiled list containing one area per id of the graph
+	 */
+	public static AreaList fromBoardGraph(BoardGraph graph) {
+		AreaList areaList = new AreaList();
+		BoardState state = new BoardState(graph);
+
+		for (int i = 0; i < graph.getNumberOfAreas(); i++) {
+			Area area = new Area(state, i);
+			state.setArea(i, area);
+			areaList.add(area);
+		}
+		areaList.index(state);
+
+		return areaList;
+	}
+
+	/**
+	 * creates an independent copy of a compiled list: armies and controlling
+	 * players are copied into a new board state, the topology is shared and
+	 * all ownership indices are rebuilt for the copy
+	 * 
+	 * @param players
+	 *            the copies of the controlling players by the original
+	 *            instances (compared by identity), players without copy are
+	 *            copied and added
+	 * @return the copied list
+	 */
+	public AreaList copy(Map<Player, Player> players) {
+		if (!isIndexed()) {
+			throw new IllegalStateException("Only compiled area lists can be copied");
+		}
+
+		BoardState state = this.boardState.copy(players);
+		AreaList areaList = new AreaList();
+		for (int i = 0; i < this.size(); i++) {
+			Area area = new Area(state, i);
+			state.setArea(i, area);
+			areaList.add(area);
+		}
+		areaList.index(state);
+
+		return areaList;
+	}
+
+	/**
+	 * attaches the areas of this list to a new state of the given graph. The
+	 * area at position i of this list becomes the area with id i of the graph
+	 * 
+	 * @param graph
+	 *            the compiled topology of the areas of this list
+	 */
+	private void attach(BoardGraph graph) {
+		BoardState state = new BoardState(graph);
+
+		for (int i = 0; i < this.size(); i++) {
+			this.get(i).attach(state, i);
+			state.setArea(i, this.get(i));
+		}
+
+		index(state);
+	}
+
+	/**
+	 * builds all ownership indices over the given state and registers this
+	 * list as listener of all areas
+	 * 
+	 * @param state
+	 *            the state viewed by the areas of this list
+	 */
+	private void index(BoardState state) {
+		this.continentControlTracker = new ContinentControlTracker();
+		this.ownership = new HashMap<>();
+
+		for (int i = 0; i < this.size(); i++) {
+			Area area = state.getArea(i);
+			this.continentControlTracker.addArea(area.getContinent(), area.getControllingPlayer());
+
+			if (area.getControllingPlayer() != null) {
+				getOwnershipWords(area.getControllingPlayer(), true)[i >>> 6] |= 1L << i;
+			}
+			area.setChangeListener(this);
+		}
+
+		this.boardState = state;
+		this.connectivity = new AreaConnectivity(state);
+		this.compiledModCount = this.modCount;
+	}
+
+	/**
+	 * @return the compiled topology of this list, null if the list has not
+	 *         been compiled
+	 */
+	public BoardGraph getBoardGraph() {
+		return this.boardState == null ? null : this.boardState.getBoardGraph();
+	}
+
+	/**
+	 * @return the dynamic state of the board viewed by the areas of this list,
+	 *         null if the list has not been compiled
+	 */
+	public BoardState getBoardState() {
+		return this.boardState;
+	}
+
+	/**
+	 * gives read access to the number of areas each player controls per
+	 * continent
+	 * 
+	 * @return the continent control tracker of this list, null if the list has
+	 *         not been compiled
+	 */
+	public ContinentControlTracker getContinentControlTracker() {
+		return this.continentControlTracker;
+	}
+
+	/**
+	 * gives read access to the connected components of areas controlled by
+	 * the same player
+	 * 
+	 * @return the connectivity of this list, null if the list has not been
+	 *         compiled
+	 */
+	public AreaConnectivity getAreaConnectivity() {
+		return this.connectivity;
+	}
+
+	/**
+	 * gets an area by its id within the compiled board graph
+	 *
+	 * @param index
+	 *            the id of the area
+	 * @return the area with the given id, null if there is none or the list
+	 *         has not been compiled
+	 */
+	public Area getByIndex(int index) {
+		if (this.boardState == null || index < 0 || index >= this.boardState.getBoardGraph().getNumberOfAreas()) {
+			return null;
+		}
+
+		return this.boardState.getArea(index);
+	}
+
+	/**
+	 * keeps the ownership indices up to date, called by the areas of this list
+	 */
+	@Override
+	public void controllingPlayerChanged(Area area, Player previousPlayer, Player controllingPlayer) {
+		if (this.ownership == null || area.getIndex() < 0) {
+			return;
+		}
+
+		int word = area.getIndex() >>> 6;
+		long bit = 1L << area.getIndex();
+
+		this.continentControlTracker.areaChanged(area.getContinent(), previousPlayer, controllingPlayer);
+		this.connectivity.invalidate();
+
+		if (previousPlayer != null) {
+			getOwnershipWords(previousPlayer, true)[word] &= ~bit;
+		}
+		if (controllingPlayer != null) {
+			getOwnershipWords(controllingPlayer, true)[word] |= bit;
+		}
+	}
+
+	/**
+	 * checks if armies can be moved from one area to another, meaning both
+	 * areas are controlled by the same player and connected through areas of
+	 * that player
+	 * 
+	 * @param source
+	 *            the area armies are moved from
+	 * @param destination
+	 *            the area armies are moved to
+	 * @return true, if the destination is reachable from the source, false
+	 *         otherwise or if the list has not been compiled
+	 */
+	public boolean isConnected(Area source, Area destination) {
+		if (this.connectivity == null || source == null || destination == null) {
+			return false;
+		}
+
+		return this.connectivity.isConnected(source.getIndex(), destination.getIndex());
+	}
+
+	/**
+	 * retrieves all areas that can be reached from the given area by only
+	 * passing areas of the player controlling it
 	 * 
+	 * @param area
+	 *            the area to get the connected areas for
+	 * @return all areas connected to the given area including the area itself,
+	 *         an empty list if the area is not controlled by any player or the
+	 *         list has not been compiled
+	 */
+	public List<Area> getConnectedAreas(Area area) {
+		List<Area> areas = new ArrayList<>();
+
+		if (this.connectivity == null || area == null || getByIndex(area.getIndex()) != area) {
+			return areas;
+		}
+
+		for (int index : this.connectivity.getConnectedAreas(area.getIndex())) {
+			areas.add(this.boardState.getArea(index));
+		}
+
+		return areas;
+	}
+
+	/**
+	 * checks if a player controls given continent
+	 *
 	 * @param continent
 	 *            the continent the player is questioned to control
 	 * @param player
@@ -33,6 +320,10 @@ public class AreaList extends ArrayList<Area> {
 			return false;
 		}
 
+		if (isIndexed()) {
+			return this.continentControlTracker.controlsContinent(player, continent);
+		}
+
 		for (Area area : this) {
 			if (area == null || area.getContinent() == null) {
 				return false;
@@ -50,7 +341,7 @@ public class AreaList extends ArrayList<Area> {
 
 	/**
 	 * searches all areas in the given continent
-	 * 
+	 *
 	 * @param continent
 	 *            the continent all areas should be returned for
 	 * @return all areas within a given continent, null if no areas were found
@@ -74,12 +365,16 @@ public class AreaList extends ArrayList<Area> {
 
 	/**
 	 * returns the amount of areas under control of the given player
-	 * 
+	 *
 	 * @param player
 	 *            the player for whom the areas should be determined
 	 * @return the number of areas the player actually controls
 	 */
 	public int getNumberOfAreasControlledByPlayer(Player player) {
+		if (isIndexed()) {
+			return this.continentControlTracker.getNumberOfAreas(player);
+		}
+
 		int numberOfAreas = 0;
 
 		for (Area area : this) {
@@ -96,12 +391,16 @@ public class AreaList extends ArrayList<Area> {
 	 * check if the given player has reached the ultimate goal: world
 	 * domination. Meaning controlling every area on the map. <br>
 	 * Muhahahahaha
-	 * 
+	 *
 	 * @param player
 	 *            the player to check world domination for
 	 * @return true if world domination was achieved, false otherwise
 	 */
 	public boolean isWorldDomination(Player player) {
+		if (isIndexed()) {
+			return this.continentControlTracker.getNumberOfAreas(player) == this.size();
+		}
+
 		for (Area area : this) {
 			if (area == null || area.getControllingPlayer() == null
 					|| !area.getControllingPlayer().equals(player)) {
@@ -114,31 +413,73 @@ public class AreaList extends ArrayList<Area> {
 
 	/**
 	 * gets an area by its name
-	 * 
+	 *
 	 * @param areaName
 	 * @return if an area with the given name exists it is returned - null
 	 *         otherwise
 	 */
 	public Area getByName(String areaName) {
-		for (Area area : this) {
-			if (area.getName().equals(areaName)) {
-				return area;
-			}
+		ensureNameIndex();
+
+		return this.areasByName.get(areaName);
+	}
+
+	/**
+	 * gets an area by its name ignoring the case of the name
+	 * 
+	 * @param areaName
+	 *            the name of the area in any case
+	 * @return if an area with the given name exists it is returned - null
+	 *         otherwise
+	 */
+	public Area getByNameIgnoreCase(String areaName) {
+		if (areaName == null) {
+			return null;
 		}
+		ensureNameIndex();
 
-		return null;
+		return this.areasByLowerCaseName.get(areaName.toLowerCase(Locale.ROOT));
+	}
+
+	@Override
+	public Area set(int index, Area area) {
+		Area previousArea = super.set(index, area);
+		// replacing an element doesn't count as structural modification, the
+		// indices still describe the previous area and are dropped as well
+		this.areasByName = null;
+		if (area != previousArea) {
+			this.compiledModCount = this.modCount - 1;
+		}
+
+		return previousArea;
 	}
 
 	/**
 	 * retrieves a list of areas that are currently controlled by the given
 	 * player
-	 * 
+	 *
 	 * @param player
 	 *            the player to get all areas for
 	 * @return a list of areas controlled by the player
 	 */
 	public List<Area> getAreasControlledByPlayer(Player player) {
 		List<Area> areas = new ArrayList<>();
+
+		if (isIndexed()) {
+			long[] owned = getOwnershipWords(player, false);
+			if (owned != null) {
+				for (int i = 0; i < owned.length; i++) {
+					long word = owned[i];
+					while (word != 0) {
+						areas.add(this.boardState.getArea((i << 6) + Long.numberOfTrailingZeros(word)));
+						word &= word - 1;
+					}
+				}
+			}
+
+			return areas;
+		}
+
 		for (Area area : this) {
 			if (area != null && area.getControllingPlayer() != null
 					&& area.getControllingPlayer().equals(player)) {
@@ -148,4 +489,93 @@ public class AreaList extends ArrayList<Area> {
 
 		return areas;
 	}
+
+	/**
+	 * gets the areas controlled by a player as bitset over the area ids of the
+	 * compiled board. The returned words may be the index itself and must not
+	 * be modified
+	 *
+	 * @param player
+	 *            the player to get the areas for
+	 * @return the bitset of all areas in this list controlled by the player
+	 */
+	long[] getControlledAreaMask(Player player) {
+		if (isIndexed()) {
+			long[] owned = getOwnershipWords(player, false);
+
+			return owned != null ? owned : new long[getNumberOfWords(this.size())];
+		}
+
+		long[] owned = new long[getNumberOfWords(this.boardState.getBoardGraph().getNumberOfAreas())];
+		for (Area area : this) {
+			if (area != null && area.getIndex() >= 0 && area.getControllingPlayer() != null
+					&& area.getControllingPlayer().equals(player)) {
+				owned[area.getIndex() >>> 6] |= 1L << area.getIndex();
+			}
+		}
+
+		return owned;
+	}
+
+	/**
+	 * @return true, if the ownership index can be used for queries (list is
+	 *         compiled and was not structurally modified since)
+	 */
+	private boolean isIndexed() {
+		return this.boardState != null && this.compiledModCount == this.modCount;
+	}
+
+	/**
+	 * (re)builds the name indices if the list changed since they were built.
+	 * If names occur more than once the first area wins, just like a linear
+	 * search would
+	 */
+	private void ensureNameIndex() {
+		if (this.areasByName != null && this.nameIndexModCount == this.modCount) {
+			return;
+		}
+
+		Map<String, Area> areasByName = new HashMap<>();
+		Map<String, Area> areasByLowerCaseName = new HashMap<>();
+		for (Area area : this) {
+			if (area != null && area.getName() != null) {
+				if (!areasByName.containsKey(area.getName())) {
+					areasByName.put(area.getName(), area);
+				}
+				String lowerCaseName = area.getName().toLowerCase(Locale.ROOT);
+				if (!areasByLowerCaseName.containsKey(lowerCaseName)) {
+					areasByLowerCaseName.put(lowerCaseName, area);
+				}
+			}
+		}
+
+		this.areasByName = areasByName;
+		this.areasByLowerCaseName = areasByLowerCaseName;
+		this.nameIndexModCount = this.modCount;
+	}
+
+	/**
+	 * gets the ownership bitset of a player
+	 *
+	 * @param player
+	 *            the player to get the bitset for
+	 * @param create
+	 *            if true, an empty bitset is created for players not known yet
+	 * @return the bitset of all areas controlled by the player, null if the
+	 *         player is not known and create is false
+	 */
+	private long[] getOwnershipWords(Player player, boolean create) {
+		long[] words = this.ownership.get(player);
+
+		if (words == null && create) {
+			words = new long[getNumberOfWords(this.size())];
+			this.ownership.put(player, words);
+		}
+
+		return words;
+	}
+
+	private static int getNumberOfWords(int numberOfAreas) {
+		return (numberOfAreas + 63) >>> 6;
+	}
 }
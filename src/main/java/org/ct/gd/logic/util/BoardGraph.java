@@ -0,0 +1,191 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Continent;
+
+/**
+ * compiled representation of the game board. Every area gets a dense id (its
+ * index) and the adjacency of all areas is held in two primitive arrays in
+ * compressed sparse row layout: the neighbours of area <code>i</code> are
+ * found in <code>neighbourTargets[neighbourOffsets[i]]</code> up to (but not
+ * including) <code>neighbourTargets[neighbourOffsets[i + 1]]</code>. <br>
+ * The graph only contains the static topology of the board and is never
+ * changed after it was compiled.
+ *
+ * @author ct
+ *
+ */
+public class BoardGraph implements Serializable {
+
+	private static final long serialVersionUID = 2364583007283626914L;
+
+	private final String[] names;
+	private final Continent[] continents;
+	private final int[] neighbourOffsets;
+	private final int[] neighbourTargets;
+	private final Map<String, Integer> indexByName;
+
+	/**
+	 * the keys hashing the states of this board
+	 */
+	private final ZobristKeys zobristKeys;
+
+	private BoardGraph(String[] names, Continent[] continents, int[] neighbourOffsets, int[] neighbourTargets, Map<String, Integer> indexByName) {
+		this.names = names;
+		this.continents = continents;
+		this.neighbourOffsets = neighbourOffsets;
+		this.neighbourTargets = neighbourTargets;
+		this.indexByName = indexByName;
+		this.zobristKeys = new ZobristKeys(names.length);
+	}
+
+	/**
+	 * compiles the given areas into a board graph. The id of each area is its
+	 * position in the given list, neighbours are resolved by their name.
+	 *
+	 * @param areas
+	 *            all areas of the board as mapped from the area definition
+	 * @return the compiled board graph
+	 * @throws InvalidMappingException
+	 *             if an area is defined twice or a neighbour refers to an
+	 *             area that is not part of the board
+	 */
+	public static BoardGraph compile(List<Area> areas) throws InvalidMappingException {
+		if (areas == null) {
+			throw new InvalidMappingException("No areas given to compile the board from");
+		}
+
+		int numberOfAreas = areas.size();
+		String[] names = new String[numberOfAreas];
+		Continent[] continents = new Continent[numberOfAreas];
+		Map<String, Integer> indexByName = new HashMap<>();
+
+		int numberOfEdges = 0;
+		for (int i = 0; i < numberOfAreas; i++) {
+			Area area = areas.get(i);
+			if (area == null || area.getName() == null || area.getContinent() == null) {
+				throw new InvalidMappingException("Area at position " + i + " is incomplete");
+			}
+			if (indexByName.put(area.getName(), i) != null) {
+				throw new InvalidMappingException("Area " + area.getName() + " is defined more than once");
+			}
+
+			names[i] = area.getName();
+			continents[i] = area.getContinent();
+			if (area.getNeighbours() != null) {
+				numberOfEdges += area.getNeighbours().size();
+			}
+		}
+
+		int[] neighbourOffsets = new int[numberOfAreas + 1];
+		int[] neighbourTargets = new int[numberOfEdges];
+
+		int edge = 0;
+		for (int i = 0; i < numberOfAreas; i++) {
+			neighbourOffsets[i] = edge;
+
+			List<Area> neighbours = areas.get(i).getNeighbours();
+			if (neighbours == null) {
+				continue;
+			}
+
+			for (Area neighbour : neighbours) {
+				Integer target = neighbour == null ? null : indexByName.get(neighbour.getName());
+				if (target == null) {
+					throw new InvalidMappingException("Area " + names[i] + " has a neighbour that is not part of the board: " + neighbour);
+				}
+				neighbourTargets[edge++] = target;
+			}
+		}
+		neighbourOffsets[numberOfAreas] = edge;
+
+		return new BoardGraph(names, continents, neighbourOffsets, neighbourTargets, indexByName);
+	}
+
+	/**
+	 * @return the number of areas on the board
+	 */
+	public int getNumberOfAreas() {
+		return this.names.length;
+	}
+
+	/**
+	 * @return the keys of the Zobrist hash of the states of this board
+	 */
+	public ZobristKeys getZobristKeys() {
+		return this.zobristKeys;
+	}
+
+	public String getName(int area) {
+		return this.names[area];
+	}
+
+	public Continent getContinent(int area) {
+		return this.continents[area];
+	}
+
+	/**
+	 * gets the id of an area by its name
+	 *
+	 * @param areaName
+	 *            the name of the area
+	 * @return the id of the area, -1 if there is no area with the given name
+	 */
+	public int getIndex(String areaName) {
+		Integer index = this.indexByName.get(areaName);
+
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the number of areas directly connected to the given area
+	 */
+	public int getNumberOfNeighbours(int area) {
+		return this.neighbourOffsets[area + 1] - this.neighbourOffsets[area];
+	}
+
+	/**
+	 * gets the id of a single neighbour of an area
+	 *
+	 * @param area
+	 *            the id of the area
+	 * @param neighbour
+	 *            the position of the neighbour (between 0 and
+	 *            getNumberOfNeighbours(area) - 1)
+	 * @return the id of the neighbouring area
+	 */
+	public int getNeighbour(int area, int neighbour) {
+		return this.neighbourTargets[this.neighbourOffsets[area] + neighbour];
+	}
+
+	/**
+	 * checks if two areas are directly connected
+	 *
+	 * @param area
+	 *            the id of the first area
+	 * @param otherArea
+	 *            the id of the second area
+	 * @return true, if otherArea is a neighbour of area, false otherwise
+	 */
+	public boolean isNeighbour(int area, int otherArea) {
+		if (area < 0 || area >= this.names.length || otherArea < 0 || otherArea >= this.names.length) {
+			return false;
+		}
+
+		for (int i = this.neighbourOffsets[area]; i < this.neighbourOffsets[area + 1]; i++) {
+			if (this.neighbourTargets[i] == otherArea) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,287 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Player;
+
+/**
+ * the dynamic state of a single game's board: the armies and the controlling
+ * player of every area, held in primitive arrays indexed by area id. The
+ * static topology (names, continents, neighbours) is taken from a
+ * {@link BoardGraph} that is shared by all games. <br>
+ * The areas of a game are thin views over this state, see
+ * {@link Area#Area(BoardState, int)}. <br>
+ * The state keeps the Zobrist hash of all owners and army buckets up to date
+ * with every change (see {@link ZobristKeys}), and the frontier of the board
+ * once it has been requested (see {@link FrontierTracker}).
+ *
+ * @author ct
+ *
+ */
+public class BoardState implements Serializable {
+
+	private static final long serialVersionUID = -6413542906575047437L;
+
+	/**
+	 * stored as owner of an area that is not controlled by any player
+	 */
+	public static final int NO_OWNER = 0;
+
+	private static final int MAXIMUM_NUMBER_OF_OWNERS = Byte.MAX_VALUE;
+
+	private final BoardGraph graph;
+
+	/**
+	 * the area views of this state ordered by their id
+	 */
+	private final Area[] areas;
+
+	private final int[] armies;
+
+	/**
+	 * owner slot per area, see {@link #getOwner(int)}
+	 */
+	private final byte[] owners;
+
+	/**
+	 * all players that controlled an area of this board, a player with owner
+	 * slot s is stored at position s - 1
+	 */
+	private Player[] players = new Player[0];
+
+	/**
+	 * exclusive or of the owner and army keys of all areas
+	 */
+	private long hash;
+
+	/**
+	 * created with the first request, null before
+	 */
+	private FrontierTracker frontierTracker;
+
+	/**
+	 * creates an empty state (no controlling players, no armies) for the given
+	 * topology
+	 *
+	 * @param graph
+	 *            the topology of the board
+	 */
+	public BoardState(BoardGraph graph) {
+		this.graph = graph;
+		this.areas = new Area[graph.getNumberOfAreas()];
+		this.armies = new int[graph.getNumberOfAreas()];
+		this.owners = new byte[graph.getNumberOfAreas()];
+	}
+
+	/**
+	 * creates an independent copy of a state without area views
+	 */
+	private BoardState(BoardState state, Map<Player, Player> players) {
+		this.graph = state.graph;
+		this.areas = new Area[state.areas.length];
+		this.armies = state.armies.clone();
+		this.owners = state.owners.clone();
+		this.hash = state.hash;
+		this.frontierTracker = state.frontierTracker == null ? null : state.frontierTracker.copy(this);
+		this.players = new Player[state.players.length];
+
+		for (int i = 0; i < this.players.length; i++) {
+			Player player = players.get(state.players[i]);
+			if (player == null) {
+				// players that left the game still keep their slot
+				player = state.players[i].copy();
+				players.put(state.players[i], player);
+			}
+			this.players[i] = player;
+		}
+	}
+
+	/**
+	 * copies armies and controlling players of all areas. The topology is
+	 * shared, the copy has no area views yet
+	 * 
+	 * @param players
+	 *            the copies of the players of this state by the original
+	 *            instances, players without copy are copied and added
+	 * @return the copied state
+	 */
+	BoardState copy(Map<Player, Player> players) {
+		return new BoardState(this, players);
+	}
+
+	/**
+	 * sets the area instance representing the area with the given id
+	 *
+	 * @param index
+	 *            the id of the area
+	 * @param area
+	 *            the area viewing this state
+	 */
+	void setArea(int index, Area area) {
+		this.areas[index] = area;
+	}
+
+	public BoardGraph getBoardGraph() {
+		return this.graph;
+	}
+
+	/**
+	 * @param index
+	 *            the id of the area
+	 * @return the area instance of this game with the given id
+	 */
+	public Area getArea(int index) {
+		return this.areas[index];
+	}
+
+	public int getArmies(int index) {
+		return this.armies[index];
+	}
+
+	public void setArmies(int index, int armies) {
+		ZobristKeys keys = this.graph.getZobristKeys();
+		this.hash ^= keys.getArmiesKey(index, this.armies[index]) ^ keys.getArmiesKey(index, armies);
+		int previousArmies = this.armies[index];
+		this.armies[index] = armies;
+
+		if (this.frontierTracker != null) {
+			this.frontierTracker.armiesChanged(index, armies - previousArmies);
+		}
+	}
+
+	/**
+	 * @return the Zobrist hash of the controlling players and the bucketed
+	 *         armies of all areas, maintained with every change
+	 */
+	public long getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * @return the frontier of this board, kept up to date with every change
+	 *         from the first request on
+	 */
+	public FrontierTracker getFrontierTracker() {
+		if (this.frontierTracker == null) {
+			this.frontierTracker = new FrontierTracker(this);
+		}
+
+		return this.frontierTracker;
+	}
+
+	/**
+	 * gets the owner slot of an area. Each player controlling areas of this
+	 * board gets a small number (starting with 1) when controlling an area
+	 * for the first time. Comparing owner slots is the cheapest way to check
+	 * if two areas are controlled by the same player.
+	 *
+	 * @param index
+	 *            the id of the area
+	 * @return the owner slot of the area, {@link #NO_OWNER} if no player
+	 *         controls the area
+	 */
+	public int getOwner(int index) {
+		return this.owners[index];
+	}
+
+	/**
+	 * @param player
+	 *            the player to get the owner slot for
+	 * @return the owner slot of the player, {@link #NO_OWNER} if the player
+	 *         never controlled an area of this board
+	 */
+	public int getOwnerSlot(Player player) {
+		if (player == null) {
+			return NO_OWNER;
+		}
+
+		for (int i = 0; i < this.players.length; i++) {
+			if (this.players[i].equals(player)) {
+				return i + 1;
+			}
+		}
+
+		return NO_OWNER;
+	}
+
+	/**
+	 * @param owner
+	 *            an owner slot
+	 * @return the player with the given owner slot, null for
+	 *         {@link #NO_OWNER}
+	 */
+	public Player getPlayer(int owner) {
+		return owner == NO_OWNER ? null : this.players[owner - 1];
+	}
+
+	public Player getControllingPlayer(int index) {
+		return getPlayer(this.owners[index]);
+	}
+
+	/**
+	 * sets the controlling player of an area. Players equal to a player that
+	 * already controlled an area of this board share that players slot.
+	 *
+	 * @param index
+	 *            the id of the area
+	 * @param player
+	 *            the new controlling player, may be null
+	 * @return the player controlling the area before
+	 */
+	public Player setControllingPlayer(int index, Player player) {
+		Player previousPlayer = getControllingPlayer(index);
+		int owner = getOwnerSlot(player);
+
+		if (player != null && owner == NO_OWNER) {
+			if (this.players.length == MAXIMUM_NUMBER_OF_OWNERS) {
+				throw new IllegalStateException("A board can't be controlled by more than " + MAXIMUM_NUMBER_OF_OWNERS + " players");
+			}
+			this.players = Arrays.copyOf(this.players, this.players.length + 1);
+			this.players[this.players.length - 1] = player;
+			owner = this.players.length;
+		}
+
+		ZobristKeys keys = this.graph.getZobristKeys();
+		this.hash ^= keys.getOwnerKey(index, this.owners[index]) ^ keys.getOwnerKey(index, owner);
+		int previousOwner = this.owners[index];
+		this.owners[index] = (byte) owner;
+
+		if (this.frontierTracker != null && previousOwner != owner) {
+			this.frontierTracker.ownerChanged(index, previousOwner);
+		}
+
+		return previousPlayer;
+	}
+
+	/**
+	 * creates a read only list of the neighbours of an area. The list is a view
+	 * on the topology, no areas are copied
+	 *
+	 * @param index
+	 *            the id of the area
+	 * @return the area instances of all neighbours
+	 */
+	public List<Area> getNeighbours(final int index) {
+		return new AbstractList<Area>() {
+
+			@Override
+			public Area get(int neighbour) {
+				if (neighbour < 0 || neighbour >= size()) {
+					throw new IndexOutOfBoundsException("Neighbour " + neighbour + " of " + size());
+				}
+
+				return BoardState.this.areas[BoardState.this.graph.getNeighbour(index, neighbour)];
+			}
+
+			@Override
+			public int size() {
+				return BoardState.this.graph.getNumberOfNeighbours(index);
+			}
+		};
+	}
+}
@@ -0,0 +1,151 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+
+/**
+ * rolls six sided dice in bulk: a single 64 bit word of a
+ * {@link RandomSource} is turned into 24 dice by reading it as a number with
+ * 24 base-6 digits. <br>
+ * Since 6^24 does not divide 2^64, words at or above the largest multiple of
+ * 6^24 below 2^64 (3 * 6^24) are rejected, which keeps every digit uniform
+ * and independent. About 77% of all words are accepted, so a die costs
+ * roughly 1/18 of a draw. The digits not used yet are kept as buffer for the
+ * following rolls. Generators are not thread safe, every game owns its own.
+ * 
+ * @author ct
+ * 
+ */
+public class BulkDiceGenerator implements Serializable {
+
+	private static final long serialVersionUID = 2694140186096301577L;
+
+	public static final int DICE_EYES = 6;
+
+	/**
+	 * number of dice extracted from one word
+	 */
+	public static final int DICE_PER_WORD = 24;
+
+	/**
+	 * the most dice combined into one roll, 6^11 is the largest power of six
+	 * that fits into an int
+	 */
+	public static final int MAXIMUM_DICE_PER_ROLL = 11;
+
+	/**
+	 * 6^24, the number of distinct values of 24 dice
+	 */
+	private static final long RANGE = 4738381338321616896L;
+
+	/**
+	 * 3 * 6^24 as unsigned value, all words below are accepted
+	 */
+	private static final long LIMIT = 3 * RANGE;
+
+	private final RandomSource randomSource;
+
+	/**
+	 * the dice not used yet, as base-6 digits
+	 */
+	private long buffer;
+	private int bufferedDice = 0;
+
+	/**
+	 * @param randomSource
+	 *            the source providing the random words
+	 */
+	public BulkDiceGenerator(RandomSource randomSource) {
+		this.randomSource = randomSource;
+	}
+
+	/**
+	 * creates a generator rolling the same dice as this generator, drawing
+	 * its further words from the given source
+	 * 
+	 * @param randomSource
+	 *            a copy of the source of this generator
+	 * @return the new generator, including the dice buffered by this
+	 *         generator
+	 */
+	public BulkDiceGenerator copy(RandomSource randomSource) {
+		BulkDiceGenerator copy = new BulkDiceGenerator(randomSource);
+		copy.buffer = this.buffer;
+		copy.bufferedDice = this.bufferedDice;
+
+		return copy;
+	}
+
+	/**
+	 * @return the value of a single die (1 to 6)
+	 */
+	public int nextDie() {
+		return nextDigit() + 1;
+	}
+
+	/**
+	 * rolls several dice at once and combines them into a single value
+	 * 
+	 * @param numberOfDice
+	 *            the number of dice to roll, at most
+	 *            {@link #MAXIMUM_DICE_PER_ROLL}
+	 * @return a uniformly distributed value between 0 (inclusive) and
+	 *         6^numberOfDice (exclusive)
+	 */
+	public int nextRoll(int numberOfDice) {
+		if (numberOfDice < 0 || numberOfDice > MAXIMUM_DICE_PER_ROLL) {
+			throw new IllegalArgumentException("Between 0 and " + MAXIMUM_DICE_PER_ROLL + " dice can be rolled at once, not " + numberOfDice);
+		}
+
+		int roll = 0;
+		for (int i = 0; i < numberOfDice; i++) {
+			roll = roll * DICE_EYES + nextDigit();
+		}
+
+		return roll;
+	}
+
+	/**
+	 * fills an array with dice
+	 * 
+	 * @param dice
+	 *            the array to fill
+	 * @param offset
+	 *            the position of the first die
+	 * @param length
+	 *            the number of dice
+	 */
+	public void nextDice(byte[] dice, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			dice[i] = (byte) (nextDigit() + 1);
+		}
+	}
+
+	/**
+	 * @return the number of dice rolled already but not used yet
+	 */
+	public int getNumberOfBufferedDice() {
+		return this.bufferedDice;
+	}
+
+	private int nextDigit() {
+		if (this.bufferedDice == 0) {
+			refill();
+		}
+
+		int digit = (int) (this.buffer % DICE_EYES);
+		this.buffer /= DICE_EYES;
+		this.bufferedDice--;
+
+		return digit;
+	}
+
+	private void refill() {
+		long word;
+		do {
+			word = this.randomSource.nextLong();
+		} while (Long.compareUnsigned(word, LIMIT) >= 0);
+
+		this.buffer = Long.remainderUnsigned(word, RANGE);
+		this.bufferedDice = DICE_PER_WORD;
+	}
+}
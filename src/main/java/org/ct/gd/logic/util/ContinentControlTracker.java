@@ -0,0 +1,162 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.Player;
+
+/**
+ * keeps track of the number of areas each player controls per continent. The
+ * counters are updated by the owning {@link AreaList} whenever the controlling
+ * player of an area changes, so all queries of this class are constant-time
+ * look ups. <br>
+ * Clients may only read from the tracker, it is updated by the area list
+ * exclusively.
+ *
+ * @author ct
+ *
+ */
+public class ContinentControlTracker implements Serializable {
+
+	private static final long serialVersionUID = -2710548617740350637L;
+
+	private static final Continent[] CONTINENTS = Continent.values();
+
+	/**
+	 * position of the total number of controlled areas within the counters of
+	 * a player (behind the counters per continent)
+	 */
+	private static final int TOTAL = CONTINENTS.length;
+
+	/**
+	 * the number of areas each continent consists of, indexed by the
+	 * continents ordinal
+	 */
+	private final int[] areasPerContinent = new int[CONTINENTS.length];
+
+	/**
+	 * per player the number of controlled areas per continent and in total
+	 */
+	private final Map<Player, int[]> controlledAreas = new HashMap<>();
+
+	/**
+	 * registers an area of the board
+	 *
+	 * @param continent
+	 *            the continent the area is located in
+	 * @param controllingPlayer
+	 *            the player currently controlling the area, may be null
+	 */
+	void addArea(Continent continent, Player controllingPlayer) {
+		this.areasPerContinent[continent.ordinal()]++;
+		areaChanged(continent, null, controllingPlayer);
+	}
+
+	/**
+	 * updates the counters after an area changed its controlling player
+	 *
+	 * @param continent
+	 *            the continent the area is located in
+	 * @param previousPlayer
+	 *            the player controlling the area before, may be null
+	 * @param controllingPlayer
+	 *            the player now controlling the area, may be null
+	 */
+	void areaChanged(Continent continent, Player previousPlayer, Player controllingPlayer) {
+		if (previousPlayer != null) {
+			int[] counters = getCounters(previousPlayer, true);
+			counters[continent.ordinal()]--;
+			counters[TOTAL]--;
+		}
+		if (controllingPlayer != null) {
+			int[] counters = getCounters(controllingPlayer, true);
+			counters[continent.ordinal()]++;
+			counters[TOTAL]++;
+		}
+	}
+
+	/**
+	 * @param player
+	 *            the player to get the number of areas for
+	 * @return the number of areas the player controls on the whole board
+	 */
+	public int getNumberOfAreas(Player player) {
+		int[] counters = getCounters(player, false);
+
+		return counters == null ? 0 : counters[TOTAL];
+	}
+
+	/**
+	 * @param player
+	 *            the player to get the number of areas for
+	 * @param continent
+	 *            the continent to count the areas in
+	 * @return the number of areas the player controls in the given continent
+	 */
+	public int getNumberOfAreas(Player player, Continent continent) {
+		int[] counters = getCounters(player, false);
+
+		return counters == null || continent == null ? 0 : counters[continent.ordinal()];
+	}
+
+	/**
+	 * @param continent
+	 *            the continent to get the size for
+	 * @return the number of areas the given continent consists of
+	 */
+	public int getSizeOfContinent(Continent continent) {
+		return continent == null ? 0 : this.areasPerContinent[continent.ordinal()];
+	}
+
+	/**
+	 * @param player
+	 *            the player used for the check
+	 * @param continent
+	 *            the continent the player is questioned to control
+	 * @return true, if the player controls all areas of the continent, false
+	 *         otherwise
+	 */
+	public boolean controlsContinent(Player player, Continent continent) {
+		if (continent == null) {
+			return false;
+		}
+
+		int[] counters = getCounters(player, false);
+		int areas = this.areasPerContinent[continent.ordinal()];
+
+		return counters == null ? areas == 0 : counters[continent.ordinal()] == areas;
+	}
+
+	/**
+	 * @param player
+	 *            the player to get the continents for
+	 * @return a new set containing all continents the player controls
+	 *         completely
+	 */
+	public Set<Continent> getControlledContinents(Player player) {
+		Set<Continent> continents = EnumSet.noneOf(Continent.class);
+
+		for (Continent continent : CONTINENTS) {
+			if (controlsContinent(player, continent)) {
+				continents.add(continent);
+			}
+		}
+
+		return continents;
+	}
+
+	private int[] getCounters(Player player, boolean create) {
+		int[] counters = this.controlledAreas.get(player);
+
+		if (counters == null && create) {
+			counters = new int[CONTINENTS.length + 1];
+			this.controlledAreas.put(player, counters);
+		}
+
+		return counters;
+	}
+}
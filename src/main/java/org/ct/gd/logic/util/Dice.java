@@ -0,0 +1,157 @@
+package org.ct.gd.logic.util;
+
+/**
+ * rolls and stores up to three dice packed into a single int, so a roll
+ * needs neither an array nor boxed values. <br>
+ * The lowest four bits hold the number of dice, each die takes the next four
+ * bits (first die at bits 4 to 7). Rolled dice are sorted descending by a
+ * fixed sorting network.
+ * 
+ * @author ct
+ * 
+ */
+public final class Dice {
+
+	/**
+	 * the maximum number of dice a packed value can hold
+	 */
+	public static final int MAXIMUM_DICE = 3;
+
+	private static final int BITS = 4;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private Dice() {
+
+	}
+
+	/**
+	 * rolls the given number of dice and sorts them descending
+	 * 
+	 * @param randomSource
+	 *            the source to roll with
+	 * @param numberOfDice
+	 *            the number of dice to roll (1 to {@link #MAXIMUM_DICE})
+	 * @param eyes
+	 *            the number of eyes of each die
+	 * @return the packed dice
+	 */
+	public static int roll(RandomSource randomSource, int numberOfDice, int eyes) {
+		int a = randomSource.nextInt(eyes) + 1;
+		int b = numberOfDice > 1 ? randomSource.nextInt(eyes) + 1 : 0;
+		int c = numberOfDice > 2 ? randomSource.nextInt(eyes) + 1 : 0;
+
+		return sortAndPack(numberOfDice, a, b, c);
+	}
+
+	/**
+	 * rolls the given number of six sided dice and sorts them descending
+	 * 
+	 * @param diceGenerator
+	 *            the generator to roll with
+	 * @param numberOfDice
+	 *            the number of dice to roll (1 to {@link #MAXIMUM_DICE})
+	 * @return the packed dice
+	 */
+	public static int roll(BulkDiceGenerator diceGenerator, int numberOfDice) {
+		int a = diceGenerator.nextDie();
+		int b = numberOfDice > 1 ? diceGenerator.nextDie() : 0;
+		int c = numberOfDice > 2 ? diceGenerator.nextDie() : 0;
+
+		return sortAndPack(numberOfDice, a, b, c);
+	}
+
+	/**
+	 * sorts up to three dice descending and packs them. Unused dice have to be
+	 * 0 so they end up behind the used ones
+	 * 
+	 * @param numberOfDice
+	 *            the number of dice used
+	 * @param a
+	 *            the first die
+	 * @param b
+	 *            the second die, 0 if not used
+	 * @param c
+	 *            the third die, 0 if not used
+	 * @return the packed dice
+	 */
+	public static int sortAndPack(int numberOfDice, int a, int b, int c) {
+		int t;
+		if (a < b) {
+			t = a;
+			a = b;
+			b = t;
+		}
+		if (b < c) {
+			t = b;
+			b = c;
+			c = t;
+		}
+		if (a < b) {
+			t = a;
+			a = b;
+			b = t;
+		}
+
+		return numberOfDice | a << BITS | b << 2 * BITS | c << 3 * BITS;
+	}
+
+	/**
+	 * packs dice in the given order
+	 * 
+	 * @param dice
+	 *            the dice, may be null
+	 * @return the packed dice, no dice for null
+	 */
+	public static int pack(Integer[] dice) {
+		if (dice == null) {
+			return 0;
+		}
+		if (dice.length > MAXIMUM_DICE) {
+			throw new IllegalArgumentException("At most " + MAXIMUM_DICE + " dice can be packed, got " + dice.length);
+		}
+
+		int packedDice = dice.length;
+		for (int i = 0; i < dice.length; i++) {
+			if (dice[i] == null || dice[i] < 0 || dice[i] > MASK) {
+				throw new IllegalArgumentException("Invalid die value: " + dice[i]);
+			}
+			packedDice |= dice[i] << (i + 1) * BITS;
+		}
+
+		return packedDice;
+	}
+
+	/**
+	 * @param packedDice
+	 *            the packed dice
+	 * @return the number of dice
+	 */
+	public static int getNumberOfDice(int packedDice) {
+		return packedDice & MASK;
+	}
+
+	/**
+	 * @param packedDice
+	 *            the packed dice
+	 * @param index
+	 *            the position of the die
+	 * @return the value of the die
+	 */
+	public static int getDie(int packedDice, int index) {
+		return packedDice >>> (index + 1) * BITS & MASK;
+	}
+
+	/**
+	 * @param packedDice
+	 *            the packed dice
+	 * @return a new array containing all dice
+	 */
+	public static Integer[] toArray(int packedDice) {
+		Integer[] dice = new Integer[getNumberOfDice(packedDice)];
+		for (int i = 0; i < dice.length; i++) {
+			dice[i] = getDie(packedDice, i);
+		}
+
+		return dice;
+	}
+}
@@ -0,0 +1,224 @@
+package org.ct.gd.logic.util;
+
+/**
+ * precomputed outcomes of all dice match ups (one to three attack dice
+ * against one or two defense dice, six eyes each). <br>
+ * All 6^(attack + defense) equally likely rolls of a match up are enumerated
+ * once and ordered by the number of armies the defender loses. A round is
+ * then resolved with a single uniform draw from that range: the draw selects
+ * one roll, so losses and dice faces are distributed exactly like rolling
+ * each die on its own, and the losses follow from comparing the draw against
+ * a few thresholds.
+ *
+ * @author ct
+ *
+ */
+public final class DiceOutcomeTable {
+
+	public static final int DICE_EYES = 6;
+	public static final int MAXIMUM_ATTACK_DICE = 3;
+	public static final int MAXIMUM_DEFENSE_DICE = 2;
+
+	/**
+	 * per match up (see {@link #matchUp(int, int)}): the number of rolls
+	 */
+	private static final int[] NUMBER_OF_OUTCOMES = new int[MAXIMUM_ATTACK_DICE * MAXIMUM_DEFENSE_DICE];
+
+	/**
+	 * per match up: the number of rolls in which the defender loses at most k
+	 * armies, at position k
+	 */
+	private static final int[][] CUMULATIVE_DEFENDER_LOSSES = new int[NUMBER_OF_OUTCOMES.length][];
+
+	/**
+	 * per match up: the packed and sorted attack and defense dice of every
+	 * roll, ordered by the number of armies the defender loses
+	 */
+	private static final int[][] ATTACK_DICE = new int[NUMBER_OF_OUTCOMES.length][];
+	private static final int[][] DEFENSE_DICE = new int[NUMBER_OF_OUTCOMES.length][];
+
+	static {
+		for (int attack = 1; attack <= MAXIMUM_ATTACK_DICE; attack++) {
+			for (int defense = 1; defense <= MAXIMUM_DEFENSE_DICE; defense++) {
+				build(attack, defense);
+			}
+		}
+	}
+
+	private DiceOutcomeTable() {
+
+	}
+
+	/**
+	 * @param attackDice
+	 *            the number of attack dice
+	 * @param defenseDice
+	 *            the number of defense dice
+	 * @return the number of distinct rolls of the match up (6^(attack +
+	 *         defense))
+	 */
+	public static int getNumberOfOutcomes(int attackDice, int defenseDice) {
+		return NUMBER_OF_OUTCOMES[matchUp(attackDice, defenseDice)];
+	}
+
+	/**
+	 * draws one roll of a match up
+	 *
+	 * @param randomSource
+	 *            the source to draw from
+	 * @param attackDice
+	 *            the number of attack dice
+	 * @param defenseDice
+	 *            the number of defense dice
+	 * @return the drawn outcome, used for all other queries of this table
+	 */
+	public static int draw(RandomSource randomSource, int attackDice, int defenseDice) {
+		return randomSource.nextInt(getNumberOfOutcomes(attackDice, defenseDice));
+	}
+
+	/**
+	 * draws one roll of a match up by rolling all of its dice. The dice read
+	 * as base-6 number are uniform over all rolls, just like a single draw
+	 *
+	 * @param diceGenerator
+	 *            the generator to roll the dice with
+	 * @param attackDice
+	 *            the number of attack dice
+	 * @param defenseDice
+	 *            the number of defense dice
+	 * @return the drawn outcome, used for all other queries of this table
+	 */
+	public static int draw(BulkDiceGenerator diceGenerator, int attackDice, int defenseDice) {
+		matchUp(attackDice, defenseDice);
+
+		return diceGenerator.nextRoll(attackDice + defenseDice);
+	}
+
+	/**
+	 * @return the number of armies the defender loses with the given outcome
+	 */
+	public static int getLostDefendingArmies(int attackDice, int defenseDice, int outcome) {
+		int[] cumulativeLosses = CUMULATIVE_DEFENDER_LOSSES[matchUp(attackDice, defenseDice)];
+
+		int losses = 0;
+		while (outcome >= cumulativeLosses[losses]) {
+			losses++;
+		}
+
+		return losses;
+	}
+
+	/**
+	 * @return the number of armies the attacker loses with the given outcome
+	 */
+	public static int getLostAttackingArmies(int attackDice, int defenseDice, int outcome) {
+		return Math.min(attackDice, defenseDice) - getLostDefendingArmies(attackDice, defenseDice, outcome);
+	}
+
+	/**
+	 * @return the attack dice of the given outcome, packed and sorted as
+	 *         described in {@link Dice}
+	 */
+	public static int getAttackDice(int attackDice, int defenseDice, int outcome) {
+		return ATTACK_DICE[matchUp(attackDice, defenseDice)][outcome];
+	}
+
+	/**
+	 * @return the defense dice of the given outcome, packed and sorted as
+	 *         described in {@link Dice}
+	 */
+	public static int getDefenseDice(int attackDice, int defenseDice, int outcome) {
+		return DEFENSE_DICE[matchUp(attackDice, defenseDice)][outcome];
+	}
+
+	/**
+	 * @param attackDice
+	 *            the number of attack dice
+	 * @param defenseDice
+	 *            the number of defense dice
+	 * @param lostDefendingArmies
+	 *            the number of armies the defender loses
+	 * @return the exact probability of the defender losing the given number of
+	 *         armies in one round
+	 */
+	public static double getProbability(int attackDice, int defenseDice, int lostDefendingArmies) {
+		int matchUp = matchUp(attackDice, defenseDice);
+		int[] cumulativeLosses = CUMULATIVE_DEFENDER_LOSSES[matchUp];
+
+		if (lostDefendingArmies < 0 || lostDefendingArmies >= cumulativeLosses.length) {
+			return 0;
+		}
+
+		int outcomes = cumulativeLosses[lostDefendingArmies] - (lostDefendingArmies == 0 ? 0 : cumulativeLosses[lostDefendingArmies - 1]);
+
+		return (double) outcomes / NUMBER_OF_OUTCOMES[matchUp];
+	}
+
+	private static int matchUp(int attackDice, int defenseDice) {
+		if (attackDice < 1 || attackDice > MAXIMUM_ATTACK_DICE || defenseDice < 1 || defenseDice > MAXIMUM_DEFENSE_DICE) {
+			throw new IllegalArgumentException("No outcomes for " + attackDice + " attack and " + defenseDice + " defense dice");
+		}
+
+		return (attackDice - 1) * MAXIMUM_DEFENSE_DICE + defenseDice - 1;
+	}
+
+	/**
+	 * enumerates all rolls of a match up and sorts them into buckets by the
+	 * defenders losses
+	 */
+	private static void build(int attackDice, int defenseDice) {
+		int matchUp = matchUp(attackDice, defenseDice);
+		int comparedDice = Math.min(attackDice, defenseDice);
+		int numberOfOutcomes = 1;
+		for (int i = 0; i < attackDice + defenseDice; i++) {
+			numberOfOutcomes *= DICE_EYES;
+		}
+
+		int[] attack = new int[numberOfOutcomes];
+		int[] defense = new int[numberOfOutcomes];
+		int[] losses = new int[numberOfOutcomes];
+		int[] bucketSizes = new int[comparedDice + 1];
+
+		int[] faces = new int[MAXIMUM_ATTACK_DICE + MAXIMUM_DEFENSE_DICE];
+		for (int roll = 0; roll < numberOfOutcomes; roll++) {
+			int digits = roll;
+			for (int i = 0; i < attackDice + defenseDice; i++) {
+				faces[i] = digits % DICE_EYES + 1;
+				digits /= DICE_EYES;
+			}
+
+			attack[roll] = Dice.sortAndPack(attackDice, faces[0], attackDice > 1 ? faces[1] : 0, attackDice > 2 ? faces[2] : 0);
+			defense[roll] = Dice.sortAndPack(defenseDice, faces[attackDice], defenseDice > 1 ? faces[attackDice + 1] : 0, 0);
+
+			// the defender wins ties
+			for (int i = 0; i < comparedDice; i++) {
+				if (Dice.getDie(defense[roll], i) < Dice.getDie(attack[roll], i)) {
+					losses[roll]++;
+				}
+			}
+			bucketSizes[losses[roll]]++;
+		}
+
+		int[] cumulativeLosses = new int[comparedDice + 1];
+		int[] bucketStart = new int[comparedDice + 1];
+		int total = 0;
+		for (int k = 0; k <= comparedDice; k++) {
+			bucketStart[k] = total;
+			total += bucketSizes[k];
+			cumulativeLosses[k] = total;
+		}
+
+		int[] sortedAttack = new int[numberOfOutcomes];
+		int[] sortedDefense = new int[numberOfOutcomes];
+		for (int roll = 0; roll < numberOfOutcomes; roll++) {
+			int position = bucketStart[losses[roll]]++;
+			sortedAttack[position] = attack[roll];
+			sortedDefense[position] = defense[roll];
+		}
+
+		NUMBER_OF_OUTCOMES[matchUp] = numberOfOutcomes;
+		CUMULATIVE_DEFENDER_LOSSES[matchUp] = cumulativeLosses;
+		ATTACK_DICE[matchUp] = sortedAttack;
+		DEFENSE_DICE[matchUp] = sortedDefense;
+	}
+}
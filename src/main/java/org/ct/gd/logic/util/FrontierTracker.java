@@ -0,0 +1,165 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+
+/**
+ * keeps track of the frontier of a board: per area the number of neighbours
+ * controlled by another player and the sum of their armies (the threat the
+ * area faces). The counters are updated by the owning {@link BoardState}
+ * with every change of armies or controlling players, touching only the
+ * neighbours of the changed area, so evaluations built on the frontier never
+ * have to rescan the board. <br>
+ * Areas without controlling player are no enemies of anybody. Clients may
+ * only read from the tracker, it is updated by the board state exclusively.
+ *
+ * @author ct
+ *
+ */
+public class FrontierTracker implements Serializable {
+
+	private static final long serialVersionUID = 3866412719034757051L;
+
+	private final BoardGraph graph;
+	private final BoardState state;
+
+	private final int[] enemyNeighbours;
+	private final int[] threats;
+
+	/**
+	 * @param state
+	 *            the state to track, the counters are computed from its
+	 *            current armies and controlling players
+	 */
+	FrontierTracker(BoardState state) {
+		this.graph = state.getBoardGraph();
+		this.state = state;
+		this.enemyNeighbours = new int[this.graph.getNumberOfAreas()];
+		this.threats = new int[this.graph.getNumberOfAreas()];
+
+		for (int area = 0; area < this.graph.getNumberOfAreas(); area++) {
+			recompute(area);
+		}
+	}
+
+	/**
+	 * creates an independent copy tracking another state
+	 */
+	private FrontierTracker(FrontierTracker tracker, BoardState state) {
+		this.graph = tracker.graph;
+		this.state = state;
+		this.enemyNeighbours = tracker.enemyNeighbours.clone();
+		this.threats = tracker.threats.clone();
+	}
+
+	/**
+	 * @param state
+	 *            the copy of the tracked state, holding the same armies and
+	 *            controlling players
+	 * @return a tracker of the given state
+	 */
+	FrontierTracker copy(BoardState state) {
+		return new FrontierTracker(this, state);
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the number of neighbours controlled by another player
+	 */
+	public int getNumberOfEnemyNeighbours(int area) {
+		return this.enemyNeighbours[area];
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return true, if the area borders an area of another player
+	 */
+	public boolean isBorder(int area) {
+		return this.enemyNeighbours[area] > 0;
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the sum of the armies of all neighbours controlled by another
+	 *         player
+	 */
+	public int getThreat(int area) {
+		return this.threats[area];
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @return the threat of the area divided by its armies, 0 for areas
+	 *         without threat
+	 */
+	public double getBorderSecurityRatio(int area) {
+		if (this.threats[area] == 0) {
+			return 0;
+		}
+
+		return (double) this.threats[area] / Math.max(1, this.state.getArmies(area));
+	}
+
+	/**
+	 * updates the threats of all neighbours of an area whose armies changed
+	 */
+	void armiesChanged(int area, int difference) {
+		int owner = this.state.getOwner(area);
+		if (owner == BoardState.NO_OWNER) {
+			return;
+		}
+
+		for (int n = 0; n < this.graph.getNumberOfNeighbours(area); n++) {
+			int neighbour = this.graph.getNeighbour(area, n);
+			if (this.state.getOwner(neighbour) != owner) {
+				this.threats[neighbour] += difference;
+			}
+		}
+	}
+
+	/**
+	 * updates an area and its neighbours after the controlling player of the
+	 * area changed
+	 */
+	void ownerChanged(int area, int previousOwner) {
+		int owner = this.state.getOwner(area);
+		int armies = this.state.getArmies(area);
+
+		for (int n = 0; n < this.graph.getNumberOfNeighbours(area); n++) {
+			int neighbour = this.graph.getNeighbour(area, n);
+			int neighbourOwner = this.state.getOwner(neighbour);
+
+			if (previousOwner != BoardState.NO_OWNER && previousOwner != neighbourOwner) {
+				this.enemyNeighbours[neighbour]--;
+				this.threats[neighbour] -= armies;
+			}
+			if (owner != BoardState.NO_OWNER && owner != neighbourOwner) {
+				this.enemyNeighbours[neighbour]++;
+				this.threats[neighbour] += armies;
+			}
+		}
+
+		recompute(area);
+	}
+
+	private void recompute(int area) {
+		int owner = this.state.getOwner(area);
+		int enemies = 0;
+		int threat = 0;
+
+		for (int n = 0; n < this.graph.getNumberOfNeighbours(area); n++) {
+			int neighbour = this.graph.getNeighbour(area, n);
+			int neighbourOwner = this.state.getOwner(neighbour);
+			if (neighbourOwner != BoardState.NO_OWNER && neighbourOwner != owner) {
+				enemies++;
+				threat += this.state.getArmies(neighbour);
+			}
+		}
+
+		this.enemyNeighbours[area] = enemies;
+		this.threats[area] = threat;
+	}
+}
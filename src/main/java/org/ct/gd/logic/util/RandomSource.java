@@ -0,0 +1,41 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+
+/**
+ * source of all random values of a single game (dice, drawn cards, initial
+ * assignment of areas and goals). Each game owns its own source, so rolling
+ * dice never contends with other games. Sources are not thread safe.
+ * 
+ * @author ct
+ * 
+ */
+public interface RandomSource extends Serializable {
+
+	/**
+	 * draws a uniformly distributed value
+	 * 
+	 * @param bound
+	 *            the upper bound (exclusive), has to be positive
+	 * @return a value between 0 (inclusive) and the bound (exclusive)
+	 */
+	public int nextInt(int bound);
+
+	/**
+	 * draws a uniformly distributed value from the whole long range
+	 * 
+	 * @return a random value
+	 */
+	public long nextLong();
+
+	/**
+	 * @return the number of values drawn from this source so far
+	 */
+	public long getNumberOfDraws();
+
+	/**
+	 * @return an independent source in the same state as this source, it
+	 *         produces the same values this source will produce next
+	 */
+	public RandomSource copy();
+}
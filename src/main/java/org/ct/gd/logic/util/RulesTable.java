@@ -0,0 +1,251 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.ContinentRule;
+import org.ct.gd.logic.model.Goal;
+import org.ct.gd.logic.model.GoalRule;
+import org.ct.gd.logic.model.MapRules;
+import org.ct.gd.logic.model.Player;
+
+/**
+ * the rules of a map compiled against its {@link BoardGraph}: the bonus
+ * armies per continent and every goal as a bitmask over the area ids. <br>
+ * Checking a goal is a handful of word operations on the ownership bitset of
+ * a player: all areas of the required continents have to be set, the given
+ * number of further continents have to be covered completely and the number
+ * of set bits has to reach the minimum number of areas.
+ *
+ * @author ct
+ *
+ */
+public class RulesTable implements Serializable {
+
+	private static final long serialVersionUID = 4398520370046628519L;
+
+	private static final Continent[] CONTINENTS = Continent.values();
+	private static final Goal[] GOALS = Goal.values();
+
+	/**
+	 * bonus armies per continent, indexed by the continents ordinal
+	 */
+	private final int[] continentBonuses = new int[CONTINENTS.length];
+
+	/**
+	 * all areas per continent, indexed by the continents ordinal
+	 */
+	private final long[][] continentMasks;
+
+	/**
+	 * per goal (indexed by the goals ordinal) the areas that have to be
+	 * controlled, the continents that count as additional continents, the
+	 * number of additional continents and the minimum number of areas
+	 */
+	private final long[][] requiredAreas = new long[GOALS.length][];
+	private final Continent[][] additionalContinentCandidates = new Continent[GOALS.length][];
+	private final int[] additionalContinents = new int[GOALS.length];
+	private final int[] minimumAreas = new int[GOALS.length];
+
+	private RulesTable(BoardGraph graph) {
+		int words = (graph.getNumberOfAreas() + 63) >>> 6;
+
+		this.continentMasks = new long[CONTINENTS.length][words];
+		for (int i = 0; i < graph.getNumberOfAreas(); i++) {
+			this.continentMasks[graph.getContinent(i).ordinal()][i >>> 6] |= 1L << i;
+		}
+	}
+
+	/**
+	 * compiles the rules of a map against its board
+	 *
+	 * @param rules
+	 *            the rules as defined by the map
+	 * @param graph
+	 *            the topology of the board
+	 * @return the compiled rules
+	 * @throws InvalidMappingException
+	 *             if a rule is incomplete, defined twice or a goal has no rule
+	 */
+	public static RulesTable compile(MapRules rules, BoardGraph graph) throws InvalidMappingException {
+		if (rules == null || rules.getContinents() == null || rules.getGoals() == null) {
+			throw new InvalidMappingException("The rules have to define continents and goals");
+		}
+
+		RulesTable table = new RulesTable(graph);
+
+		boolean[] bonusDefined = new boolean[CONTINENTS.length];
+		for (ContinentRule rule : rules.getContinents()) {
+			if (rule == null || rule.getContinent() == null || rule.getReinforcements() < 0) {
+				throw new InvalidMappingException("Incomplete continent rule found");
+			}
+			if (bonusDefined[rule.getContinent().ordinal()]) {
+				throw new InvalidMappingException("The bonus of continent " + rule.getContinent() + " is defined more than once");
+			}
+			bonusDefined[rule.getContinent().ordinal()] = true;
+			table.continentBonuses[rule.getContinent().ordinal()] = rule.getReinforcements();
+		}
+
+		for (GoalRule rule : rules.getGoals()) {
+			if (rule == null || rule.getGoal() == null || rule.getAdditionalContinents() < 0 || rule.getMinimumAreas() < 0) {
+				throw new InvalidMappingException("Incomplete goal rule found");
+			}
+			int goal = rule.getGoal().ordinal();
+			if (table.requiredAreas[goal] != null) {
+				throw new InvalidMappingException("The goal " + rule.getGoal() + " is defined more than once");
+			}
+
+			long[] required = new long[table.continentMasks[0].length];
+			boolean[] isRequired = new boolean[CONTINENTS.length];
+			if (rule.getContinents() != null) {
+				for (Continent continent : rule.getContinents()) {
+					if (continent == null) {
+						throw new InvalidMappingException("The goal " + rule.getGoal() + " refers to an invalid continent");
+					}
+					isRequired[continent.ordinal()] = true;
+					or(required, table.continentMasks[continent.ordinal()]);
+				}
+			}
+
+			// only continents that are not required and exist on the board may
+			// count as additional continent
+			int candidates = 0;
+			Continent[] additionalContinentCandidates = new Continent[CONTINENTS.length];
+			for (Continent continent : CONTINENTS) {
+				if (!isRequired[continent.ordinal()] && !isEmpty(table.continentMasks[continent.ordinal()])) {
+					additionalContinentCandidates[candidates++] = continent;
+				}
+			}
+			if (rule.getAdditionalContinents() > candidates || rule.getMinimumAreas() > graph.getNumberOfAreas()) {
+				throw new InvalidMappingException("The goal " + rule.getGoal() + " can't be reached on this board");
+			}
+
+			table.requiredAreas[goal] = required;
+			table.additionalContinentCandidates[goal] = Arrays.copyOf(additionalContinentCandidates, candidates);
+			table.additionalContinents[goal] = rule.getAdditionalContinents();
+			table.minimumAreas[goal] = rule.getMinimumAreas();
+		}
+
+		for (Goal goal : GOALS) {
+			if (table.requiredAreas[goal.ordinal()] == null) {
+				throw new InvalidMappingException("No rule found for goal " + goal);
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * @param continent
+	 *            the continent to get the bonus for
+	 * @return the number of additional armies a player gets per turn for
+	 *         controlling the whole continent
+	 */
+	public int getContinentBonus(Continent continent) {
+		return continent == null ? 0 : this.continentBonuses[continent.ordinal()];
+	}
+
+	/**
+	 * @param areas
+	 *            the compiled areas of a game
+	 * @param player
+	 *            the player to get the bonus for
+	 * @return the sum of the bonuses of all continents the player controls
+	 */
+	public int getContinentBonus(AreaList areas, Player player) {
+		long[] controlledAreas = areas.getControlledAreaMask(player);
+		int bonus = 0;
+
+		for (Continent continent : CONTINENTS) {
+			if (this.continentBonuses[continent.ordinal()] > 0 && covers(controlledAreas, this.continentMasks[continent.ordinal()])) {
+				bonus += this.continentBonuses[continent.ordinal()];
+			}
+		}
+
+		return bonus;
+	}
+
+	/**
+	 * checks if a player has met a goal
+	 *
+	 * @param goal
+	 *            the goal to check, no goal is treated as world domination
+	 * @param areas
+	 *            the compiled areas of a game
+	 * @param player
+	 *            the player that supposedly met the goal
+	 * @return true, if the player controls everything the goal requires,
+	 *         false otherwise
+	 */
+	public boolean hasMetGoal(Goal goal, AreaList areas, Player player) {
+		return hasMetGoal(goal, areas.getControlledAreaMask(player));
+	}
+
+	/**
+	 * checks if a set of areas fulfills a goal
+	 *
+	 * @param goal
+	 *            the goal to check, no goal is treated as world domination
+	 * @param controlledAreas
+	 *            bitset over the area ids of the controlled areas
+	 * @return true, if the areas contain everything the goal requires, false
+	 *         otherwise
+	 */
+	public boolean hasMetGoal(Goal goal, long[] controlledAreas) {
+		int index = (goal == null ? Goal.WORLD_DOMINATION : goal).ordinal();
+
+		if (!covers(controlledAreas, this.requiredAreas[index])) {
+			return false;
+		}
+
+		if (this.minimumAreas[index] > 0) {
+			int numberOfAreas = 0;
+			for (long word : controlledAreas) {
+				numberOfAreas += Long.bitCount(word);
+			}
+			if (numberOfAreas < this.minimumAreas[index]) {
+				return false;
+			}
+		}
+
+		int missingContinents = this.additionalContinents[index];
+		for (Continent continent : this.additionalContinentCandidates[index]) {
+			if (missingContinents == 0) {
+				break;
+			}
+			if (covers(controlledAreas, this.continentMasks[continent.ordinal()])) {
+				missingContinents--;
+			}
+		}
+
+		return missingContinents == 0;
+	}
+
+	private static boolean covers(long[] words, long[] mask) {
+		for (int i = 0; i < mask.length; i++) {
+			if ((words[i] & mask[i]) != mask[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean isEmpty(long[] words) {
+		for (long word : words) {
+			if (word != 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static void or(long[] words, long[] mask) {
+		for (int i = 0; i < mask.length; i++) {
+			words[i] |= mask[i];
+		}
+	}
+}
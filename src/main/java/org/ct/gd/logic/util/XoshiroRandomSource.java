@@ -0,0 +1,128 @@
+package org.ct.gd.logic.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * random source based on the xoshiro256** generator: 256 bits of state, a
+ * handful of shifts and xors per value, no synchronization. The state is
+ * initialized from a single 64 bit seed through SplitMix64, so games created
+ * with the same seed roll the same dice.
+ * 
+ * @author ct
+ * 
+ */
+public class XoshiroRandomSource implements RandomSource {
+
+	private static final long serialVersionUID = -1867051785016566290L;
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final long seed;
+
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+
+	private long numberOfDraws = 0;
+
+	/**
+	 * creates a source with a random seed
+	 */
+	public XoshiroRandomSource() {
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * creates a source producing the same values for the same seed
+	 * 
+	 * @param seed
+	 *            the seed to initialize the generator with
+	 */
+	public XoshiroRandomSource(long seed) {
+		this.seed = seed;
+
+		long x = seed;
+		this.s0 = mix(x += GOLDEN_GAMMA);
+		this.s1 = mix(x += GOLDEN_GAMMA);
+		this.s2 = mix(x += GOLDEN_GAMMA);
+		this.s3 = mix(x += GOLDEN_GAMMA);
+	}
+
+	/**
+	 * @return the seed this source was created with
+	 */
+	public long getSeed() {
+		return this.seed;
+	}
+
+	@Override
+	public XoshiroRandomSource copy() {
+		XoshiroRandomSource copy = new XoshiroRandomSource(this.seed);
+		copy.s0 = this.s0;
+		copy.s1 = this.s1;
+		copy.s2 = this.s2;
+		copy.s3 = this.s3;
+		copy.numberOfDraws = this.numberOfDraws;
+
+		return copy;
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("The bound has to be positive: " + bound);
+		}
+		this.numberOfDraws++;
+
+		// multiply a 32 bit value with the bound and take the upper half,
+		// rejecting the few values that would make the result biased
+		long product = (next() >>> 32) * bound;
+		long low = product & 0xffffffffL;
+		if (low < bound) {
+			long threshold = (0x100000000L - bound) % bound;
+			while (low < threshold) {
+				product = (next() >>> 32) * bound;
+				low = product & 0xffffffffL;
+			}
+		}
+
+		return (int) (product >>> 32);
+	}
+
+	@Override
+	public long nextLong() {
+		this.numberOfDraws++;
+
+		return next();
+	}
+
+	@Override
+	public long getNumberOfDraws() {
+		return this.numberOfDraws;
+	}
+
+	private long next() {
+		long result = Long.rotateLeft(this.s1 * 5, 7) * 9;
+		long t = this.s1 << 17;
+
+		this.s2 ^= this.s0;
+		this.s3 ^= this.s1;
+		this.s1 ^= this.s2;
+		this.s0 ^= this.s3;
+		this.s2 ^= t;
+		this.s3 = Long.rotateLeft(this.s3, 45);
+
+		return result;
+	}
+
+	/**
+	 * the SplitMix64 finalizer
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,158 @@
+package org.ct.gd.logic.util;
+
+import java.io.Serializable;
+
+import org.ct.gd.logic.model.Phase;
+
+/**
+ * the random keys of the Zobrist hash of a game: one key per area and owner
+ * slot, per area and army bucket, per owner slot of the player in turn, per
+ * phase and per card trade level. The hash of a state is the exclusive or of
+ * the keys of all its features, so changing a feature only takes two exclusive
+ * ors. <br>
+ * Keys are drawn from fixed seeds, every process computes the same hash for
+ * the same state. The keys of no owner and no armies are 0, so an empty
+ * board hashes to 0.
+ *
+ * @author ct
+ *
+ */
+public final class ZobristKeys implements Serializable {
+
+	private static final long serialVersionUID = -1218392316046447581L;
+
+	private static final long AREA_SEED = 0x5a6f627269737421L;
+	private static final long GAME_SEED = 0x67642d6c6f676963L;
+
+	/**
+	 * owner slots range from {@link BoardState#NO_OWNER} up to this value
+	 */
+	private static final int MAXIMUM_OWNER = Byte.MAX_VALUE;
+
+	/**
+	 * the upper bound (inclusive) of the army counts of each bucket. Small
+	 * counts decide battles and get their own bucket, large counts are only
+	 * told apart roughly
+	 */
+	private static final int[] ARMY_BUCKET_LIMITS = new int[] { 0, 1, 2, 3, 4, 5, 7, 10, 15, 25, 50 };
+	public static final int NUMBER_OF_ARMY_BUCKETS = ARMY_BUCKET_LIMITS.length + 1;
+
+	/**
+	 * armies returned for a trade are hashed up to this value, larger values
+	 * share a key
+	 */
+	private static final int MAXIMUM_TRADE_LEVEL = 63;
+
+	private static final int[] ARMY_BUCKETS = new int[ARMY_BUCKET_LIMITS[ARMY_BUCKET_LIMITS.length - 1] + 1];
+
+	private static final long[] TURN_KEYS = new long[MAXIMUM_OWNER + 1];
+	private static final long[] PHASE_KEYS = new long[Phase.values().length];
+	private static final long[] TRADE_LEVEL_KEYS = new long[MAXIMUM_TRADE_LEVEL + 1];
+
+	static {
+		int bucket = 0;
+		for (int armies = 0; armies < ARMY_BUCKETS.length; armies++) {
+			if (armies > ARMY_BUCKET_LIMITS[bucket]) {
+				bucket++;
+			}
+			ARMY_BUCKETS[armies] = bucket;
+		}
+
+		XoshiroRandomSource randomSource = new XoshiroRandomSource(GAME_SEED);
+		fill(TURN_KEYS, randomSource);
+		fill(PHASE_KEYS, randomSource);
+		fill(TRADE_LEVEL_KEYS, randomSource);
+	}
+
+	private final long[] ownerKeys;
+	private final long[] armyKeys;
+
+	/**
+	 * creates the keys of all areas of a board
+	 * 
+	 * @param numberOfAreas
+	 *            the number of areas of the board
+	 */
+	ZobristKeys(int numberOfAreas) {
+		this.ownerKeys = new long[numberOfAreas * (MAXIMUM_OWNER + 1)];
+		this.armyKeys = new long[numberOfAreas * NUMBER_OF_ARMY_BUCKETS];
+
+		XoshiroRandomSource randomSource = new XoshiroRandomSource(AREA_SEED);
+		fill(this.ownerKeys, randomSource);
+		fill(this.armyKeys, randomSource);
+
+		for (int area = 0; area < numberOfAreas; area++) {
+			this.ownerKeys[area * (MAXIMUM_OWNER + 1) + BoardState.NO_OWNER] = 0;
+			this.armyKeys[area * NUMBER_OF_ARMY_BUCKETS] = 0;
+		}
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @param owner
+	 *            the owner slot of the area
+	 * @return the key of the area being controlled by the given owner slot
+	 */
+	public long getOwnerKey(int area, int owner) {
+		return this.ownerKeys[area * (MAXIMUM_OWNER + 1) + owner];
+	}
+
+	/**
+	 * @param area
+	 *            the id of the area
+	 * @param armies
+	 *            the armies in the area
+	 * @return the key of the army bucket of the area
+	 */
+	public long getArmiesKey(int area, int armies) {
+		return this.armyKeys[area * NUMBER_OF_ARMY_BUCKETS + getArmyBucket(armies)];
+	}
+
+	/**
+	 * @param armies
+	 *            a number of armies
+	 * @return the bucket the number falls into, army counts of the same
+	 *         bucket hash alike
+	 */
+	public static int getArmyBucket(int armies) {
+		if (armies <= 0) {
+			return 0;
+		}
+
+		return armies < ARMY_BUCKETS.length ? ARMY_BUCKETS[armies] : NUMBER_OF_ARMY_BUCKETS - 1;
+	}
+
+	/**
+	 * @param owner
+	 *            the owner slot of the player in turn
+	 * @return the key of the player in turn
+	 */
+	public static long getTurnKey(int owner) {
+		return TURN_KEYS[owner];
+	}
+
+	/**
+	 * @param phase
+	 *            the phase of the player in turn, may be null
+	 * @return the key of the phase
+	 */
+	public static long getPhaseKey(Phase phase) {
+		return phase == null ? 0 : PHASE_KEYS[phase.ordinal()];
+	}
+
+	/**
+	 * @param armiesReturned
+	 *            the armies returned for the next card trade
+	 * @return the key of the card trade level
+	 */
+	public static long getTradeLevelKey(int armiesReturned) {
+		return TRADE_LEVEL_KEYS[Math.max(0, Math.min(armiesReturned, MAXIMUM_TRADE_LEVEL))];
+	}
+
+	private static void fill(long[] keys, RandomSource randomSource) {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = randomSource.nextLong();
+		}
+	}
+}
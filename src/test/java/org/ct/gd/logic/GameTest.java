@@ -4,15 +4,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.ct.gd.logic.Game;
+import org.ct.gd.logic.exception.GameException;
 import org.ct.gd.logic.exception.IllegalIdentityException;
 import org.ct.gd.logic.exception.InvalidMappingException;
 import org.ct.gd.logic.exception.InvalidNumberOfPlayersException;
+import org.ct.gd.logic.handler.GameHandler;
 import org.ct.gd.logic.handler.GameHandlerImpl;
 import org.ct.gd.logic.model.Area;
 import org.ct.gd.logic.model.Color;
 import org.ct.gd.logic.model.Goal;
 import org.ct.gd.logic.model.Player;
 import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.XoshiroRandomSource;
 
 import junit.framework.TestCase;
 
@@ -236,4 +239,92 @@ public class GameTest extends TestCase {
 			fail("That is not supposed to happen in here!");
 		}
 	}
+	
+	public void testSeededGamesAreReproducible() {
+		try {
+			Game game = new Game(constructPlayers(), false, new XoshiroRandomSource(42));
+			Game otherGame = new Game(constructPlayers(), false, new XoshiroRandomSource(42));
+			game.startGame();
+			otherGame.startGame();
+			
+			for (int i = 0; i < game.getPlayers().size(); i++) {
+				assertEquals(game.getPlayers().get(i).getGoal(), otherGame.getPlayers().get(i).getGoal());
+				assertEquals(game.getPlayers().get(i).isTurn(), otherGame.getPlayers().get(i).isTurn());
+			}
+			
+			AreaList areas = game.getGameHandler().getAreas();
+			AreaList otherAreas = otherGame.getGameHandler().getAreas();
+			for (int i = 0; i < areas.size(); i++) {
+				assertEquals(areas.get(i).getControllingPlayer(), otherAreas.get(i).getControllingPlayer());
+			}
+			assertEquals(game.getRandomSource().getNumberOfDraws(), otherGame.getRandomSource().getNumberOfDraws());
+			assertTrue(game.getRandomSource().getNumberOfDraws() >= areas.size() + 1);
+		} catch (InvalidNumberOfPlayersException e) {
+			fail("The above command should not have created an exception because it's just 4 players!");
+		} catch (IllegalIdentityException e) {
+			fail("That is not supposed to happen in here!");
+		} catch (InvalidMappingException e) {
+			fail("That is not supposed to happen in here!");
+		}
+	}
+	
+	public void testCopiedGamesAreIndependent() {
+		try {
+			Game game = new Game(constructPlayers(), false, new XoshiroRandomSource(7));
+			game.startGame();
+			Game copy = game.copy();
+
+			GameHandler gh = game.getGameHandler();
+			GameHandler copiedGh = copy.getGameHandler();
+			Player player = gh.getPlayerInTurn();
+			Player copiedPlayer = copiedGh.getPlayerInTurn();
+			assertNotSame(player, copiedPlayer);
+			assertEquals(player, copiedPlayer);
+			assertEquals(game.getId(), copy.getId());
+			assertEquals(player.getGoal(), copiedPlayer.getGoal());
+
+			Area area = gh.getAreas().getAreasControlledByPlayer(player).get(0);
+			Area copiedArea = copiedGh.getAreas().getByIndex(area.getIndex());
+			assertNotSame(area, copiedArea);
+			assertSame(copiedPlayer, copiedArea.getControllingPlayer());
+
+			gh.placeInitialUnit(player, area);
+			assertEquals(area.getArmies() - 1, copiedArea.getArmies());
+			assertEquals(player.getNoOfReinforcements() + 1, copiedPlayer.getNoOfReinforcements());
+			assertFalse(player.isTurn());
+			assertTrue(copiedPlayer.isTurn());
+
+			// changing owners of the copy doesn't touch the original
+			Player otherPlayer = gh.getPlayerInTurn();
+			int controlledAreas = gh.getAreas().getNumberOfAreasControlledByPlayer(otherPlayer);
+			Player copiedOtherPlayer = copy.getPlayers().get(game.getPlayers().indexOf(otherPlayer));
+			copiedArea.setControllingPlayer(copiedOtherPlayer);
+			assertEquals(controlledAreas + 1, copiedGh.getAreas().getNumberOfAreasControlledByPlayer(copiedOtherPlayer));
+			assertEquals(controlledAreas, gh.getAreas().getNumberOfAreasControlledByPlayer(otherPlayer));
+			assertEquals(player, area.getControllingPlayer());
+
+			// the copy continues with the same random values
+			assertEquals(game.getRandomSource().getNumberOfDraws(), copy.getRandomSource().getNumberOfDraws());
+			assertEquals(game.getRandomSource().nextLong(), copy.getRandomSource().nextLong());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidNumberOfPlayersException e) {
+			fail("The above command should not have created an exception because it's just 4 players!");
+		} catch (IllegalIdentityException e) {
+			fail("That is not supposed to happen in here!");
+		} catch (InvalidMappingException e) {
+			fail("That is not supposed to happen in here!");
+		}
+	}
+
+	private List<Player> constructPlayers() {
+		List<Player> players = new ArrayList<Player>();
+
+		players.add(new Player("Erika", Color.GREEN, false));
+		players.add(new Player("Christian", Color.BLUE, false));
+		players.add(new Player("Locke", Color.WHITE, false));
+		players.add(new Player("Jack", Color.BLACK, false));
+		
+		return players;
+	}
 }
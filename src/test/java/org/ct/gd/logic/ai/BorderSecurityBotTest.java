@@ -0,0 +1,78 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.simulation.GameRecord;
+import org.ct.gd.logic.simulation.GameRunner;
+import org.ct.gd.logic.util.AreaList;
+
+public class BorderSecurityBotTest extends TestCase {
+
+	public void testReinforceMostEndangeredBorder() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			List<Player> players = new ArrayList<>();
+			players.add(p1);
+			players.add(p2);
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, players);
+
+			for (Area area : areas) {
+				area.setControllingPlayer(p1);
+				area.setArmies(1);
+			}
+			Area endangeredArea = areas.getByName("alaska");
+			Area enemyArea = endangeredArea.getNeighbours().get(0);
+			enemyArea.setControllingPlayer(p2);
+			enemyArea.setArmies(30);
+			p1.setTurn(true);
+			p1.setPhase(Phase.REINFORCEMENT);
+			p1.setNoOfReinforcements(4);
+
+			new BorderSecurityBot(BattleOdds.getDefault()).reinforce(gh, p1);
+
+			assertEquals(0, p1.getNoOfReinforcements());
+			assertTrue(endangeredArea.getArmies() > 1);
+			assertEquals(30, enemyArea.getArmies());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testGamesAreFinished() {
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(BorderSecurityBot.FACTORY, BorderSecurityBot.FACTORY, RandomBot.FACTORY,
+				BorderSecurityBot.FACTORY), false, 500);
+
+		for (long seed = 0; seed < 20; seed++) {
+			GameRecord record = runner.run(seed);
+
+			assertFalse("Illegal move: " + record.getFailure(), record.isFailed());
+			assertTrue(record.isFinished());
+			assertFalse(record.getWinningSeat() == 2);
+		}
+	}
+
+	private Player constructPlayer() {
+		return new Player("Erika", Color.GREEN, false);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, false);
+	}
+}
@@ -0,0 +1,159 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.model.UnitType;
+import org.ct.gd.logic.simulation.GameRecord;
+import org.ct.gd.logic.simulation.GameRunner;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+public class MctsBotTest extends TestCase {
+
+	private static final long BUDGET_MILLIS = 50;
+	private static final long UNLIMITED_BUDGET_MILLIS = 60000;
+
+	/**
+	 * the time a decision may take beyond its budget, generous enough for a
+	 * loaded machine
+	 */
+	private static final long TOLERANCE_MILLIS = 5000;
+
+	public void testDecisionStaysWithinBudget() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandlerImpl gh = constructHandler(areas, p1, p2);
+			p1.setPhase(Phase.FORTIFICATION);
+
+			int armies = countArmies(areas, p1);
+			MctsBot bot = new MctsBot(new XoshiroRandomSource(3), executor, 3, BUDGET_MILLIS, Integer.MAX_VALUE);
+
+			long start = System.nanoTime();
+			bot.fortify(gh, p1);
+			long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+			assertTrue("The decision took " + elapsedMillis + "ms", elapsedMillis < BUDGET_MILLIS + TOLERANCE_MILLIS);
+			assertEquals(armies, countArmies(areas, p1));
+			assertEquals(Phase.FORTIFICATION, p1.getPhase());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	public void testSearchLeavesGameUntouched() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandlerImpl gh = constructHandler(areas, p1, p2);
+			p1.setPhase(Phase.TRADE_CARDS);
+			for (int i = 0; i < 3; i++) {
+				p1.getCards().add(new Card(false, areas.get(i), UnitType.CAVALRY));
+			}
+			p2.getCards().add(new Card(false, areas.get(3), UnitType.ARTILERY));
+			List<Card> hand = new ArrayList<>(p1.getCards());
+			long hash = gh.getStateHash();
+
+			List<List<Card>> trades = new MctsBot(new XoshiroRandomSource(5), null, 1, 1000, 200).chooseCardTrades(gh, p1);
+
+			assertTrue(trades.size() <= 1);
+			assertEquals(hash, gh.getStateHash());
+			assertEquals(hand, p1.getCards());
+			assertEquals(1, p2.getCards().size());
+			assertTrue(p1.isTurn());
+			assertEquals(Phase.TRADE_CARDS, p1.getPhase());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testWinsAgainstRandomBot() {
+		// the budget is never used up, so the iterations make the games reproducible
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(MctsBot.factory(null, 1, UNLIMITED_BUDGET_MILLIS, 100), RandomBot.FACTORY), true,
+				200);
+
+		for (long seed = 0; seed < 2; seed++) {
+			GameRecord record = runner.run(seed);
+
+			assertFalse("Illegal move: " + record.getFailure(), record.isFailed());
+			assertTrue(record.isFinished());
+			assertEquals(0, record.getWinningSeat());
+		}
+	}
+
+	public void testInvalidConfiguration() {
+		try {
+			MctsBot.factory(null, 2, BUDGET_MILLIS, 1);
+			fail("Several workers need an executor");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			MctsBot.factory(null, 1, 0, 1);
+			fail("A search needs a budget");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * the first player controls the first half of the board with five armies
+	 * each and is in turn, the second player controls the rest with two armies
+	 * each
+	 */
+	private GameHandlerImpl constructHandler(AreaList areas, Player p1, Player p2) {
+		List<Player> players = new ArrayList<>();
+		players.add(p1);
+		players.add(p2);
+		GameHandlerImpl gh = new GameHandlerImpl(null, areas, players, null, new XoshiroRandomSource(7));
+
+		for (int i = 0; i < areas.size(); i++) {
+			areas.get(i).setControllingPlayer(i < areas.size() / 2 ? p1 : p2);
+			areas.get(i).setArmies(i < areas.size() / 2 ? 5 : 2);
+		}
+		p1.setTurn(true);
+		p2.setPhase(Phase.NONE);
+
+		return gh;
+	}
+
+	private int countArmies(AreaList areas, Player player) {
+		int armies = 0;
+		for (int i = 0; i < areas.size(); i++) {
+			if (player.equals(areas.get(i).getControllingPlayer())) {
+				armies += areas.get(i).getArmies();
+			}
+		}
+
+		return armies;
+	}
+
+	private Player constructPlayer() {
+		return new Player("Erika", Color.GREEN, false);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, false);
+	}
+}
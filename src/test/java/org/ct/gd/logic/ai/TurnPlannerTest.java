@@ -0,0 +1,144 @@
+package org.ct.gd.logic.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandlerImpl;
+import org.ct.gd.logic.handler.Move;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.model.UnitType;
+import org.ct.gd.logic.simulation.GameRecord;
+import org.ct.gd.logic.simulation.GameRunner;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+public class TurnPlannerTest extends TestCase {
+
+	private static final long BUDGET_MILLIS = 50;
+
+	public void testPlanLeavesGameUntouched() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer(true);
+			Player p2 = constructOponent();
+			GameHandlerImpl gh = constructHandler(areas, p1, p2);
+			p1.setPhase(Phase.TRADE_CARDS);
+			for (int i = 0; i < 3; i++) {
+				p1.getCards().add(new Card(false, areas.get(i), UnitType.CAVALRY));
+			}
+			List<Card> hand = new ArrayList<>(p1.getCards());
+			long hash = gh.getStateHash();
+
+			long start = System.nanoTime();
+			TurnPlan plan = new TurnPlanner(BattleOdds.getDefault(), new XoshiroRandomSource(5)).plan(gh, p1, BUDGET_MILLIS);
+			long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+			assertTrue("The planning took " + elapsedMillis + "ms", elapsedMillis < BUDGET_MILLIS + 250);
+			assertEquals(1, plan.getTrades().size());
+			assertTrue(plan.getNumberOfReinforcements() > 0);
+			assertTrue(plan.getNumberOfAttacks() > 0);
+			for (int i = 0; i < plan.getNumberOfAttacks(); i++) {
+				assertEquals(Move.ATTACK, Move.getType(plan.getAttack(i)));
+				assertTrue(plan.getArmiesLeftBehind(i) >= 1);
+			}
+			assertEquals(hash, gh.getStateHash());
+			assertEquals(hand, p1.getCards());
+			assertEquals(Phase.TRADE_CARDS, p1.getPhase());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testExecutePlaysWholeTurn() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer(true);
+			Player p2 = constructOponent();
+			GameHandlerImpl gh = constructHandler(areas, p1, p2);
+			p1.setPhase(Phase.TRADE_CARDS);
+
+			TurnPlan plan = new TurnPlanner(BattleOdds.getDefault(), new XoshiroRandomSource(3)).plan(gh, p1, BUDGET_MILLIS);
+			plan.execute(gh, p1);
+
+			assertFalse(p1.isTurn());
+			assertTrue(p2.isTurn());
+			assertEquals(0, p1.getNoOfReinforcements());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testOnlyAiPlayersArePlanned() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer(false);
+			Player p2 = constructOponent();
+			GameHandlerImpl gh = constructHandler(areas, p1, p2);
+			p1.setPhase(Phase.TRADE_CARDS);
+
+			new TurnPlanner(BattleOdds.getDefault(), new XoshiroRandomSource(3)).plan(gh, p1, BUDGET_MILLIS);
+			fail("Human players plan their turns themselves");
+		} catch (IllegalArgumentException e) {
+			// expected
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testGamesAreFinished() {
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(PlanningBot.factory(2), RandomBot.FACTORY, PlanningBot.factory(2)), true, 300);
+
+		for (long seed = 0; seed < 5; seed++) {
+			GameRecord record = runner.run(seed);
+
+			assertFalse("Illegal move: " + record.getFailure(), record.isFailed());
+			assertTrue(record.isFinished());
+			assertFalse(record.getWinningSeat() == 1);
+		}
+	}
+
+	/**
+	 * the first player controls the first half of the board with five armies
+	 * each and is in turn, the second player controls the rest with two armies
+	 * each. The deck holds ten cards
+	 */
+	private GameHandlerImpl constructHandler(AreaList areas, Player p1, Player p2) {
+		List<Player> players = new ArrayList<>();
+		players.add(p1);
+		players.add(p2);
+		List<Card> cards = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			cards.add(new Card(false, areas.get(i), UnitType.SOLDIER));
+		}
+		GameHandlerImpl gh = new GameHandlerImpl(cards, areas, players, null, new XoshiroRandomSource(7));
+
+		for (int i = 0; i < areas.size(); i++) {
+			areas.get(i).setControllingPlayer(i < areas.size() / 2 ? p1 : p2);
+			areas.get(i).setArmies(i < areas.size() / 2 ? 5 : 2);
+		}
+		p1.setTurn(true);
+		p2.setPhase(Phase.NONE);
+
+		return gh;
+	}
+
+	private Player constructPlayer(boolean aiPlayer) {
+		return new Player("Erika", Color.GREEN, aiPlayer);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, true);
+	}
+}
@@ -0,0 +1,129 @@
+package org.ct.gd.logic.handler;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.model.DefenseDicePolicy;
+
+public class BattleOddsTest extends TestCase {
+
+	public void testSmallBattles() {
+		BattleOdds odds = BattleOdds.getDefault();
+
+		assertEquals(1.0, odds.getConquestProbability(1, 0), 1e-12);
+		assertEquals(0.0, odds.getConquestProbability(1, 3), 1e-12);
+		assertEquals(15.0 / 36, odds.getConquestProbability(2, 1), 1e-12);
+		// two dice against one, on a loss the attacker goes on with one die
+		assertEquals(125.0 / 216 + 91.0 / 216 * 15.0 / 36, odds.getConquestProbability(3, 1), 1e-12);
+
+		assertEquals(15.0 / 36 * 2 + 21.0 / 36, odds.getExpectedAttackingArmies(2, 1), 1e-12);
+		assertEquals(21.0 / 36, odds.getExpectedDefendingArmies(2, 1), 1e-12);
+	}
+
+	public void testTableGrowsOnDemand() {
+		BattleOdds odds = new BattleOdds(DefenseDicePolicy.MAXIMUM);
+
+		double probability = odds.getConquestProbability(200, 150);
+		assertTrue(probability > 0.5 && probability < 1);
+		assertTrue(odds.getConquestProbability(150, 200) < 0.5);
+		assertEquals(odds.getConquestProbability(10, 10), BattleOdds.getDefault().getConquestProbability(10, 10), 1e-12);
+
+		// more attackers never lower the odds
+		for (int a = 2; a < 60; a++) {
+			assertTrue(odds.getConquestProbability(a + 1, 20) >= odds.getConquestProbability(a, 20));
+		}
+
+		// a defender using one die only is easier to beat
+		assertTrue(new BattleOdds(DefenseDicePolicy.MINIMUM).getConquestProbability(10, 10) > odds.getConquestProbability(10, 10));
+	}
+
+	public void testLargeBattlesAreNotCached() {
+		BattleOdds odds = new BattleOdds(DefenseDicePolicy.MAXIMUM);
+		int cap = BattleOdds.MAXIMUM_CACHED_ARMIES;
+
+		// the values beyond the table continue the values in the table
+		for (int d = 1; d < 30; d++) {
+			assertTrue(odds.getConquestProbability(cap + 1, d) >= odds.getConquestProbability(cap, d));
+			assertTrue(odds.getConquestProbability(d, cap + 1) <= odds.getConquestProbability(d, cap));
+		}
+		assertEquals(odds.getExpectedDefendingArmies(3, cap), odds.getExpectedDefendingArmies(3, cap + 40) - 40, 1e-9);
+
+		double conquest = 0;
+		for (double probability : odds.getConquestDistribution(cap + 44, cap + 4)) {
+			conquest += probability;
+		}
+		assertEquals(odds.getConquestProbability(cap + 44, cap + 4), conquest, 1e-9);
+
+		try {
+			odds.getConquestProbability(BattleOdds.MAXIMUM_ARMIES + 1, 1);
+			fail("The armies are beyond the maximum");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	public void testConquestDistribution() {
+		BattleOdds odds = BattleOdds.getDefault();
+
+		for (int a = 1; a < 15; a++) {
+			for (int d = 0; d < 15; d++) {
+				double[] distribution = odds.getConquestDistribution(a, d);
+				double conquest = 0;
+				for (double probability : distribution) {
+					conquest += probability;
+				}
+				assertEquals(odds.getConquestProbability(a, d), conquest, 1e-12);
+			}
+		}
+	}
+
+	public void testConquestDistributionCacheIsBounded() {
+		BattleOdds odds = new BattleOdds(DefenseDicePolicy.MAXIMUM);
+
+		double[] large = odds.getConquestDistribution(BattleOdds.MAXIMUM_CACHED_ARMIES + 1, 3);
+		assertEquals(0, odds.getNumberOfCachedDistributions());
+		assertEquals(odds.getConquestProbability(BattleOdds.MAXIMUM_CACHED_ARMIES + 1, 3), sum(large, large.length), 1e-12);
+
+		for (int a = 1; a <= 64; a++) {
+			for (int d = 0; d <= 80; d++) {
+				odds.getConquestDistribution(a, d);
+			}
+		}
+		assertEquals(BattleOdds.MAXIMUM_CACHED_DISTRIBUTIONS, odds.getNumberOfCachedDistributions());
+
+		// large defending stacks are computed without caching as well
+		double[] strongDefense = odds.getConquestDistribution(20, BattleOdds.MAXIMUM_ARMIES);
+		assertEquals(odds.getConquestProbability(20, BattleOdds.MAXIMUM_ARMIES), sum(strongDefense, strongDefense.length), 1e-12);
+		assertEquals(BattleOdds.MAXIMUM_CACHED_DISTRIBUTIONS, odds.getNumberOfCachedDistributions());
+
+		// distributions beyond the bound are still computed
+		assertEquals(odds.getConquestProbability(64, 80), sum(odds.getConquestDistribution(64, 80), 65), 1e-12);
+	}
+
+	public void testPathOdds() {
+		BattleOdds odds = BattleOdds.getDefault();
+
+		assertEquals(odds.getConquestProbability(12, 4), odds.getPathOdds(12, new int[] { 4 }).getConquestProbability(), 1e-12);
+		assertEquals(1.0, odds.getPathOdds(12, new int[0]).getProbability(12), 1e-12);
+
+		// two areas: every way to conquer the first one continues with all but one army
+		double[] first = odds.getConquestDistribution(12, 3);
+		double expected = 0;
+		for (int left = 2; left < first.length; left++) {
+			expected += first[left] * odds.getConquestProbability(left - 1, 2);
+		}
+		PathOdds pathOdds = odds.getPathOdds(12, new int[] { 3, 2 });
+		assertEquals(expected, pathOdds.getConquestProbability(), 1e-12);
+		assertTrue(pathOdds.getConquestProbability() < odds.getConquestProbability(12, 3));
+		assertTrue(pathOdds.getExpectedArmies() >= 1 && pathOdds.getExpectedArmies() <= 10);
+		assertEquals(0.0, pathOdds.getProbability(11), 1e-12);
+	}
+
+	private static double sum(double[] values, int length) {
+		double sum = 0;
+		for (int i = 0; i < length; i++) {
+			sum += values[i];
+		}
+
+		return sum;
+	}
+}
@@ -0,0 +1,130 @@
+package org.ct.gd.logic.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.GameException.GameExceptionType;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+public class GameHandlerAttackUntilTest extends TestCase {
+
+	public void testBattleUntilConquest() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			List<Player> players = new ArrayList<>();
+			players.add(p1);
+			players.add(p2);
+			GameHandler gh = new GameHandlerImpl(null, areas, players, null, new XoshiroRandomSource(3));
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+
+			for (Area area : areas) {
+				area.setControllingPlayer(p2);
+				area.setArmies(1);
+			}
+			Area attackingArea = areas.get(0);
+			Area defendingArea = attackingArea.getNeighbours().get(0);
+			attackingArea.setControllingPlayer(p1);
+			attackingArea.setArmies(100);
+			defendingArea.setArmies(5);
+
+			BattleSummary summary = gh.attackUntil(p1, attackingArea, defendingArea, 2, DefenseDicePolicy.MAXIMUM);
+
+			assertTrue(summary.hasConqueredArea());
+			assertEquals(5, summary.getLostDefendingArmies());
+			assertTrue(summary.getRounds() >= 3);
+			assertEquals(p1, defendingArea.getControllingPlayer());
+			assertEquals(100, attackingArea.getArmies() + defendingArea.getArmies() + summary.getLostAttackingArmies());
+			assertEquals(attackingArea.getArmies() - 1, summary.getMovableArmies());
+			assertTrue(p1.hasConqueredAreaThisTurn());
+
+			gh.moveArmiesAfterConquest(p1, summary.getLastRound(), summary.getMovableArmies());
+			assertEquals(1, attackingArea.getArmies());
+		} catch (GameException e) {
+			fail("There should be no exception here");
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testBattleStopsBelowThreshold() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandler gh = new GameHandlerImpl(null, areas, null, null, new XoshiroRandomSource(5));
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+
+			Area attackingArea = areas.get(0);
+			Area defendingArea = attackingArea.getNeighbours().get(0);
+			attackingArea.setControllingPlayer(p1);
+			attackingArea.setArmies(10);
+			defendingArea.setControllingPlayer(p2);
+			defendingArea.setArmies(1000);
+
+			BattleSummary summary = gh.attackUntil(p1, attackingArea, defendingArea, 6, DefenseDicePolicy.MINIMUM);
+
+			assertFalse(summary.hasConqueredArea());
+			assertEquals(0, summary.getMovableArmies());
+			assertTrue(attackingArea.getArmies() < 6);
+			assertEquals(10 - summary.getLostAttackingArmies(), attackingArea.getArmies());
+			assertEquals(1000 - summary.getLostDefendingArmies(), defendingArea.getArmies());
+			assertEquals(summary.getRounds(), summary.getLostAttackingArmies() + summary.getLostDefendingArmies());
+		} catch (GameException e) {
+			fail("There should be no exception here");
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testBattleWithoutArmies() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandler gh = new GameHandlerImpl(null, areas, null);
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+
+			Area attackingArea = areas.get(0);
+			Area defendingArea = attackingArea.getNeighbours().get(0);
+			attackingArea.setControllingPlayer(p1);
+			attackingArea.setArmies(1);
+			defendingArea.setControllingPlayer(p2);
+			defendingArea.setArmies(1);
+
+			gh.attackUntil(p1, attackingArea, defendingArea, 2, DefenseDicePolicy.MAXIMUM);
+			fail("An area with a single army can't attack");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.INVALID_ATTACK_DICE);
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	private Player constructPlayer() {
+		return new Player("Erika", Color.GREEN, false);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, false);
+	}
+}
@@ -17,6 +17,8 @@ import org.ct.gd.logic.model.DefenseResult;
 import org.ct.gd.logic.model.Phase;
 import org.ct.gd.logic.model.Player;
 import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.BulkDiceGenerator;
+import org.ct.gd.logic.util.XoshiroRandomSource;
 
 public class GameHandlerDefenseTest extends TestCase {
 
@@ -177,6 +179,48 @@ public class GameHandlerDefenseTest extends TestCase {
 		}
 	}
 	
+	public void testDeferredAttackResolvedWithDefense() {
+		try {
+			JsonMapper mapper = new JsonMapper();
+			AreaList areas = mapper.mapAreasFromJson();
+
+			GameHandler gh = new GameHandlerImpl(null, areas, null);
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+			
+			for (int i = 0; i < 100; i++) {
+				areas.get(0).setControllingPlayer(p2);
+				areas.get(0).setArmies(10);
+				areas.get(1).setControllingPlayer(p1);
+				areas.get(1).setArmies(10);
+				AttackResult ar = new AttackResult(areas.get(1), areas.get(0), 3, new BulkDiceGenerator(new XoshiroRandomSource(i)));
+				assertFalse(ar.isRolled());
+
+				DefenseResult dr = gh.defend(p2, ar, 2);
+				assertTrue(ar.isRolled());
+				assertEquals(2, dr.getLostAttackingArmies() + dr.getLostDefendingArmies());
+				assertEquals(10 - dr.getLostAttackingArmies(), areas.get(1).getArmies());
+				assertEquals(10 - dr.getLostDefendingArmies(), areas.get(0).getArmies());
+
+				// the synthesized dice have to match the losses
+				int lostDefendingArmies = 0;
+				for (int d = 0; d < 2; d++) {
+					if (dr.getDefenseValues()[d] < ar.getAttackValues()[d]) {
+						lostDefendingArmies++;
+					}
+				}
+				assertEquals(lostDefendingArmies, dr.getLostDefendingArmies());
+			}
+		} catch (GameException e) {
+			fail("There should be no exception here");
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+	
 	// TODO: Test passing cards if player is eliminated
 		
 	private Player constructPlayer() {
@@ -88,6 +88,45 @@ public class GameHandlerDrawCardTest extends TestCase {
 		}
 	}
 
+	public void testEmptyDeck() {
+		GameHandler gh = new GameHandlerImpl(new ArrayList<Card>(), null, null);
+		Player p1 = constructPlayer();
+
+		p1.setTurn(true);
+		p1.setPhase(Phase.DRAW_CARD);
+		p1.setConqueredAreaThisTurn(true);
+
+		try {
+			gh.drawCard(p1);
+			fail("There are no cards left to draw");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.UNKNOW_ERROR);
+		}
+
+		try {
+			gh.confirmEndOfPhase(p1);
+			assertEquals(Phase.FORTIFICATION, p1.getPhase());
+		} catch (GameException e) {
+			fail("This exception shouldn't occur: " + e.getMessage());
+		}
+	}
+
+	public void testCardMustBeDrawn() {
+		GameHandler gh = new GameHandlerImpl(constructAreaList(), null, null);
+		Player p1 = constructPlayer();
+
+		p1.setTurn(true);
+		p1.setPhase(Phase.DRAW_CARD);
+		p1.setConqueredAreaThisTurn(true);
+
+		try {
+			gh.confirmEndOfPhase(p1);
+			fail("The card has to be drawn while the deck isn't empty");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.WRONG_PHASE_FOR_ACTION);
+		}
+	}
+
 	private Player constructPlayer() {
 		return new Player("Erika", Color.GREEN, false);
 	}
@@ -101,6 +101,54 @@ public class GameHandlerGetReinforcementsTest extends TestCase {
 		}
 	}
 
+	public void testReinforcementsGrantedAtStartOfTurn() {
+		try {
+			JsonMapper mapper = new JsonMapper();
+			AreaList areas = mapper.mapAreasFromJson();
+
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, null);
+			Player p1 = constructPlayer();
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.TRADE_CARDS);
+			p1.setNoOfReinforcements(4);
+
+			gh.confirmEndOfPhase(p1);
+
+			// the traded armies plus the minimum for controlling no areas
+			assertEquals(Phase.REINFORCEMENT, p1.getPhase());
+			assertEquals(7, p1.getNoOfReinforcements());
+		} catch (GameException e) {
+			fail("There should be no exception here");
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testNoReinforcementsGrantedAfterDefeat() {
+		try {
+			JsonMapper mapper = new JsonMapper();
+			AreaList areas = mapper.mapAreasFromJson();
+
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, null);
+			Player p1 = constructPlayer();
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.TRADE_CARDS_AFTER_DEFEAT);
+			p1.setNoOfReinforcements(4);
+
+			gh.confirmEndOfPhase(p1);
+
+			// only the armies of the cards traded after the defeat are placed
+			assertEquals(Phase.REINFORCEMENT, p1.getPhase());
+			assertEquals(4, p1.getNoOfReinforcements());
+		} catch (GameException e) {
+			fail("There should be no exception here");
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
 	private Player constructPlayer() {
 		return new Player("Erika", Color.GREEN, false);
 	}
@@ -0,0 +1,200 @@
+package org.ct.gd.logic.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.Game;
+import org.ct.gd.logic.ai.InitialPlacementPolicy;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.GameException.GameExceptionType;
+import org.ct.gd.logic.exception.IllegalIdentityException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.exception.InvalidNumberOfPlayersException;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+public class GameHandlerInitialPlacementTest extends TestCase {
+
+	private static final int NUMBER_OF_PLAYERS = 4;
+
+	public void testSubmittedPlacementsMatchSinglePlacements() {
+		try {
+			GameHandlerImpl batch = startGame(3);
+			GameHandlerImpl single = startGame(3);
+			InitialPlacementPolicy policy = new InitialPlacementPolicy();
+
+			Map<Integer, List<Area>> placements = new HashMap<>();
+			for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+				placements.put(i, policy.choosePlacement(batch, batch.getPlayers().get(i)));
+			}
+			for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+				batch.submitInitialPlacement(batch.getPlayers().get(i), placements.get(i));
+			}
+
+			// the same placements, one army per call in the order of the turns
+			int[] placed = new int[NUMBER_OF_PLAYERS];
+			while (single.getPlayerInTurn().getPhase() == Phase.INITIAL_PLACEMENT) {
+				Player player = single.getPlayerInTurn();
+				int seat = single.getPlayers().indexOf(player);
+				List<Area> placement = placements.get(seat);
+				// players without armies left still pass their turn by placing
+				Area area = placed[seat] < placement.size() ? single.getAreas().getByIndex(placement.get(placed[seat]++).getIndex()) : firstArea(single,
+						player);
+				single.placeInitialUnit(player, area);
+			}
+
+			assertEquals(single.getStateHash(), batch.getStateHash());
+			assertEquals(single.getPlayers().indexOf(single.getPlayerInTurn()), batch.getPlayers().indexOf(batch.getPlayerInTurn()));
+			assertEquals(Phase.TRADE_CARDS, batch.getPlayerInTurn().getPhase());
+			for (Player player : batch.getPlayers()) {
+				assertEquals(0, player.getNoOfReinforcements());
+			}
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		}
+	}
+
+	public void testSubmissionWaitsForTurn() {
+		try {
+			GameHandlerImpl gh = startGame(5);
+			Player inTurn = gh.getPlayerInTurn();
+			Player next = gh.getPlayers().get((gh.getPlayers().indexOf(inTurn) + 1) % NUMBER_OF_PLAYERS);
+			int armies = next.getNoOfReinforcements();
+
+			new InitialPlacementPolicy().submit(gh, next);
+
+			assertEquals(armies, next.getNoOfReinforcements());
+			assertTrue(inTurn.isTurn());
+
+			gh.placeInitialUnit(inTurn, firstArea(gh, inTurn));
+
+			// the submitted army was placed right away and the turn passed on
+			assertEquals(armies - 1, next.getNoOfReinforcements());
+			assertFalse(next.isTurn());
+			assertFalse(inTurn.isTurn());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		}
+	}
+
+	public void testUndoSubmission() {
+		try {
+			GameHandlerImpl gh = startGame(9);
+			GameJournal journal = gh.enableJournal();
+			Player inTurn = gh.getPlayerInTurn();
+			Player next = gh.getPlayers().get((gh.getPlayers().indexOf(inTurn) + 1) % NUMBER_OF_PLAYERS);
+			int armies = next.getNoOfReinforcements();
+			long hash = gh.getStateHash();
+			InitialPlacementPolicy policy = new InitialPlacementPolicy();
+
+			policy.submit(gh, next);
+			gh.placeInitialUnit(inTurn, firstArea(gh, inTurn));
+			assertEquals(armies - 1, next.getNoOfReinforcements());
+
+			// the batched army is taken back, the submission stays
+			journal.undo();
+			assertEquals(armies, next.getNoOfReinforcements());
+			assertTrue(inTurn.isTurn());
+			gh.placeInitialUnit(inTurn, firstArea(gh, inTurn));
+			assertEquals(armies - 1, next.getNoOfReinforcements());
+
+			// taking back the submission allows a new one
+			journal.undoTo(0);
+			assertEquals(hash, gh.getStateHash());
+			assertEquals(armies, next.getNoOfReinforcements());
+			policy.submit(gh, next);
+			gh.placeInitialUnit(inTurn, firstArea(gh, inTurn));
+			assertEquals(armies - 1, next.getNoOfReinforcements());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		}
+	}
+
+	public void testInvalidPlacement() {
+		GameHandlerImpl gh = startGame(7);
+		Player player = gh.getPlayers().get(0);
+		Player opponent = gh.getPlayers().get(1);
+		long hash = gh.getStateHash();
+
+		try {
+			List<Area> placement = new ArrayList<>();
+			placement.add(firstArea(gh, player));
+			gh.submitInitialPlacement(player, placement);
+			fail("The placement has to cover all armies");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.ILLEGAL_NO_OF_ARMIES);
+		}
+
+		try {
+			List<Area> placement = new ArrayList<>();
+			for (int i = 0; i < player.getNoOfReinforcements(); i++) {
+				placement.add(i == 0 ? firstArea(gh, opponent) : firstArea(gh, player));
+			}
+			gh.submitInitialPlacement(player, placement);
+			fail("Armies may only be placed to own areas");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.AREA_NOT_UNDER_CONTROL);
+		}
+		assertEquals(hash, gh.getStateHash());
+
+		try {
+			InitialPlacementPolicy policy = new InitialPlacementPolicy();
+			policy.submit(gh, opponent);
+			policy.submit(gh, opponent);
+			fail("A placement may only be submitted once");
+		} catch (GameException e) {
+			assertTrue(e.getGameExceptionType() == GameExceptionType.WRONG_PHASE_FOR_ACTION);
+		}
+	}
+
+	public void testPlacementWithoutEnemyNeighbours() {
+		GameHandlerImpl gh = startGame(11);
+		Player player = gh.getPlayers().get(0);
+		for (Area area : gh.getAreas()) {
+			area.setControllingPlayer(player);
+			area.setArmies(1);
+		}
+
+		List<Area> placement = new InitialPlacementPolicy().choosePlacement(gh, player);
+
+		// fewer armies than areas, so no area gets a second one
+		assertTrue(player.getNoOfReinforcements() < gh.getAreas().size());
+		assertEquals(player.getNoOfReinforcements(), placement.size());
+		assertEquals(placement.size(), new HashSet<>(placement).size());
+	}
+
+	private GameHandlerImpl startGame(long seed) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_PLAYERS; i++) {
+			players.add(new Player("Player " + i, Color.values()[i], false));
+		}
+
+		try {
+			Game game = new Game(players, true, new XoshiroRandomSource(seed));
+			game.startGame();
+
+			return (GameHandlerImpl) game.getGameHandler();
+		} catch (InvalidNumberOfPlayersException | IllegalIdentityException | InvalidMappingException e) {
+			fail("The game should be set up\r\n" + e.getMessage());
+			return null;
+		}
+	}
+
+	private Area firstArea(GameHandler gh, Player player) {
+		for (Area area : gh.getAreas()) {
+			if (player.equals(area.getControllingPlayer())) {
+				return area;
+			}
+		}
+
+		return null;
+	}
+}
@@ -152,6 +152,40 @@ public class GameHandlerTradeCardsTest extends TestCase {
 		}
 	}
 
+	public void testTradedArmiesAddedToReinforcements() {
+		GameHandler gh = new GameHandlerImpl(new ArrayList<Card>(), null, null);
+		Player p1 = constructPlayer();
+
+		p1.setTurn(true);
+		p1.setPhase(Phase.TRADE_CARDS);
+		p1.setNoOfReinforcements(2);
+
+		try {
+			int armies = gh.tradeCards(p1, constructValidCardsEqual());
+			assertEquals(4, armies);
+			assertEquals(6, p1.getNoOfReinforcements());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		}
+	}
+
+	public void testCardsTradedAfterDefeat() {
+		GameHandler gh = new GameHandlerImpl(new ArrayList<Card>(), null, null);
+		Player p1 = constructPlayer();
+
+		p1.setTurn(true);
+		p1.setPhase(Phase.TRADE_CARDS_AFTER_DEFEAT);
+
+		try {
+			int armies = gh.tradeCards(p1, constructValidCardsNotEqual());
+			assertEquals(4, armies);
+			assertEquals(4, p1.getNoOfReinforcements());
+			assertEquals(Phase.TRADE_CARDS_AFTER_DEFEAT, p1.getPhase());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		}
+	}
+
 	private Player constructPlayer() {
 		return new Player("Erika", Color.GREEN, false);
 	}
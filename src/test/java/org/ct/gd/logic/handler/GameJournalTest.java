@@ -0,0 +1,193 @@
+package org.ct.gd.logic.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.GameStatus;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.BattleSummary;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.DefenseDicePolicy;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.model.UnitType;
+import org.ct.gd.logic.util.AreaList;
+import org.ct.gd.logic.util.XoshiroRandomSource;
+
+public class GameJournalTest extends TestCase {
+
+	public void testUndoReinforcement() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, null);
+			GameJournal journal = gh.enableJournal();
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.REINFORCEMENT);
+			p1.setNoOfReinforcements(5);
+			Area area = areas.get(0);
+			Area otherArea = areas.get(1);
+			area.setControllingPlayer(p1);
+			area.setArmies(1);
+			otherArea.setControllingPlayer(p1);
+			otherArea.setArmies(1);
+
+			gh.reinforce(p1, area, 3);
+			assertEquals(4, area.getArmies());
+			assertEquals(GameJournal.Command.REINFORCE, journal.getLastCommand());
+
+			assertTrue(journal.undo());
+			assertEquals(1, area.getArmies());
+			assertEquals(5, p1.getNoOfReinforcements());
+			assertFalse(journal.undo());
+
+			assertTrue(journal.redo());
+			assertEquals(4, area.getArmies());
+			assertEquals(2, p1.getNoOfReinforcements());
+
+			// a new command drops everything undone before
+			journal.undo();
+			gh.reinforce(p1, otherArea, 5);
+			assertFalse(journal.canRedo());
+			assertEquals(1, journal.getNumberOfCommands());
+			assertEquals(1, area.getArmies());
+			assertEquals(6, otherArea.getArmies());
+
+			// failed calls are not recorded
+			try {
+				gh.reinforce(p1, area, 1);
+				fail("No reinforcements should be left");
+			} catch (GameException e) {
+				assertEquals(1, journal.getNumberOfCommands());
+			}
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testUndoDefeatOfPlayer() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			List<Player> players = new ArrayList<>();
+			players.add(p1);
+			players.add(p2);
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, players, null, new XoshiroRandomSource(11));
+			GameJournal journal = gh.enableJournal();
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+			for (Area area : areas) {
+				area.setControllingPlayer(p1);
+				area.setArmies(1);
+			}
+			Area attackingArea = areas.get(0);
+			Area defendingArea = attackingArea.getNeighbours().get(0);
+			attackingArea.setArmies(200);
+			defendingArea.setControllingPlayer(p2);
+			defendingArea.setArmies(3);
+			Card card = new Card(false, areas.get(5), UnitType.CAVALRY);
+			p2.getCards().add(card);
+
+			long hash = gh.getStateHash();
+
+			BattleSummary summary = gh.attackUntil(p1, attackingArea, defendingArea, 0, DefenseDicePolicy.MAXIMUM);
+			assertFalse(hash == gh.getStateHash());
+			assertTrue(summary.hasConqueredArea());
+			assertEquals(GameStatus.GAME_OVER, gh.getGameStatus());
+			assertEquals(p1, gh.getWinner());
+			assertEquals(1, players.size());
+			assertTrue(p1.getCards().contains(card));
+
+			assertTrue(journal.undo());
+			assertEquals(200, attackingArea.getArmies());
+			assertEquals(3, defendingArea.getArmies());
+			assertEquals(hash, gh.getStateHash());
+			assertEquals(p2, defendingArea.getControllingPlayer());
+			assertEquals(1, areas.getNumberOfAreasControlledByPlayer(p2));
+			assertEquals(GameStatus.RUNNING, gh.getGameStatus());
+			assertNull(gh.getWinner());
+			assertEquals(2, players.size());
+			assertEquals(p2, players.get(1));
+			assertTrue(p2.getCards().contains(card));
+			assertTrue(p1.getCards().isEmpty());
+			assertFalse(p1.hasConqueredAreaThisTurn());
+
+			assertTrue(journal.redo());
+			assertEquals(p1, defendingArea.getControllingPlayer());
+			assertEquals(GameStatus.GAME_OVER, gh.getGameStatus());
+			assertEquals(1, players.size());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testUndoTurn() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			List<Player> players = new ArrayList<>();
+			players.add(p1);
+			players.add(p2);
+			GameHandlerImpl gh = new GameHandlerImpl(null, areas, players);
+			GameJournal journal = gh.enableJournal();
+
+			for (int i = 0; i < areas.size(); i++) {
+				areas.get(i).setControllingPlayer(i % 2 == 0 ? p1 : p2);
+				areas.get(i).setArmies(1);
+			}
+			p1.setTurn(true);
+			p1.setPhase(Phase.TRADE_CARDS);
+			int start = journal.getPosition();
+
+			gh.confirmEndOfPhase(p1);
+			int reinforcements = p1.getNoOfReinforcements();
+			assertTrue(reinforcements > 0);
+			gh.reinforce(p1, areas.get(0), reinforcements);
+			gh.confirmEndOfPhase(p1);
+			gh.confirmEndOfPhase(p1);
+			gh.confirmEndOfPhase(p1);
+			assertTrue(p2.isTurn());
+			assertEquals(Phase.TRADE_CARDS, p2.getPhase());
+
+			journal.undoTo(start);
+			assertTrue(p1.isTurn());
+			assertFalse(p2.isTurn());
+			assertEquals(Phase.TRADE_CARDS, p1.getPhase());
+			assertEquals(0, p1.getNoOfReinforcements());
+			assertEquals(1, areas.get(0).getArmies());
+
+			while (journal.redo()) {
+				// replay the whole turn
+			}
+			assertTrue(p2.isTurn());
+			assertEquals(Phase.NONE, p1.getPhase());
+			assertEquals(1 + reinforcements, areas.get(0).getArmies());
+		} catch (GameException e) {
+			fail("There should be no exception here\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	private Player constructPlayer() {
+		return new Player("Erika", Color.GREEN, false);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, false);
+	}
+}
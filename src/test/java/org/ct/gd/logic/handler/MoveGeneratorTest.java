@@ -0,0 +1,163 @@
+package org.ct.gd.logic.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Phase;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.model.UnitType;
+import org.ct.gd.logic.util.AreaList;
+
+public class MoveGeneratorTest extends TestCase {
+
+	public void testAttackMoves() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandler gh = new GameHandlerImpl(null, areas, null);
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.ATTACK);
+
+			for (Area area : areas) {
+				area.setControllingPlayer(p2);
+				area.setArmies(1);
+			}
+			Area attackingArea = areas.get(0);
+			attackingArea.setControllingPlayer(p1);
+			attackingArea.setArmies(3);
+
+			MoveList moves = new MoveList(1);
+			int numberOfMoves = new MoveGenerator(gh).generate(p1, moves);
+
+			assertEquals(attackingArea.getNeighbours().size() * 2 + 1, numberOfMoves);
+			assertEquals(1, moves.count(Move.END_PHASE));
+			assertFalse(moves.contains(Move.of(Move.ATTACK, 0, attackingArea.getNeighbours().get(0).getIndex(), 3)));
+
+			// every generated attack is accepted by the handler
+			for (int i = 0; i < moves.size(); i++) {
+				long move = moves.get(i);
+				if (Move.getType(move) == Move.ATTACK) {
+					gh.attack(p1, areas.getByIndex(Move.getSource(move)), areas.getByIndex(Move.getTarget(move)), Move.getAmount(move));
+				}
+			}
+
+			assertEquals(0, new MoveGenerator(gh).generate(p2, moves));
+		} catch (GameException e) {
+			fail("Generated moves should be legal\r\n" + e.getMessage());
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testFortificationMoves() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			Player p2 = constructOponent();
+			GameHandler gh = new GameHandlerImpl(null, areas, null);
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.FORTIFICATION);
+
+			for (Area area : areas) {
+				area.setControllingPlayer(p2);
+				area.setArmies(1);
+			}
+			Area source = areas.get(0);
+			Area destination = source.getNeighbours().get(0);
+			source.setControllingPlayer(p1);
+			source.setArmies(5);
+			destination.setControllingPlayer(p1);
+
+			MoveGenerator generator = new MoveGenerator(gh);
+			MoveList moves = new MoveList();
+			generator.generate(p1, moves);
+
+			assertEquals(2, moves.size());
+			assertTrue(moves.contains(Move.of(Move.FORTIFY, source.getIndex(), destination.getIndex(), 4)));
+			assertTrue(generator.isLegal(p1, Move.of(Move.FORTIFY, source.getIndex(), destination.getIndex(), 2)));
+			assertFalse(generator.isLegal(p1, Move.of(Move.FORTIFY, source.getIndex(), destination.getIndex(), 5)));
+			assertFalse(generator.isLegal(p1, Move.of(Move.FORTIFY, destination.getIndex(), source.getIndex(), 1)));
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testTradeMoves() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			GameHandler gh = new GameHandlerImpl(null, areas, null);
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.TRADE_CARDS);
+			for (int i = 0; i < 3; i++) {
+				p1.getCards().add(new Card(false, areas.get(i), UnitType.SOLDIER));
+			}
+			p1.getCards().add(new Card(false, areas.get(3), UnitType.CAVALRY));
+
+			MoveList moves = new MoveList();
+			new MoveGenerator(gh).generate(p1, moves);
+
+			assertEquals(1, moves.count(Move.TRADE_CARDS));
+			assertTrue(moves.contains(Move.trade(0, 1, 2)));
+			assertEquals(1, moves.count(Move.END_PHASE));
+
+			p1.getCards().add(new Card(false, areas.get(4), UnitType.CAVALRY));
+			p1.getCards().add(new Card(false, areas.get(5), UnitType.ARTILERY));
+			new MoveGenerator(gh).generate(p1, moves);
+
+			// more than five cards have to be traded
+			assertEquals(0, moves.count(Move.END_PHASE));
+			assertTrue(moves.contains(Move.trade(0, 3, 5)));
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	public void testDrawCardMoves() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			Player p1 = constructPlayer();
+			List<Card> deck = new ArrayList<>();
+			deck.add(new Card(false, areas.get(0), UnitType.SOLDIER));
+			GameHandler gh = new GameHandlerImpl(deck, areas, null);
+			MoveGenerator generator = new MoveGenerator(gh);
+
+			p1.setTurn(true);
+			p1.setPhase(Phase.DRAW_CARD);
+			p1.setConqueredAreaThisTurn(true);
+
+			MoveList moves = new MoveList();
+			assertEquals(1, generator.generate(p1, moves));
+			assertTrue(generator.isLegal(p1, Move.of(Move.DRAW_CARD, Move.NO_AREA, Move.NO_AREA, 0)));
+			assertFalse(generator.isLegal(p1, Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0)));
+
+			// with the deck used up the phase can only be ended
+			deck.clear();
+			assertEquals(1, generator.generate(p1, moves));
+			assertFalse(generator.isLegal(p1, Move.of(Move.DRAW_CARD, Move.NO_AREA, Move.NO_AREA, 0)));
+			assertTrue(generator.isLegal(p1, Move.of(Move.END_PHASE, Move.NO_AREA, Move.NO_AREA, 0)));
+		} catch (InvalidMappingException e) {
+			fail("Mapping shouldn't be an issue here");
+		}
+	}
+
+	private Player constructPlayer() {
+		return new Player("Erika", Color.GREEN, false);
+	}
+
+	private Player constructOponent() {
+		return new Player("Christian", Color.BLUE, false);
+	}
+}
@@ -0,0 +1,74 @@
+package org.ct.gd.logic.mapper;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Card;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.AreaList;
+
+public class MapCatalogTest extends TestCase {
+
+	public void testDefaultCatalogIsLoadedOnce() {
+		try {
+			MapCatalog catalog = MapCatalog.getDefault();
+
+			assertSame(catalog, MapCatalog.getDefault());
+			assertEquals(new JsonMapper().mapAreasFromJson().size(), catalog.getBoardGraph().getNumberOfAreas());
+			assertEquals(new JsonMapper().mapCardsFromJson().size(), catalog.getCards().size());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testGamesGetIndependentCopies() {
+		try {
+			MapCatalog catalog = MapCatalog.getDefault();
+
+			AreaList areas = catalog.createAreas();
+			AreaList otherAreas = catalog.createAreas();
+
+			assertSame(areas.getBoardGraph(), otherAreas.getBoardGraph());
+			assertEquals(areas.size(), otherAreas.size());
+
+			Player player = new Player("Erika", Color.GREEN, false);
+			for (Area area : areas) {
+				assertNull(area.getControllingPlayer());
+				area.setControllingPlayer(player);
+				area.setArmies(3);
+
+				for (Area neighbour : area.getNeighbours()) {
+					assertSame(areas.getByIndex(neighbour.getIndex()), neighbour);
+				}
+			}
+
+			assertTrue(areas.isWorldDomination(player));
+			assertEquals(0, otherAreas.getNumberOfAreasControlledByPlayer(player));
+			for (Area area : otherAreas) {
+				assertEquals(0, area.getArmies());
+			}
+
+			List<Card> deck = catalog.createDeck();
+			deck.remove(0);
+			assertEquals(catalog.getCards().size() - 1, deck.size());
+			assertEquals(catalog.getCards().size(), catalog.createDeck().size());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testCatalogIsReadOnly() {
+		try {
+			MapCatalog.getDefault().getCards().clear();
+			fail("the cards of the catalog may not be changed");
+		} catch (UnsupportedOperationException e) {
+			// expected result
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+}
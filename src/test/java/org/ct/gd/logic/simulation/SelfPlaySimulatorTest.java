@@ -0,0 +1,117 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.ai.AggressiveBot;
+import org.ct.gd.logic.ai.BotFactory;
+import org.ct.gd.logic.ai.BotPolicy;
+import org.ct.gd.logic.ai.RandomBot;
+import org.ct.gd.logic.exception.GameException;
+import org.ct.gd.logic.exception.GameException.GameExceptionType;
+import org.ct.gd.logic.handler.BattleOdds;
+import org.ct.gd.logic.handler.GameHandler;
+import org.ct.gd.logic.model.Player;
+import org.ct.gd.logic.util.RandomSource;
+
+public class SelfPlaySimulatorTest extends TestCase {
+
+	private static final int MAXIMUM_TURNS = 500;
+
+	public void testGamesAreFinished() {
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, AggressiveBot.FACTORY, RandomBot.FACTORY), false,
+				MAXIMUM_TURNS);
+
+		try {
+			SimulationResult result = new SelfPlaySimulator(runner, 4).simulate(40, 1);
+
+			assertEquals(40, result.getNumberOfGames());
+			assertEquals(0, result.getFailedGames());
+			assertTrue(result.getFinishedGames() > 30);
+			assertTrue(result.getAverageGameLength() > 0);
+			assertTrue(result.getTurnsPerSecond() > 0);
+
+			int wins = 0;
+			for (int seat = 0; seat < 3; seat++) {
+				wins += result.getWins(seat);
+			}
+			assertEquals(result.getFinishedGames(), wins);
+
+			int goals = 0;
+			for (int count : result.getWinningGoals().values()) {
+				goals += count;
+			}
+			assertEquals(result.getFinishedGames(), goals);
+		} catch (InterruptedException e) {
+			fail("Simulation shouldn't be interrupted");
+		}
+	}
+
+	public void testGamesAreReproducible() {
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY), true, MAXIMUM_TURNS);
+
+		for (long seed = 0; seed < 5; seed++) {
+			GameRecord record = runner.run(seed);
+			GameRecord replay = runner.run(seed);
+
+			assertEquals(record.getTurns(), replay.getTurns());
+			assertEquals(record.isFinished(), replay.isFinished());
+			assertEquals(record.getWinningSeat(), replay.getWinningSeat());
+		}
+
+		try {
+			SimulationResult sequential = new SelfPlaySimulator(runner, 1).simulate(10, 7);
+			SimulationResult parallel = new SelfPlaySimulator(runner, 3).simulate(10, 7);
+
+			assertEquals(sequential.getGameLengths(), parallel.getGameLengths());
+			assertEquals(sequential.getWins(0), parallel.getWins(0));
+		} catch (InterruptedException e) {
+			fail("Simulation shouldn't be interrupted");
+		}
+	}
+
+	public void testIllegalMovesAreRecorded() {
+		BotFactory illegalFortification = new BotFactory() {
+
+			@Override
+			public BotPolicy createBot(RandomSource randomSource) {
+				return new AggressiveBot(BattleOdds.getDefault()) {
+
+					@Override
+					public void fortify(GameHandler handler, Player player) throws GameException {
+						handler.fortify(player, null, null, 1);
+					}
+				};
+			}
+
+			@Override
+			public String getName() {
+				return "illegal";
+			}
+		};
+		GameRunner runner = new GameRunner(Arrays.<BotFactory> asList(illegalFortification, RandomBot.FACTORY), true, MAXIMUM_TURNS);
+
+		GameRecord record = runner.run(3);
+		assertTrue(record.isFailed());
+		assertFalse(record.isFinished());
+		assertTrue(record.getFailure().getGameExceptionType() == GameExceptionType.UNKNOW_ERROR);
+
+		try {
+			SimulationResult result = new SelfPlaySimulator(runner, 1).simulate(2, 3);
+			assertEquals(2, result.getFailedGames());
+			assertEquals(0, result.getFinishedGames());
+		} catch (InterruptedException e) {
+			fail("Simulation shouldn't be interrupted");
+		}
+	}
+
+	public void testInvalidNumberOfBots() {
+		try {
+			new GameRunner(Arrays.<BotFactory> asList(RandomBot.FACTORY), true, MAXIMUM_TURNS);
+			fail("A single bot can't play a game");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package org.ct.gd.logic.simulation;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.ai.AggressiveBot;
+import org.ct.gd.logic.ai.BorderSecurityBot;
+import org.ct.gd.logic.ai.BotFactory;
+import org.ct.gd.logic.ai.RandomBot;
+
+public class TournamentTest extends TestCase {
+
+	private static final int MAXIMUM_TURNS = 300;
+
+	public void testRoundRobin() {
+		Tournament tournament = new Tournament(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY, BorderSecurityBot.FACTORY,
+				RandomBot.FACTORY), 3, true, MAXIMUM_TURNS, 2);
+
+		// four tables of three, each in three rotations
+		assertEquals(12, tournament.getGamesPerRound());
+
+		try {
+			TournamentResult result = tournament.play(2, 11);
+
+			assertEquals(24, result.getNumberOfGames());
+			assertEquals(0, result.getFailedGames());
+			int wins = 0;
+			for (int entrant = 0; entrant < 4; entrant++) {
+				assertEquals(18, result.getGames(entrant));
+				wins += result.getWins(entrant);
+				assertTrue(result.getRatingError(entrant) > 0);
+			}
+			assertEquals(result.getFinishedGames(), wins);
+			assertTrue(result.getRating(0) > result.getRating(1));
+			assertTrue(result.getRating(0) > result.getRating(3));
+			int last = result.getRanking().get(3);
+			assertTrue(last == 1 || last == 3);
+			assertTrue(result.getGamesPerSecond() > 0);
+		} catch (InterruptedException e) {
+			fail("Tournament shouldn't be interrupted");
+		}
+	}
+
+	public void testTournamentsAreReproducible() {
+		Tournament tournament = new Tournament(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY), 2, true, MAXIMUM_TURNS, 3);
+
+		try {
+			TournamentResult sequential = new Tournament(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY), 2, true, MAXIMUM_TURNS, 1)
+					.play(3, 5);
+			TournamentResult parallel = tournament.play(3, 5);
+
+			assertEquals(sequential.getTotalTurns(), parallel.getTotalTurns());
+			assertEquals(sequential.getWins(0), parallel.getWins(0));
+			assertEquals(sequential.getRating(0), parallel.getRating(0), 1e-9);
+		} catch (InterruptedException e) {
+			fail("Tournament shouldn't be interrupted");
+		}
+	}
+
+	public void testInvalidTables() {
+		try {
+			new Tournament(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY), 3, true, MAXIMUM_TURNS, 1);
+			fail("Three bots can't be seated with two entrants");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			new Tournament(Arrays.<BotFactory> asList(AggressiveBot.FACTORY, RandomBot.FACTORY), 1, true, MAXIMUM_TURNS, 1);
+			fail("A single bot can't play a game");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
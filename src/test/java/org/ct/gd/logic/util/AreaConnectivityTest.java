@@ -0,0 +1,70 @@
+package org.ct.gd.logic.util;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Player;
+
+public class AreaConnectivityTest extends TestCase {
+
+	public void testComponentsFollowConquests() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+
+			Player player1 = new Player("Erika", Color.GREEN, false);
+			Player player2 = new Player("Christian", Color.BLUE, false);
+
+			for (Area area : areas) {
+				area.setControllingPlayer(player2);
+			}
+
+			Area alaska = areas.getByName("alaska");
+			Area alberta = areas.getByName("alberta");
+			Area ontario = areas.getByName("ontario");
+			Area greenland = areas.getByName("greenland");
+
+			alaska.setControllingPlayer(player1);
+			alberta.setControllingPlayer(player1);
+			greenland.setControllingPlayer(player1);
+
+			assertTrue(areas.isConnected(alaska, alberta));
+			assertFalse(areas.isConnected(alaska, greenland));
+			assertFalse(areas.isConnected(alaska, ontario));
+			assertEquals(2, areas.getConnectedAreas(alaska).size());
+			assertEquals(1, areas.getConnectedAreas(greenland).size());
+
+			// conquering ontario links greenland to alaska and alberta
+			ontario.setControllingPlayer(player1);
+
+			assertTrue(areas.isConnected(alaska, greenland));
+			List<Area> connected = areas.getConnectedAreas(greenland);
+			assertEquals(4, connected.size());
+			assertTrue(connected.contains(alaska));
+			assertTrue(connected.contains(ontario));
+
+			// northwestterritories is now enclosed, all other areas of the opponent stay connected
+			assertEquals(1, areas.getConnectedAreas(areas.getByName("northwestterritories")).size());
+			assertEquals(areas.size() - 5, areas.getConnectedAreas(areas.getByName("ukraine")).size());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testUncontrolledAreasAreNotConnected() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+
+			Area alaska = areas.getByName("alaska");
+
+			assertFalse(areas.isConnected(alaska, alaska));
+			assertTrue(areas.getConnectedAreas(alaska).isEmpty());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+}
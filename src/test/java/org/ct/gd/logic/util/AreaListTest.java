@@ -158,4 +158,88 @@ public class AreaListTest extends TestCase {
 			fail("the mapping should work!\r\n" + e.getMessage());
 		}
 	}
+
+	public void testOwnershipIndexFollowsChanges() {
+		JsonMapper mapper = new JsonMapper();
+
+		try {			
+			AreaList areas = mapper.mapAreasFromJson();
+
+			Player player1 = new Player("Erika", Color.GREEN, false);
+			Player player2 = new Player("Christian", Color.BLUE, false);
+			
+			for (Area area : areas) {
+				area.setControllingPlayer(player1);
+			}
+			assertTrue(areas.isWorldDomination(player1));
+			assertEquals(areas.size(), areas.getNumberOfAreasControlledByPlayer(player1));
+			
+			Area conquered = areas.getAreasInContinent(Continent.AUSTRALIA).get(0);
+			conquered.setControllingPlayer(player2);
+			
+			assertFalse(areas.isWorldDomination(player1));
+			assertFalse(areas.controlsContinent(Continent.AUSTRALIA, player1));
+			assertTrue(areas.controlsContinent(Continent.ASIA, player1));
+			assertEquals(areas.size() - 1, areas.getNumberOfAreasControlledByPlayer(player1));
+			assertEquals(1, areas.getNumberOfAreasControlledByPlayer(player2));
+			assertEquals(1, areas.getAreasControlledByPlayer(player2).size());
+			assertSame(conquered, areas.getAreasControlledByPlayer(player2).get(0));
+			
+			// an equal player instance is treated as the same player
+			assertEquals(1, areas.getNumberOfAreasControlledByPlayer(new Player("Christian", Color.BLUE, false)));
+			
+			// a replaced area is no longer counted by the indices
+			Area atlantis = new Area("Atlantis", Continent.AUSTRALIA, null);
+			atlantis.setControllingPlayer(player1);
+			areas.set(areas.indexOf(conquered), atlantis);
+			assertTrue(areas.isWorldDomination(player1));
+			assertTrue(areas.controlsContinent(Continent.AUSTRALIA, player1));
+			assertEquals(0, areas.getNumberOfAreasControlledByPlayer(player2));
+			assertTrue(areas.getAreasControlledByPlayer(player2).isEmpty());
+			areas.set(areas.indexOf(atlantis), conquered);
+
+			// after a structural modification the list falls back to scanning its areas
+			areas.remove(conquered);
+			assertTrue(areas.isWorldDomination(player1));
+			assertEquals(0, areas.getNumberOfAreasControlledByPlayer(player2));
+			
+		} catch (InvalidMappingException e) {
+			// this shouldn't happen
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testGetByName() {
+		JsonMapper mapper = new JsonMapper();
+
+		try {			
+			AreaList areas = mapper.mapAreasFromJson();
+			
+			Area alaska = areas.getByName("alaska");
+			assertNotNull(alaska);
+			assertEquals("alaska", alaska.getName());
+			assertNull(areas.getByName("Alaska"));
+			assertSame(alaska, areas.getByNameIgnoreCase("ALASKA"));
+			assertNull(areas.getByNameIgnoreCase("atlantis"));
+			assertNull(areas.getByNameIgnoreCase(null));
+			
+			// the index follows modifications of the list
+			areas.remove(alaska);
+			assertNull(areas.getByName("alaska"));
+			assertNull(areas.getByNameIgnoreCase("Alaska"));
+			
+			Area atlantis = new Area("Atlantis", Continent.EUROPE, null);
+			areas.add(atlantis);
+			assertSame(atlantis, areas.getByName("Atlantis"));
+			assertSame(atlantis, areas.getByNameIgnoreCase("atlantis"));
+			
+			areas.set(areas.indexOf(atlantis), alaska);
+			assertNull(areas.getByName("Atlantis"));
+			assertSame(alaska, areas.getByName("alaska"));
+			
+		} catch (InvalidMappingException e) {
+			// this shouldn't happen
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
 }
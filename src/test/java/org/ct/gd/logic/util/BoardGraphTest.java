@@ -0,0 +1,82 @@
+package org.ct.gd.logic.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Continent;
+
+public class BoardGraphTest extends TestCase {
+
+	public void testIndicesMatchListPositions() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			BoardGraph graph = areas.getBoardGraph();
+
+			assertNotNull(graph);
+			assertEquals(areas.size(), graph.getNumberOfAreas());
+
+			for (int i = 0; i < areas.size(); i++) {
+				assertEquals(i, areas.get(i).getIndex());
+				assertSame(areas.get(i), areas.getByIndex(i));
+				assertEquals(areas.get(i).getName(), graph.getName(i));
+				assertEquals(i, graph.getIndex(areas.get(i).getName()));
+			}
+			assertEquals(-1, graph.getIndex("atlantis"));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testNeighboursAreCanonical() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			BoardGraph graph = areas.getBoardGraph();
+
+			for (Area area : areas) {
+				assertEquals(graph.getNumberOfNeighbours(area.getIndex()), area.getNeighbours().size());
+
+				for (Area neighbour : area.getNeighbours()) {
+					assertSame(areas.getByIndex(neighbour.getIndex()), neighbour);
+					assertNotNull(neighbour.getNeighbours());
+					assertTrue(graph.isNeighbour(area.getIndex(), neighbour.getIndex()));
+					assertTrue(graph.isNeighbour(neighbour.getIndex(), area.getIndex()));
+				}
+			}
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testIsNeighbour() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			BoardGraph graph = areas.getBoardGraph();
+
+			assertTrue(graph.isNeighbour(graph.getIndex("alaska"), graph.getIndex("kamtschatka")));
+			assertFalse(graph.isNeighbour(graph.getIndex("alaska"), graph.getIndex("ukraine")));
+			assertFalse(graph.isNeighbour(graph.getIndex("alaska"), -1));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testUnknownNeighbourIsRejected() {
+		List<Area> neighbours = new ArrayList<>();
+		neighbours.add(new Area("atlantis", Continent.EUROPE, null));
+
+		AreaList areas = new AreaList();
+		areas.add(new Area("iceland", Continent.EUROPE, neighbours));
+
+		try {
+			areas.compileBoardGraph();
+			fail("atlantis is not part of the board");
+		} catch (InvalidMappingException e) {
+			// expected result
+		}
+	}
+}
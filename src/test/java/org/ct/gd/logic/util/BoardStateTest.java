@@ -0,0 +1,121 @@
+package org.ct.gd.logic.util;
+
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.MapCatalog;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Player;
+
+public class BoardStateTest extends TestCase {
+
+	public void testAreasAreViewsOnTheState() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+			BoardState state = areas.getBoardState();
+			Player player = new Player("Erika", Color.GREEN, false);
+
+			Area alaska = areas.getByName("alaska");
+			alaska.setArmies(7);
+			alaska.setControllingPlayer(player);
+
+			assertEquals(7, state.getArmies(alaska.getIndex()));
+			assertSame(player, state.getControllingPlayer(alaska.getIndex()));
+			assertEquals(state.getOwnerSlot(player), state.getOwner(alaska.getIndex()));
+
+			state.setArmies(alaska.getIndex(), 3);
+			assertEquals(3, alaska.getArmies());
+
+			assertEquals(BoardState.NO_OWNER, state.getOwner(areas.getByName("alberta").getIndex()));
+			assertNull(areas.getByName("alberta").getControllingPlayer());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testEqualPlayersShareOwnerSlot() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+			BoardState state = areas.getBoardState();
+
+			areas.get(0).setControllingPlayer(new Player("Erika", Color.GREEN, false));
+			areas.get(1).setControllingPlayer(new Player("Erika", Color.GREEN, false));
+			areas.get(2).setControllingPlayer(new Player("Christian", Color.BLUE, false));
+
+			assertEquals(state.getOwner(0), state.getOwner(1));
+			assertFalse(state.getOwner(0) == state.getOwner(2));
+			assertEquals(2, areas.getNumberOfAreasControlledByPlayer(new Player("Erika", Color.GREEN, false)));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testHashDependsOnlyOnTheState() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+			AreaList otherAreas = MapCatalog.getDefault().createAreas();
+			Player player = new Player("Erika", Color.GREEN, false);
+			Player opponent = new Player("Christian", Color.BLUE, false);
+			assertEquals(0, areas.getBoardState().getHash());
+
+			areas.get(0).setControllingPlayer(player);
+			areas.get(0).setArmies(3);
+			areas.get(1).setControllingPlayer(opponent);
+			areas.get(1).setArmies(20);
+			long hash = areas.getBoardState().getHash();
+			assertFalse(hash == 0);
+
+			// the same state reached on another way
+			otherAreas.get(0).setControllingPlayer(player);
+			otherAreas.get(1).setControllingPlayer(player);
+			otherAreas.get(1).setArmies(8);
+			otherAreas.get(1).setControllingPlayer(opponent);
+			otherAreas.get(0).setArmies(3);
+			otherAreas.get(1).setArmies(22);
+			assertEquals(hash, otherAreas.getBoardState().getHash());
+
+			// armies in the same bucket hash alike, others don't
+			otherAreas.get(1).setArmies(16);
+			assertEquals(hash, otherAreas.getBoardState().getHash());
+			otherAreas.get(0).setArmies(4);
+			assertFalse(hash == otherAreas.getBoardState().getHash());
+			otherAreas.get(0).setArmies(3);
+
+			otherAreas.get(0).setControllingPlayer(opponent);
+			assertFalse(hash == otherAreas.getBoardState().getHash());
+			otherAreas.get(0).setControllingPlayer(player);
+			assertEquals(hash, otherAreas.getBoardState().getHash());
+
+			assertEquals(hash, areas.copy(new HashMap<Player, Player>()).getBoardState().getHash());
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testTopologyIsShared() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+
+			Area alaska = areas.getByName("alaska");
+			assertSame(areas.getByName("kamtschatka"), alaska.getNeighbours().get(0));
+
+			try {
+				alaska.setName("atlantis");
+				fail("the topology of a compiled board can't be changed");
+			} catch (UnsupportedOperationException e) {
+				// expected result
+			}
+			try {
+				alaska.getNeighbours().clear();
+				fail("the topology of a compiled board can't be changed");
+			} catch (UnsupportedOperationException e) {
+				// expected result
+			}
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package org.ct.gd.logic.util;
+
+import junit.framework.TestCase;
+
+public class BulkDiceGeneratorTest extends TestCase {
+
+	/**
+	 * critical values of the chi-square distribution at a significance level
+	 * of 0.001 for 5 and 35 degrees of freedom
+	 */
+	private static final double CHI_SQUARE_5 = 20.515;
+	private static final double CHI_SQUARE_35 = 66.619;
+
+	public void testFacesAreUniform() {
+		BulkDiceGenerator generator = new BulkDiceGenerator(new XoshiroRandomSource(1234));
+		long[] counts = new long[6];
+
+		for (int i = 0; i < 600000; i++) {
+			int die = generator.nextDie();
+			assertTrue(die >= 1 && die <= 6);
+			counts[die - 1]++;
+		}
+
+		assertTrue(chiSquare(counts) < CHI_SQUARE_5);
+	}
+
+	public void testConsecutiveFacesAreIndependent() {
+		BulkDiceGenerator generator = new BulkDiceGenerator(new XoshiroRandomSource(98765));
+		long[] counts = new long[36];
+
+		// pairs cross the word boundaries as well, since 24 is even
+		for (int i = 0; i < 360000; i++) {
+			counts[(generator.nextDie() - 1) * 6 + generator.nextDie() - 1]++;
+		}
+
+		assertTrue(chiSquare(counts) < CHI_SQUARE_35);
+	}
+
+	public void testRollsAreUniform() {
+		BulkDiceGenerator generator = new BulkDiceGenerator(new XoshiroRandomSource(42));
+		long[] counts = new long[36];
+
+		for (int i = 0; i < 360000; i++) {
+			counts[generator.nextRoll(2)]++;
+		}
+
+		assertTrue(chiSquare(counts) < CHI_SQUARE_35);
+	}
+
+	public void testRollsFitIntoAnInt() {
+		BulkDiceGenerator generator = new BulkDiceGenerator(new XoshiroRandomSource(11));
+
+		for (int i = 0; i < 1000; i++) {
+			int roll = generator.nextRoll(BulkDiceGenerator.MAXIMUM_DICE_PER_ROLL);
+			assertTrue(roll >= 0 && roll < 362797056);
+		}
+		assertEquals(0, generator.nextRoll(0));
+
+		try {
+			generator.nextRoll(BulkDiceGenerator.MAXIMUM_DICE_PER_ROLL + 1);
+			fail("6^12 doesn't fit into an int");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			generator.nextRoll(-1);
+			fail("A negative number of dice can't be rolled");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	public void testWordsAreUsedCompletely() {
+		XoshiroRandomSource randomSource = new XoshiroRandomSource(7);
+		BulkDiceGenerator generator = new BulkDiceGenerator(randomSource);
+
+		byte[] dice = new byte[BulkDiceGenerator.DICE_PER_WORD * 100];
+		generator.nextDice(dice, 0, dice.length);
+
+		// about 77% of all words are accepted
+		assertTrue(randomSource.getNumberOfDraws() >= 100 && randomSource.getNumberOfDraws() < 160);
+		assertEquals(0, generator.getNumberOfBufferedDice());
+		for (byte die : dice) {
+			assertTrue(die >= 1 && die <= 6);
+		}
+	}
+
+	private double chiSquare(long[] counts) {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+
+		double expected = (double) total / counts.length;
+		double chiSquare = 0;
+		for (long count : counts) {
+			chiSquare += (count - expected) * (count - expected) / expected;
+		}
+
+		return chiSquare;
+	}
+}
@@ -0,0 +1,65 @@
+package org.ct.gd.logic.util;
+
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.Player;
+
+public class ContinentControlTrackerTest extends TestCase {
+
+	public void testContinentSizes() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			ContinentControlTracker tracker = areas.getContinentControlTracker();
+
+			assertNotNull(tracker);
+			for (Continent continent : Continent.values()) {
+				assertEquals(areas.getAreasInContinent(continent).size(), tracker.getSizeOfContinent(continent));
+			}
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testCountersFollowOwnershipChanges() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			ContinentControlTracker tracker = areas.getContinentControlTracker();
+
+			Player player1 = new Player("Erika", Color.GREEN, false);
+			Player player2 = new Player("Christian", Color.BLUE, false);
+
+			assertTrue(tracker.getControlledContinents(player1).isEmpty());
+
+			for (Area area : areas.getAreasInContinent(Continent.SOUTH_AMERICA)) {
+				area.setControllingPlayer(player1);
+			}
+			for (Area area : areas.getAreasInContinent(Continent.AFRICA)) {
+				area.setControllingPlayer(player2);
+			}
+
+			Set<Continent> continents = tracker.getControlledContinents(player1);
+			assertEquals(1, continents.size());
+			assertTrue(continents.contains(Continent.SOUTH_AMERICA));
+			assertEquals(4, tracker.getNumberOfAreas(player1));
+			assertEquals(6, tracker.getNumberOfAreas(player2, Continent.AFRICA));
+
+			// a conquest moves one area from one player to the other
+			areas.getAreasInContinent(Continent.AFRICA).get(0).setControllingPlayer(player1);
+
+			assertFalse(tracker.controlsContinent(player2, Continent.AFRICA));
+			assertEquals(5, tracker.getNumberOfAreas(player2));
+			assertEquals(5, tracker.getNumberOfAreas(player1));
+			assertEquals(1, tracker.getNumberOfAreas(player1, Continent.AFRICA));
+			assertTrue(tracker.controlsContinent(player1, Continent.SOUTH_AMERICA));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+}
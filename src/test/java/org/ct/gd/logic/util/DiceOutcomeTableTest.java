@@ -0,0 +1,46 @@
+package org.ct.gd.logic.util;
+
+import junit.framework.TestCase;
+
+public class DiceOutcomeTableTest extends TestCase {
+
+	public void testKnownProbabilities() {
+		assertEquals(7776, DiceOutcomeTable.getNumberOfOutcomes(3, 2));
+		assertEquals(2275.0 / 7776, DiceOutcomeTable.getProbability(3, 2, 0), 1e-12);
+		assertEquals(2611.0 / 7776, DiceOutcomeTable.getProbability(3, 2, 1), 1e-12);
+		assertEquals(2890.0 / 7776, DiceOutcomeTable.getProbability(3, 2, 2), 1e-12);
+		assertEquals(15.0 / 36, DiceOutcomeTable.getProbability(1, 1, 1), 1e-12);
+		assertEquals(0.0, DiceOutcomeTable.getProbability(1, 2, 2), 1e-12);
+	}
+
+	public void testOutcomesMatchDice() {
+		for (int attack = 1; attack <= DiceOutcomeTable.MAXIMUM_ATTACK_DICE; attack++) {
+			for (int defense = 1; defense <= DiceOutcomeTable.MAXIMUM_DEFENSE_DICE; defense++) {
+				int[] faceCounts = new int[7];
+
+				for (int outcome = 0; outcome < DiceOutcomeTable.getNumberOfOutcomes(attack, defense); outcome++) {
+					int attackDice = DiceOutcomeTable.getAttackDice(attack, defense, outcome);
+					int defenseDice = DiceOutcomeTable.getDefenseDice(attack, defense, outcome);
+
+					int lostDefendingArmies = 0;
+					for (int i = 0; i < Math.min(attack, defense); i++) {
+						if (Dice.getDie(defenseDice, i) < Dice.getDie(attackDice, i)) {
+							lostDefendingArmies++;
+						}
+					}
+					assertEquals(lostDefendingArmies, DiceOutcomeTable.getLostDefendingArmies(attack, defense, outcome));
+					assertEquals(Math.min(attack, defense) - lostDefendingArmies, DiceOutcomeTable.getLostAttackingArmies(attack, defense, outcome));
+					assertEquals(attack, Dice.getNumberOfDice(attackDice));
+					faceCounts[Dice.getDie(attackDice, attack - 1)]++;
+				}
+
+				// the lowest attack die is 6 only if all attack dice are 6
+				int allSix = DiceOutcomeTable.getNumberOfOutcomes(attack, defense);
+				for (int i = 0; i < attack; i++) {
+					allSix /= 6;
+				}
+				assertEquals(allSix, faceCounts[6]);
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.ct.gd.logic.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+public class DiceTest extends TestCase {
+
+	public void testSortAndPack() {
+		for (int a = 1; a <= 6; a++) {
+			for (int b = 0; b <= 6; b++) {
+				for (int c = 0; c <= (b == 0 ? 0 : 6); c++) {
+					int numberOfDice = b == 0 ? 1 : (c == 0 ? 2 : 3);
+					Integer[] expected = Arrays.copyOf(new Integer[] { a, b, c }, numberOfDice);
+					Arrays.sort(expected, Collections.reverseOrder());
+
+					int packedDice = Dice.sortAndPack(numberOfDice, a, b, c);
+
+					assertEquals(numberOfDice, Dice.getNumberOfDice(packedDice));
+					assertTrue(Arrays.equals(expected, Dice.toArray(packedDice)));
+				}
+			}
+		}
+	}
+
+	public void testPack() {
+		int packedDice = Dice.pack(new Integer[] { 2, 6 });
+
+		assertEquals(2, Dice.getNumberOfDice(packedDice));
+		assertEquals(2, Dice.getDie(packedDice, 0));
+		assertEquals(6, Dice.getDie(packedDice, 1));
+		assertEquals(0, Dice.getNumberOfDice(Dice.pack(null)));
+
+		try {
+			Dice.pack(new Integer[] { 1, 2, 3, 4 });
+			fail("four dice can't be packed");
+		} catch (IllegalArgumentException e) {
+			// this is an expected result
+		}
+	}
+
+	public void testRoll() {
+		RandomSource randomSource = new XoshiroRandomSource(7);
+
+		for (int i = 0; i < 1000; i++) {
+			int packedDice = Dice.roll(randomSource, 3, 6);
+
+			assertEquals(3, Dice.getNumberOfDice(packedDice));
+			assertTrue(Dice.getDie(packedDice, 0) >= Dice.getDie(packedDice, 1));
+			assertTrue(Dice.getDie(packedDice, 1) >= Dice.getDie(packedDice, 2));
+			assertTrue(Dice.getDie(packedDice, 2) >= 1 && Dice.getDie(packedDice, 0) <= 6);
+		}
+	}
+}
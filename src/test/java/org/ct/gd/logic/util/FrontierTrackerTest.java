@@ -0,0 +1,86 @@
+package org.ct.gd.logic.util;
+
+import java.util.HashMap;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.MapCatalog;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Player;
+
+public class FrontierTrackerTest extends TestCase {
+
+	public void testThreatsOfNeighbours() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+			FrontierTracker frontier = areas.getBoardState().getFrontierTracker();
+			Player player = new Player("Erika", Color.GREEN, false);
+			Player opponent = new Player("Christian", Color.BLUE, false);
+
+			Area alaska = areas.getByName("alaska");
+			Area kamtschatka = areas.getByName("kamtschatka");
+			alaska.setControllingPlayer(player);
+			alaska.setArmies(3);
+			kamtschatka.setControllingPlayer(opponent);
+			kamtschatka.setArmies(6);
+
+			assertEquals(6, frontier.getThreat(alaska.getIndex()));
+			assertEquals(1, frontier.getNumberOfEnemyNeighbours(alaska.getIndex()));
+			assertEquals(2.0, frontier.getBorderSecurityRatio(alaska.getIndex()), 0.0);
+			assertEquals(3, frontier.getThreat(kamtschatka.getIndex()));
+
+			kamtschatka.setArmies(2);
+			assertEquals(2, frontier.getThreat(alaska.getIndex()));
+
+			kamtschatka.setControllingPlayer(player);
+			assertFalse(frontier.isBorder(alaska.getIndex()));
+			assertEquals(0, frontier.getThreat(alaska.getIndex()));
+			assertEquals(0, frontier.getThreat(kamtschatka.getIndex()));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testIncrementalUpdatesMatchRecomputation() {
+		try {
+			AreaList areas = MapCatalog.getDefault().createAreas();
+			FrontierTracker frontier = areas.getBoardState().getFrontierTracker();
+			Player[] players = new Player[] { new Player("Erika", Color.GREEN, false), new Player("Christian", Color.BLUE, false),
+					new Player("Lena", Color.RED, false) };
+			XoshiroRandomSource randomSource = new XoshiroRandomSource(17);
+
+			for (int i = 0; i < 2000; i++) {
+				Area area = areas.get(randomSource.nextInt(areas.size()));
+				if (randomSource.nextInt(3) == 0) {
+					area.setControllingPlayer(players[randomSource.nextInt(players.length)]);
+				} else {
+					area.setArmies(randomSource.nextInt(20));
+				}
+			}
+			AreaList copy = areas.copy(new HashMap<Player, Player>());
+
+			// a new tracker computes everything from scratch
+			AreaList recomputed = MapCatalog.getDefault().createAreas();
+			for (int i = 0; i < areas.size(); i++) {
+				recomputed.get(i).setControllingPlayer(areas.get(i).getControllingPlayer());
+				recomputed.get(i).setArmies(areas.get(i).getArmies());
+			}
+			FrontierTracker expected = recomputed.getBoardState().getFrontierTracker();
+
+			for (int i = 0; i < areas.size(); i++) {
+				assertEquals(expected.getThreat(i), frontier.getThreat(i));
+				assertEquals(expected.getNumberOfEnemyNeighbours(i), frontier.getNumberOfEnemyNeighbours(i));
+				assertEquals(expected.getThreat(i), copy.getBoardState().getFrontierTracker().getThreat(i));
+			}
+
+			// the copy is tracked on its own
+			copy.get(0).setArmies(copy.get(0).getArmies() + 50);
+			Area neighbour = areas.get(0).getNeighbours().get(0);
+			assertEquals(expected.getThreat(neighbour.getIndex()), frontier.getThreat(neighbour.getIndex()));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package org.ct.gd.logic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.ct.gd.logic.exception.InvalidMappingException;
+import org.ct.gd.logic.mapper.JsonMapper;
+import org.ct.gd.logic.mapper.MapCatalog;
+import org.ct.gd.logic.model.Area;
+import org.ct.gd.logic.model.Color;
+import org.ct.gd.logic.model.Continent;
+import org.ct.gd.logic.model.ContinentRule;
+import org.ct.gd.logic.model.Goal;
+import org.ct.gd.logic.model.GoalRule;
+import org.ct.gd.logic.model.MapRules;
+import org.ct.gd.logic.model.Player;
+
+public class RulesTableTest extends TestCase {
+
+	public void testContinentBonuses() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			RulesTable rules = MapCatalog.getDefault().getRules(areas.getBoardGraph());
+
+			Player player = new Player("Erika", Color.GREEN, false);
+			assertEquals(0, rules.getContinentBonus(areas, player));
+
+			for (Area area : areas.getAreasInContinent(Continent.SOUTH_AMERICA)) {
+				area.setControllingPlayer(player);
+			}
+			assertEquals(2, rules.getContinentBonus(areas, player));
+
+			for (Area area : areas.getAreasInContinent(Continent.ASIA)) {
+				area.setControllingPlayer(player);
+			}
+			assertEquals(9, rules.getContinentBonus(areas, player));
+			assertEquals(7, rules.getContinentBonus(Continent.ASIA));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testThirdContinentIsRequired() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			RulesTable rules = MapCatalog.getDefault().getRules(areas.getBoardGraph());
+
+			Player player = new Player("Erika", Color.GREEN, false);
+			for (Area area : areas.getAreasInContinent(Continent.EUROPE)) {
+				area.setControllingPlayer(player);
+			}
+			for (Area area : areas.getAreasInContinent(Continent.AUSTRALIA)) {
+				area.setControllingPlayer(player);
+			}
+			assertFalse(rules.hasMetGoal(Goal.CONQUER_EUROPE_AUSTRALIA_AND_THIRD_CONTINENT, areas, player));
+
+			for (Area area : areas.getAreasInContinent(Continent.AFRICA)) {
+				area.setControllingPlayer(player);
+			}
+			assertTrue(rules.hasMetGoal(Goal.CONQUER_EUROPE_AUSTRALIA_AND_THIRD_CONTINENT, areas, player));
+			assertFalse(rules.hasMetGoal(Goal.CONQUER_EUROPE_SOUTH_AMERICA_AND_THIRD_CONTINENT, areas, player));
+			assertFalse(rules.hasMetGoal(Goal.WORLD_DOMINATION, areas, player));
+		} catch (InvalidMappingException e) {
+			fail("the mapping should work!\r\n" + e.getMessage());
+		}
+	}
+
+	public void testIncompleteRules() {
+		try {
+			AreaList areas = new JsonMapper().mapAreasFromJson();
+			MapRules mapRules = new MapRules(Arrays.asList(new ContinentRule(Continent.ASIA, 7)), Arrays.asList(new GoalRule(Goal.CONQUER_24_AREAS,
+					new ArrayList<Continent>(), 0, 24)));
+
+			RulesTable.compile(mapRules, areas.getBoardGraph());
+			fail("rules without all goals may not be compiled");
+		} catch (InvalidMappingException e) {
+			assertTrue(e.getMessage().contains("No rule found for goal"));
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package org.ct.gd.logic.util;
+
+import junit.framework.TestCase;
+
+public class XoshiroRandomSourceTest extends TestCase {
+
+	public void testSameSeedSameValues() {
+		RandomSource source = new XoshiroRandomSource(4711);
+		RandomSource otherSource = new XoshiroRandomSource(4711);
+
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(source.nextLong(), otherSource.nextLong());
+			assertEquals(source.nextInt(6), otherSource.nextInt(6));
+		}
+		assertEquals(2000, source.getNumberOfDraws());
+	}
+
+	public void testValuesWithinBound() {
+		RandomSource source = new XoshiroRandomSource(815);
+		int[] counts = new int[6];
+
+		for (int i = 0; i < 60000; i++) {
+			counts[source.nextInt(6)]++;
+		}
+
+		// every face is expected 10000 times, allow a generous deviation
+		for (int count : counts) {
+			assertTrue(count > 9400 && count < 10600);
+		}
+
+		try {
+			source.nextInt(0);
+			fail("a bound of 0 is invalid");
+		} catch (IllegalArgumentException e) {
+			// this is an expected result
+		}
+	}
+}